@@ -0,0 +1,71 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.time.Duration;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.metrics.LatencyHistogram;
+import io.github.iaorekhov.jiraclient.metrics.RequestMetrics;
+
+/**
+ * Таймаут чтения по наблюдаемым задержкам эндпоинта: p99 успешных ответов ×
+ * http.timeoutMultiplier, в пределах от http.minTimeoutMillis до
+ * http.requestTimeoutSeconds. Пока ответов меньше {@value #MIN_SAMPLES},
+ * действует потолок.
+ * <p>
+ * Применяется только к идемпотентным чтениям: чтение, не уложившееся в свой
+ * таймаут, повторяется (http.readRetries раз), а последняя попытка получает
+ * полный таймаут. Запросы записи всегда ждут потолок — оборванный createIssue
+ * мог уже создать задачу.
+ */
+public final class AdaptiveTimeout {
+
+    static final int MIN_SAMPLES = 20;
+
+    private final Duration ceiling;
+    private final Duration floor;
+    private final double multiplier;
+    private final int readRetries;
+
+    AdaptiveTimeout(Duration ceiling, Duration floor, double multiplier, int readRetries) {
+        this.ceiling = ceiling;
+        this.floor = floor.compareTo(ceiling) < 0 ? floor : ceiling;
+        this.multiplier = multiplier;
+        this.readRetries = readRetries;
+    }
+
+    /**
+     * Политика из настроек http; null — адаптивные таймауты выключены
+     */
+    static AdaptiveTimeout from(Config.Http settings) {
+        if (settings == null || !settings.adaptiveTimeouts) {
+            return null;
+        }
+        return new AdaptiveTimeout(Duration.ofSeconds(settings.requestTimeoutSeconds),
+                Duration.ofMillis(settings.minTimeoutMillis), settings.timeoutMultiplier, settings.readRetries);
+    }
+
+    /**
+     * Таймаут попытки {@code attempt} (с нуля) чтения с эндпоинта
+     */
+    Duration timeoutFor(RequestMetrics metrics, String endpoint, int attempt) {
+        if (attempt >= readRetries) {
+            return ceiling;
+        }
+        LatencyHistogram ok = metrics.endpoint(endpoint).latency("2xx");
+        if (ok == null || ok.count() < MIN_SAMPLES) {
+            return ceiling;
+        }
+        Duration t = Duration.ofMillis((long) Math.ceil(ok.percentileMillis(99) * multiplier));
+        if (t.compareTo(floor) < 0) {
+            return floor;
+        }
+        return t.compareTo(ceiling) > 0 ? ceiling : t;
+    }
+
+    /**
+     * Можно ли повторить чтение, оборванное по таймауту {@code timeout}
+     */
+    boolean canRetry(int attempt, Duration timeout) {
+        return attempt < readRetries && timeout.compareTo(ceiling) < 0;
+    }
+}
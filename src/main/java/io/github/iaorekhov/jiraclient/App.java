@@ -6,7 +6,17 @@ import io.github.iaorekhov.jiraclient.config.Config;
 import io.github.iaorekhov.jiraclient.config.ConfigValidationException;
 import io.github.iaorekhov.jiraclient.config.ConfigValidator;
 import io.github.iaorekhov.jiraclient.dto.ReportEntry;
+import io.github.iaorekhov.jiraclient.metrics.MetricsExporter;
+import io.github.iaorekhov.jiraclient.server.JobManager;
+import io.github.iaorekhov.jiraclient.server.JobServer;
+import io.github.iaorekhov.jiraclient.server.WebhookReceiver;
+import io.github.iaorekhov.jiraclient.service.CloneMappingStore;
+import io.github.iaorekhov.jiraclient.service.CloneSynchronizer;
+import io.github.iaorekhov.jiraclient.service.EpicWatcher;
 import io.github.iaorekhov.jiraclient.service.JiraCloningService;
+import io.github.iaorekhov.jiraclient.service.ReportService;
+import io.github.iaorekhov.jiraclient.service.SnapshotExporter;
+import io.github.iaorekhov.jiraclient.service.SnapshotPlanner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,8 +24,10 @@ import com.fasterxml.jackson.core.type.TypeReference;
 
 import java.io.File;
 import java.nio.file.Paths;
-import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 public class App {
     private static final Logger log = LoggerFactory.getLogger(App.class);
@@ -23,32 +35,41 @@ public class App {
 
     public static void main(String[] args) {
         try {
-            // 1. Парсинг пути к конфигурационному файлу
+            // 1. Парсинг режима и пути к конфигурационному файлу
+            String mode = parseMode(args);
             String configPath = parseConfigPath(args);
-            log.debug("Loading config from: {} ", configPath);
+            log.debug("Mode: {}, loading config from: {} ", mode, configPath);
             log.debug("Working directory: {}", Paths.get(".").toAbsolutePath().normalize());
-            
-            // 2. Загрузка конфигурации
-            Config config = loadConfig(configPath);
-            
-            // 3. Валидация конфигурации
-            validateConfig(config);
-            
-            // 4. Инициализация JIRA клиента
-            JiraClient jiraClient = initializeJiraClient(config);
-            
-            // 5. Клонирование задач
-            JiraCloningService cloningService = new JiraCloningService(config, jiraClient);
-            List<ReportEntry> results = cloningService.cloneIssues();
-            
-            // 6. Вывод статистики
-            printStatistics(cloningService.getStatistics(results));
-            
-            // 7. Сохранение отчета (временно здесь)
-            saveReport(config, results);
-            
-            log.info("Cloning completed successfully!");
-            
+
+            switch (mode) {
+                case "clone":
+                    runClone(configPath);
+                    break;
+                case "server":
+                    runServer(configPath);
+                    break;
+                case "watch":
+                    runWatch(configPath);
+                    break;
+                case "webhook":
+                    runWebhook(configPath);
+                    break;
+                case "sync":
+                    runSync(configPath);
+                    break;
+                case "export":
+                    runExport(configPath);
+                    break;
+                case "import":
+                    runImport(configPath);
+                    break;
+                case "plan":
+                    runPlan(configPath);
+                    break;
+                default:
+                    throw new ConfigValidationException(List.of("Unknown mode: '" + mode + "'"));
+            }
+
         } catch (ConfigValidationException e) {
             log.error(e.getMessage(), e);
             System.exit(2);
@@ -57,7 +78,296 @@ public class App {
             System.exit(1);
         }
     }
-    
+
+    /**
+     * Однократный прогон: клонирование по config.json, отчёт и выход
+     */
+    private static void runClone(String configPath) throws Exception {
+        // 2. Загрузка конфигурации
+        Config config = loadConfig(configPath);
+
+        // 3. Валидация конфигурации
+        validateConfig(config);
+
+        // 4. Инициализация JIRA клиента
+        JiraClient jiraClient = initializeJiraClient(config);
+
+        // 5. Клонирование задач (счётчики и метрики запросов доступны через JMX / Prometheus)
+        JiraCloningService cloningService = new JiraCloningService(config, jiraClient);
+        runCloning(config, jiraClient, cloningService, cloningService::cloneIssues);
+    }
+
+    /**
+     * Режим import: создание задач из снимка snapshot.file (см. режим export)
+     * тем же конвейером, что и clone; отчёт и маппинг сохраняются так же
+     */
+    private static void runImport(String configPath) throws Exception {
+        Config config = loadConfig(configPath);
+        validateConfig(config);
+        JiraClient jiraClient = initializeJiraClient(config);
+
+        JiraCloningService cloningService = new JiraCloningService(config, jiraClient);
+        runCloning(config, jiraClient, cloningService,
+                () -> cloningService.importIssues(Paths.get(config.snapshot.file)));
+    }
+
+    /**
+     * Режим plan: отчёт dry-run по снимку snapshot.file без обращений к Jira
+     * (клиент создаётся, но не используется — проверка подключения не нужна)
+     */
+    private static void runPlan(String configPath) throws Exception {
+        Config config = loadConfig(configPath);
+        validateConfig(config);
+        JiraClient jiraClient = new JiraClient(config.jira.baseUrl, config.jira.token);
+
+        JiraCloningService cloningService = new JiraCloningService(config, jiraClient);
+        List<ReportEntry> results = new SnapshotPlanner(config, cloningService).plan(Paths.get(config.snapshot.file));
+
+        Map<String, Object> stats = cloningService.getStatistics(results);
+        printStatistics(stats);
+        saveReport(config, results, stats, httpSnapshot(jiraClient));
+    }
+
+    private static void runCloning(Config config, JiraClient jiraClient, JiraCloningService cloningService,
+            Supplier<List<ReportEntry>> run) throws Exception {
+        CloneMappingStore mappingStore = attachMappingStore(config, cloningService);
+
+        // Ctrl+C: новые клоны не создаются, начатые доделываются, отчёт и маппинг сохраняются
+        CountDownLatch finished = new CountDownLatch(1);
+        int drainSeconds = (config.deadlines != null ? config.deadlines : new Config.Deadlines()).drainSeconds;
+        Thread hook = new Thread(() -> {
+            cloningService.cancel("interrupted");
+            try {
+                if (!finished.await(drainSeconds, TimeUnit.SECONDS)) {
+                    log.warn("In-flight issues not finished in {}s, exiting", drainSeconds);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "clone-shutdown");
+        Runtime.getRuntime().addShutdownHook(hook);
+
+        try {
+            List<ReportEntry> results;
+            try (MetricsExporter exporter = MetricsExporter.start(config.metrics)) {
+                exporter.registerJob(config.operation.targetEpicKey, cloningService.getCounters());
+                exporter.registerClient(config.jira.baseUrl, jiraClient.getRequestMetrics());
+                results = run.get();
+            } finally {
+                saveMappingStore(mappingStore);
+            }
+
+            // 6. Вывод статистики
+            Map<String, Object> stats = cloningService.getStatistics(results);
+            printStatistics(stats);
+
+            // 7. Сохранение отчета
+            saveReport(config, results, stats, httpSnapshot(jiraClient));
+
+            if (cloningService.isCancelled()) {
+                log.warn("Cloning stopped early: {} issue(s) cancelled", stats.get("cancelled"));
+            } else {
+                log.info("Cloning completed successfully!");
+            }
+        } finally {
+            finished.countDown();
+        }
+        try {
+            Runtime.getRuntime().removeShutdownHook(hook);
+        } catch (IllegalStateException e) {
+            // JVM уже завершается
+        }
+    }
+
+    /**
+     * Долгоживущий режим: HTTP API для приёма задач (см. JobServer).
+     * Конфиг процесса необязателен: из него берутся секции http, metrics и server.
+     */
+    private static void runServer(String configPath) throws Exception {
+        File configFile = new File(configPath);
+        Config config = configFile.exists() ? loadConfig(configPath) : new Config();
+        new ConfigValidator().validateAndNormalizeServer(config);
+
+        MetricsExporter exporter = MetricsExporter.start(config.metrics);
+        JobManager jobManager = new JobManager(config, exporter);
+        JobServer server = new JobServer(config.server, jobManager);
+
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            log.info("Shutting down job server...");
+            server.close();
+            jobManager.close();
+            exporter.close();
+            stopped.countDown();
+        }, "server-shutdown"));
+
+        server.start();
+        stopped.await();
+    }
+
+    /**
+     * Режим watch: опрос исходного эпика раз в watch.intervalSeconds и клонирование
+     * только новых задач; отчёт сохраняется по каждому опросу, в котором что-то найдено
+     */
+    private static void runWatch(String configPath) throws Exception {
+        Config config = loadConfig(configPath);
+        validateConfig(config);
+        JiraClient jiraClient = initializeJiraClient(config);
+
+        JiraCloningService cloningService = new JiraCloningService(config, jiraClient);
+        cloningService.verifyUsers(); // один раз: клоны создаются в каждом опросе
+        cloningService.verifyPermissions();
+        CloneMappingStore mappingStore = attachMappingStore(config, cloningService);
+        EpicWatcher watcher = new EpicWatcher(config, cloningService);
+
+        CountDownLatch stop = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            log.info("Stopping watch after the current poll...");
+            stop.countDown();
+            try {
+                finished.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "watch-shutdown"));
+
+        log.info("Watching {} every {}s (state: {})", config.operation.sourceEpicKey,
+                config.watch.intervalSeconds, config.watch.stateFile);
+        try (MetricsExporter exporter = MetricsExporter.start(config.metrics)) {
+            exporter.registerJob(config.operation.targetEpicKey, cloningService.getCounters());
+            exporter.registerClient(config.jira.baseUrl, jiraClient.getRequestMetrics());
+            watcher.run(stop, entries -> {
+                saveMappingStore(mappingStore);
+                Map<String, Object> stats = cloningService.getStatistics(entries);
+                printStatistics(stats);
+                saveReport(config, entries, stats, httpSnapshot(jiraClient));
+            });
+        } finally {
+            finished.countDown();
+        }
+    }
+
+    /**
+     * Режим webhook: клонирование задач по событиям Jira, без опроса.
+     * При остановке принятые задачи дорабатываются, отчёт сохраняется по всем обработанным.
+     */
+    private static void runWebhook(String configPath) throws Exception {
+        Config config = loadConfig(configPath);
+        validateConfig(config);
+        JiraClient jiraClient = initializeJiraClient(config);
+
+        JiraCloningService cloningService = new JiraCloningService(config, jiraClient);
+        cloningService.verifyUsers(); // до открытия порта
+        cloningService.verifyPermissions();
+        CloneMappingStore mappingStore = attachMappingStore(config, cloningService);
+        MetricsExporter exporter = MetricsExporter.start(config.metrics);
+        exporter.registerJob(config.operation.targetEpicKey, cloningService.getCounters());
+        exporter.registerClient(config.jira.baseUrl, jiraClient.getRequestMetrics());
+        WebhookReceiver receiver = new WebhookReceiver(config, cloningService);
+
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            log.info("Stopping webhook receiver, draining {} queued issue(s)...", receiver.queued());
+            receiver.close();
+            exporter.close();
+            saveMappingStore(mappingStore);
+            List<ReportEntry> entries = receiver.snapshotEntries();
+            if (!entries.isEmpty()) {
+                Map<String, Object> stats = cloningService.getStatistics(entries);
+                printStatistics(stats);
+                saveReport(config, entries, stats, httpSnapshot(jiraClient));
+            }
+            stopped.countDown();
+        }, "webhook-shutdown"));
+
+        receiver.start();
+        stopped.await();
+    }
+
+    /**
+     * Режим sync: один поиск по исходному эпику и обновление только тех клонов,
+     * у чьих источников изменились summary / components / priority
+     */
+    private static void runSync(String configPath) throws Exception {
+        Config config = loadConfig(configPath);
+        validateConfig(config);
+        JiraClient jiraClient = initializeJiraClient(config);
+
+        JiraCloningService cloningService = new JiraCloningService(config, jiraClient);
+        CloneMappingStore mappingStore = CloneMappingStore.load(Paths.get(config.sync.mappingFile));
+        CloneSynchronizer synchronizer = new CloneSynchronizer(config, jiraClient, cloningService, mappingStore);
+
+        List<ReportEntry> results;
+        try (MetricsExporter exporter = MetricsExporter.start(config.metrics)) {
+            exporter.registerClient(config.jira.baseUrl, jiraClient.getRequestMetrics());
+            results = synchronizer.sync();
+        }
+
+        Map<String, Object> stats = synchronizer.getStatistics(results);
+        printStatistics(stats);
+        saveReport(config, results, stats, httpSnapshot(jiraClient));
+        log.info("Sync completed, mapping: {}", config.sync.mappingFile);
+    }
+
+    /**
+     * Режим export: снимок задач исходного эпика в snapshot.file, без клонирования
+     */
+    private static void runExport(String configPath) throws Exception {
+        Config config = loadConfig(configPath);
+        validateConfig(config);
+        JiraClient jiraClient = initializeJiraClient(config);
+
+        JiraCloningService cloningService = new JiraCloningService(config, jiraClient);
+        Map<String, Object> stats;
+        try (MetricsExporter exporter = MetricsExporter.start(config.metrics)) {
+            exporter.registerClient(config.jira.baseUrl, jiraClient.getRequestMetrics());
+            stats = new SnapshotExporter(config, cloningService).export();
+        }
+        printStatistics(stats);
+        log.info("Snapshot saved: {}", config.snapshot.file);
+    }
+
+    /**
+     * Хранилище соответствий источник → клон пополняется при каждом реальном
+     * создании клона (в dry-run не используется)
+     */
+    private static CloneMappingStore attachMappingStore(Config config, JiraCloningService cloningService) {
+        if (config.operation.dryRun) {
+            return null;
+        }
+        CloneMappingStore store = CloneMappingStore.load(Paths.get(config.sync.mappingFile));
+        cloningService.setMappingStore(store);
+        return store;
+    }
+
+    private static void saveMappingStore(CloneMappingStore store) {
+        if (store == null) {
+            return;
+        }
+        try {
+            store.save();
+        } catch (Exception e) {
+            log.error("Failed to save clone mapping: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Режим работы: --mode &lt;name&gt; или -Dmode=&lt;name&gt;, по умолчанию clone
+     */
+    private static String parseMode(String[] args) {
+        String mode = System.getProperty("mode");
+        if (mode != null && !mode.trim().isEmpty()) {
+            return mode.trim().toLowerCase(Locale.ROOT);
+        }
+        for (int i = 0; i < args.length; i++) {
+            if ("--mode".equals(args[i]) && i + 1 < args.length) {
+                return args[i + 1].trim().toLowerCase(Locale.ROOT);
+            }
+        }
+        return "clone";
+    }
+
     /**
      * Парсинг пути к конфигурационному файлу из аргументов командной строки
      * Поддерживает:
@@ -117,7 +427,9 @@ public class App {
             );
         }
         
-        JiraClient jiraClient = new JiraClient(config.jira.baseUrl, config.jira.token);
+        JiraHttpClientFactory httpFactory = JiraHttpClientFactory.shared(config.http);
+        httpFactory.warmUp(config.jira.baseUrl, config.http != null ? config.http.warmupConnections : 0);
+        JiraClient jiraClient = new JiraClient(config.jira.baseUrl, config.jira.token, httpFactory);
         
         // Проверка подключения
         try {
@@ -130,6 +442,18 @@ public class App {
         return jiraClient;
     }
     
+    /**
+     * Метрики запросов для отчёта; при включённой защите — и состояние автоматов по эндпоинтам
+     */
+    private static Map<String, Object> httpSnapshot(JiraClient jiraClient) {
+        Map<String, Object> snapshot = jiraClient.getRequestMetrics().snapshot();
+        Map<String, Object> breakers = jiraClient.getCircuitBreakers();
+        if (!breakers.isEmpty()) {
+            snapshot.put("circuitBreakers", breakers);
+        }
+        return snapshot;
+    }
+
     /**
      * Вывод статистики клонирования в консоль
      */
@@ -140,30 +464,15 @@ public class App {
     }
     
     /**
-     * Временное сохранение отчета в JSON файл
-     * TODO: Вынести в отдельный ReportService
+     * Сохранение отчета в JSON файл
      */
-    private static void saveReport(Config config, List<ReportEntry> entries) {
+    private static void saveReport(Config config, List<ReportEntry> entries,
+            Map<String, Object> statistics, Map<String, Object> requestMetrics) {
         try {
-            String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
-            String filename = String.format("clone-report-%s-%s.json", 
-                config.operation.targetEpicKey, timestamp);
-            
-            Map<String, Object> report = Map.of(
-                "timestamp", timestamp,
-                "sourceEpic", config.operation.sourceEpicKey,
-                "targetEpic", config.operation.targetEpicKey,
-                "projectKey", config.operation.projectKey,
-                "dryRun", config.operation.dryRun,
-                "count", entries.size(),
-                "items", entries
-            );
-            
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.writerWithDefaultPrettyPrinter().writeValue(new File(filename), report);
-            
+            ReportService reportService = new ReportService();
+            String filename = reportService.save(config,
+                    reportService.buildReport(config, entries, statistics, requestMetrics));
             log.info("Report saved: {}", filename);
-            
         } catch (Exception e) {
             log.error("Failed to save report: {}", e.getMessage(), e);
         }
@@ -0,0 +1,220 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+
+/**
+ * Автомат защиты одного эндпоинта Jira.
+ * <ul>
+ * <li>CLOSED — запросы идут; по последним http.breakerWindow вызовам считается
+ * доля сбоев (нет ответа, 5xx, 429). Когда она достигает
+ * http.breakerFailureRatePercent, автомат размыкается.</li>
+ * <li>OPEN — http.breakerOpenSeconds запросы не отправляются: вызывающий поток
+ * ждёт (http.breakerPauseWhenOpen, конвейер приостанавливается) или сразу
+ * получает {@link CircuitOpenException}.</li>
+ * <li>HALF_OPEN — проходят http.breakerHalfOpenCalls пробных запросов: все
+ * успешны — автомат замыкается, любой сбой — снова размыкается.</li>
+ * </ul>
+ * Ожидание не выходит за срок прогона / задачи (см. Deadline).
+ */
+public final class CircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String endpoint;
+    private final int failureRatePercent;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final boolean pauseWhenOpen;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition stateChanged = lock.newCondition();
+
+    // Поля ниже меняются только под lock
+    private final boolean[] window;
+    private int windowPos;
+    private int windowCount;
+    private int windowFailures;
+    private State state = State.CLOSED;
+    private long openUntil;
+    private int probesStarted;
+    private int probesSucceeded;
+    private long rejected;
+    private long opened;
+
+    CircuitBreaker(String endpoint, int window, int failureRatePercent, Duration openFor, int halfOpenCalls, boolean pauseWhenOpen) {
+        this.endpoint = endpoint;
+        this.window = new boolean[window];
+        this.failureRatePercent = failureRatePercent;
+        this.openNanos = openFor.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.pauseWhenOpen = pauseWhenOpen;
+    }
+
+    /**
+     * Автомат для эндпоинта по настройкам http; null — защита выключена
+     */
+    static CircuitBreaker from(Config.Http settings, String endpoint) {
+        if (settings == null || !settings.circuitBreaker) {
+            return null;
+        }
+        return new CircuitBreaker(endpoint, settings.breakerWindow, settings.breakerFailureRatePercent,
+                Duration.ofSeconds(settings.breakerOpenSeconds), settings.breakerHalfOpenCalls, settings.breakerPauseWhenOpen);
+    }
+
+    /**
+     * Разрешение на вызов: при разомкнутом автомате ждёт или бросает исключение.
+     * После разрешения вызывающий обязан сообщить исход через
+     * {@link #onSuccess()}, {@link #onFailure()} или {@link #onIgnored()}.
+     *
+     * @throws CircuitOpenException если автомат разомкнут и ждать нельзя
+     */
+    void beforeCall() throws InterruptedException {
+        lock.lock();
+        try {
+            while (true) {
+                if (state == State.OPEN && System.nanoTime() - openUntil >= 0) {
+                    transition(State.HALF_OPEN);
+                }
+                if (state == State.CLOSED) {
+                    return;
+                }
+                if (state == State.HALF_OPEN && probesStarted < halfOpenCalls) {
+                    probesStarted++;
+                    return;
+                }
+                long waitNanos = state == State.OPEN ? openUntil - System.nanoTime() : openNanos;
+                Deadline deadline = Deadline.current();
+                if (!pauseWhenOpen || (deadline != null && deadline.remaining().toNanos() < waitNanos)) {
+                    rejected++;
+                    throw new CircuitOpenException("Circuit breaker for " + endpoint + " is "
+                            + state.name().toLowerCase(Locale.ROOT) + ": Jira looks degraded");
+                }
+                stateChanged.awaitNanos(Math.max(TimeUnit.MILLISECONDS.toNanos(1), waitNanos));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void onSuccess() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                if (++probesSucceeded >= halfOpenCalls) {
+                    transition(State.CLOSED);
+                }
+            } else if (state == State.CLOSED) {
+                record(false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void onFailure() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                transition(State.OPEN);
+            } else if (state == State.CLOSED) {
+                record(true);
+                if (windowCount == window.length && windowFailures * 100 >= failureRatePercent * windowCount) {
+                    transition(State.OPEN);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Вызов не дал ответа о здоровье Jira (отменён, истёк срок) — пробный слот возвращается
+     */
+    void onIgnored() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN && probesStarted > 0) {
+                probesStarted--;
+                stateChanged.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public State getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Состояние для отчёта и метрик
+     */
+    public Map<String, Object> snapshot() {
+        lock.lock();
+        try {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("state", state.name().toLowerCase(Locale.ROOT));
+            m.put("failureRatePercent", windowCount == 0 ? 0 : windowFailures * 100 / windowCount);
+            m.put("opened", opened);
+            m.put("rejected", rejected);
+            return m;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowPos]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowPos] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowPos = (windowPos + 1) % window.length;
+    }
+
+    private void transition(State next) {
+        if (next == State.OPEN) {
+            openUntil = System.nanoTime() + openNanos;
+            opened++;
+            log.warn("Circuit breaker for {} opened for {}s ({}% of last {} calls failed)", endpoint,
+                    TimeUnit.NANOSECONDS.toSeconds(openNanos), windowCount == 0 ? 100 : windowFailures * 100 / windowCount, windowCount);
+        } else if (next == State.CLOSED) {
+            log.info("Circuit breaker for {} closed", endpoint);
+        } else {
+            log.info("Circuit breaker for {} half-open: probing with {} call(s)", endpoint, halfOpenCalls);
+        }
+        state = next;
+        windowPos = 0;
+        windowCount = 0;
+        windowFailures = 0;
+        probesStarted = 0;
+        probesSucceeded = 0;
+        stateChanged.signalAll();
+    }
+}
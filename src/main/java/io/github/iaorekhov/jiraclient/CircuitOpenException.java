@@ -0,0 +1,11 @@
+package io.github.iaorekhov.jiraclient;
+
+/**
+ * Запрос не отправлен: автомат защиты эндпоинта разомкнут (см. CircuitBreaker)
+ */
+public class CircuitOpenException extends RuntimeException {
+
+    public CircuitOpenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.time.Duration;
+
+/**
+ * Крайний срок для работы текущего потока: прогона целиком или одной задачи.
+ * <p>
+ * {@link #enter(Deadline)} привязывает срок к потоку (вложенный срок не может
+ * быть позже внешнего), а JiraClient ограничивает таймаут каждого запроса
+ * оставшимся временем. Если время уже вышло, запрос не отправляется —
+ * бросается {@link DeadlineExceededException}.
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+    private final String name;
+
+    private Deadline(long deadlineNanos, String name) {
+        this.deadlineNanos = deadlineNanos;
+        this.name = name;
+    }
+
+    /**
+     * Срок через {@code budget} от текущего момента
+     */
+    public static Deadline after(Duration budget, String name) {
+        return new Deadline(System.nanoTime() + budget.toNanos(), name);
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Привязка срока к текущему потоку до close(); действует более ранний
+     * из нового и уже привязанного
+     */
+    public static Scope enter(Deadline deadline) {
+        Deadline previous = CURRENT.get();
+        if (deadline != null && (previous == null || deadline.deadlineNanos - previous.deadlineNanos < 0)) {
+            CURRENT.set(deadline);
+        }
+        return new Scope(previous);
+    }
+
+    /**
+     * Срок, привязанный к текущему потоку (null — без ограничения)
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Таймаут запроса с учётом срока текущего потока
+     *
+     * @throws DeadlineExceededException если срок уже истёк
+     */
+    public static Duration cap(Duration timeout) {
+        Deadline d = CURRENT.get();
+        if (d == null) {
+            return timeout;
+        }
+        Duration left = d.remaining();
+        if (left.isZero()) {
+            throw new DeadlineExceededException(d.name + " deadline exceeded");
+        }
+        return left.compareTo(timeout) < 0 ? left : timeout;
+    }
+
+    /**
+     * Привязка срока к потоку; close() возвращает предыдущий
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final Deadline previous;
+
+        private Scope(Deadline previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
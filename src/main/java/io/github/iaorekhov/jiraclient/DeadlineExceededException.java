@@ -0,0 +1,11 @@
+package io.github.iaorekhov.jiraclient;
+
+/**
+ * Срок прогона или задачи истёк до отправки запроса (см. Deadline)
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,304 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Распределение общей ёмкости запросов к Jira (maxConnections) между задачами,
+ * выполняемыми в одном процессе.
+ * <p>
+ * Порядок выдачи разрешений: сначала более высокий priority, внутри одного
+ * приоритета — взвешенная справедливая очередь (start-time fair queuing):
+ * каждый запрос задачи получает метку start = max(V, finish предыдущего),
+ * finish = start + 1/weight. Маленькая срочная задача попадает в начало
+ * очереди сразу, не дожидаясь тысяч запросов большой задачи, а большая
+ * получает всю оставшуюся ёмкость. Для каждой задачи можно ограничить число
+ * одновременных запросов (maxConcurrent).
+ * <p>
+ * Задача определяется по потоку: {@link #enter(JobShare)} привязывает её к
+ * текущему потоку; запросы вне задачи идут от имени задачи по умолчанию.
+ */
+public final class FairRequestScheduler {
+
+    private static final ThreadLocal<JobShare> CURRENT = new ThreadLocal<>();
+
+    private static final Comparator<Waiter> ORDER = Comparator
+            .comparingInt((Waiter w) -> -w.job.priority)
+            .thenComparingDouble(w -> w.start)
+            .thenComparingLong(w -> w.seq);
+
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final PriorityQueue<Waiter> waiters = new PriorityQueue<>(ORDER);
+    private final JobShare defaultJob;
+
+    private int inUse;
+    private double virtualTime;
+    private long seq;
+
+    /**
+     * Доля задачи в общей ёмкости
+     */
+    public static final class JobShare {
+
+        private final String id;
+        private final int weight;
+        private final int priority;
+        private final int maxConcurrent;
+
+        // Поля ниже меняются только под lock планировщика
+        private double lastFinish;
+        private int active;
+        private int waiting;
+        private long granted;
+
+        JobShare(String id, int weight, int priority, int maxConcurrent) {
+            this.id = id;
+            this.weight = Math.max(1, weight);
+            this.priority = priority;
+            this.maxConcurrent = maxConcurrent <= 0 ? Integer.MAX_VALUE : maxConcurrent;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+
+    /**
+     * Выданное разрешение на один запрос; возвращается через close()
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final JobShare job;
+        private boolean released;
+
+        private Permit(JobShare job) {
+            this.job = job;
+        }
+
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                if (released) {
+                    return;
+                }
+                released = true;
+                inUse--;
+                job.active--;
+                dispatch();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Привязка задачи к текущему потоку до close()
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final JobShare previous;
+
+        private Scope(JobShare previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    private static final class Waiter {
+
+        final JobShare job;
+        final double start;
+        final long seq;
+        final Condition granted;
+        boolean done;
+
+        Waiter(JobShare job, double start, long seq, Condition granted) {
+            this.job = job;
+            this.start = start;
+            this.seq = seq;
+            this.granted = granted;
+        }
+    }
+
+    public FairRequestScheduler(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be > 0, got: " + capacity);
+        }
+        this.capacity = capacity;
+        this.defaultJob = new JobShare("default", 1, 0, 0);
+    }
+
+    /**
+     * Новая доля для задачи.
+     *
+     * @param weight        вес внутри приоритета (&gt;= 1)
+     * @param priority      больше — раньше
+     * @param maxConcurrent максимум одновременных запросов задачи (0 — без ограничения)
+     */
+    public JobShare register(String id, int weight, int priority, int maxConcurrent) {
+        return new JobShare(id, weight, priority, maxConcurrent);
+    }
+
+    /**
+     * Выполнять запросы текущего потока от имени задачи
+     */
+    public static Scope enter(JobShare job) {
+        JobShare previous = CURRENT.get();
+        CURRENT.set(job);
+        return new Scope(previous);
+    }
+
+    /**
+     * Задача, привязанная к текущему потоку (null — задача по умолчанию)
+     */
+    public static JobShare current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Ожидание разрешения на запрос в порядке справедливой очереди
+     */
+    public Permit acquire() throws InterruptedException {
+        JobShare job = CURRENT.get();
+        if (job == null) {
+            job = defaultJob;
+        }
+        lock.lock();
+        try {
+            double start = Math.max(virtualTime, job.lastFinish);
+            job.lastFinish = start + 1.0 / job.weight;
+
+            if (waiters.isEmpty() && inUse < capacity && job.active < job.maxConcurrent) {
+                grant(job, start);
+                return new Permit(job);
+            }
+
+            Waiter w = new Waiter(job, start, seq++, lock.newCondition());
+            waiters.add(w);
+            job.waiting++;
+            dispatch();
+            try {
+                while (!w.done) {
+                    w.granted.await();
+                }
+            } catch (InterruptedException e) {
+                if (w.done) {
+                    // Разрешение уже выдано — возвращаем его
+                    inUse--;
+                    job.active--;
+                    dispatch();
+                } else {
+                    waiters.remove(w);
+                    job.waiting--;
+                }
+                throw e;
+            }
+            return new Permit(job);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Разрешение без ожидания: только если есть свободная ёмкость и никто
+     * не стоит в очереди (для необязательных запросов, например дубликатов чтений)
+     *
+     * @return разрешение или null
+     */
+    public Permit tryAcquire() {
+        JobShare job = CURRENT.get();
+        if (job == null) {
+            job = defaultJob;
+        }
+        lock.lock();
+        try {
+            if (!waiters.isEmpty() || inUse >= capacity || job.active >= job.maxConcurrent) {
+                return null;
+            }
+            double start = Math.max(virtualTime, job.lastFinish);
+            job.lastFinish = start + 1.0 / job.weight;
+            grant(job, start);
+            return new Permit(job);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Текущее состояние: занято / ёмкость / ожидающие
+     */
+    public Map<String, Object> snapshot() {
+        lock.lock();
+        try {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("capacity", capacity);
+            m.put("inUse", inUse);
+            m.put("waiting", waiters.size());
+            return m;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Счётчики одной задачи (для статуса задачи в режиме server)
+     */
+    public Map<String, Object> snapshot(JobShare job) {
+        lock.lock();
+        try {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("weight", job.weight);
+            m.put("priority", job.priority);
+            m.put("maxConcurrent", job.maxConcurrent == Integer.MAX_VALUE ? 0 : job.maxConcurrent);
+            m.put("active", job.active);
+            m.put("waiting", job.waiting);
+            m.put("granted", job.granted);
+            return m;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void grant(JobShare job, double start) {
+        virtualTime = Math.max(virtualTime, start);
+        inUse++;
+        job.active++;
+        job.granted++;
+    }
+
+    // Вызывается под lock: раздаёт свободную ёмкость первым подходящим ожидающим
+    private void dispatch() {
+        if (inUse >= capacity || waiters.isEmpty()) {
+            return;
+        }
+        List<Waiter> skipped = new ArrayList<>();
+        while (inUse < capacity && !waiters.isEmpty()) {
+            Waiter w = waiters.poll();
+            if (w.job.active >= w.job.maxConcurrent) {
+                skipped.add(w); // задача упёрлась в свой лимит — пропускаем, место получит следующая
+                continue;
+            }
+            w.job.waiting--;
+            grant(w.job, w.start);
+            w.done = true;
+            w.granted.signal();
+        }
+        waiters.addAll(skipped);
+    }
+}
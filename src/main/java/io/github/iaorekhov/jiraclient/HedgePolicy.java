@@ -0,0 +1,82 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.metrics.LatencyHistogram;
+import io.github.iaorekhov.jiraclient.metrics.RequestMetrics;
+
+/**
+ * Хеджирование чтений: если ответ не пришёл за http.hedgePercentile
+ * успешных ответов эндпоинта, отправляется дубликат запроса (на другой узел
+ * за балансировщиком), и используется тот ответ, что пришёл первым.
+ * <p>
+ * Дубликатов — не больше http.hedgeBudgetPercent от числа чтений, и только
+ * при свободной ёмкости планировщика (см. FairRequestScheduler#tryAcquire):
+ * под нагрузкой хеджирование само выключается.
+ */
+public final class HedgePolicy {
+
+    static final int MIN_SAMPLES = 20;
+
+    private final double percentile;
+    private final double budgetPercent;
+
+    private final AtomicLong reads = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+
+    HedgePolicy(double percentile, double budgetPercent) {
+        this.percentile = percentile;
+        this.budgetPercent = budgetPercent;
+    }
+
+    /**
+     * Политика из настроек http; null — хеджирование выключено
+     */
+    static HedgePolicy from(Config.Http settings) {
+        if (settings == null || !settings.hedgeReads) {
+            return null;
+        }
+        return new HedgePolicy(settings.hedgePercentile, settings.hedgeBudgetPercent);
+    }
+
+    /**
+     * Через сколько отправлять дубликат чтения; null — данных мало
+     * или задержка не меньше таймаута попытки
+     */
+    Duration delayFor(RequestMetrics metrics, String endpoint, Duration timeout) {
+        LatencyHistogram ok = metrics.endpoint(endpoint).latency("2xx");
+        if (ok == null || ok.count() < MIN_SAMPLES) {
+            return null;
+        }
+        Duration delay = Duration.ofMillis(Math.max(1, (long) Math.ceil(ok.percentileMillis(percentile))));
+        return delay.compareTo(timeout) < 0 ? delay : null;
+    }
+
+    /**
+     * Учёт чтения, которое могло бы быть хеджировано
+     */
+    void readStarted() {
+        reads.incrementAndGet();
+    }
+
+    /**
+     * Укладывается ли ещё один дубликат в бюджет; при true дубликат учтён
+     */
+    boolean tryHedge() {
+        long h = hedges.incrementAndGet();
+        if (h * 100.0 > reads.get() * budgetPercent) {
+            hedges.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Дубликат не отправлен (нет свободной ёмкости) — возвращаем его в бюджет
+     */
+    void hedgeNotSent() {
+        hedges.decrementAndGet();
+    }
+}
@@ -0,0 +1,156 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.metrics.RequestMetrics;
+
+/**
+ * Кэш ответов getIssue на время http.issueCacheTtlSeconds, не больше
+ * http.issueCacheSize записей (вытесняются давно не использованные).
+ * Ключ — задача и набор полей; хранится тело ответа, поэтому каждый
+ * вызывающий получает свою копию Map.
+ * <p>
+ * Одновременные промахи по одному ключу объединяются: запрос к Jira уходит
+ * один, остальные ждут его результат. Ошибки не кэшируются. Запись в задачу
+ * через этот же JiraClient сбрасывает её записи; ответ на запрос, начатый до
+ * записи, в кэш уже не попадает.
+ */
+final class IssueCache {
+
+    /**
+     * Загрузка тела ответа при промахе
+     */
+    interface Loader {
+        byte[] load() throws Exception;
+    }
+
+    private record Entry(byte[] body, long expiresAt) {
+    }
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final RequestMetrics metrics;
+
+    private final Map<String, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
+    // Порядок доступа: первым идёт давно не использованный (LRU), доступ — под synchronized (entries)
+    private final LinkedHashMap<String, Entry> entries;
+    // Задача → время последнего сброса (nanoTime), под synchronized (entries); старше TTL не нужны
+    private final Map<String, Long> invalidatedAt = new HashMap<>();
+
+    IssueCache(int maxEntries, Duration ttl, RequestMetrics metrics) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.metrics = metrics;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > IssueCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Кэш по настройкам http; null — кэш выключен
+     */
+    static IssueCache from(Config.Http settings, RequestMetrics metrics) {
+        if (settings == null || settings.issueCacheSize <= 0 || settings.issueCacheTtlSeconds <= 0) {
+            return null;
+        }
+        return new IssueCache(settings.issueCacheSize, Duration.ofSeconds(settings.issueCacheTtlSeconds), metrics);
+    }
+
+    byte[] get(String issueKey, String fieldsCsv, Loader loader) throws Exception {
+        String key = issueKey + "?" + (fieldsCsv == null ? "" : fieldsCsv);
+        byte[] cached = lookup(key);
+        if (cached != null) {
+            metrics.issueCacheHit();
+            return cached;
+        }
+
+        CompletableFuture<byte[]> mine = new CompletableFuture<>();
+        CompletableFuture<byte[]> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            metrics.issueCacheJoined();
+            try {
+                return existing.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Exception cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        metrics.issueCacheMiss();
+        long started = System.nanoTime();
+        try {
+            byte[] body = loader.load();
+            synchronized (entries) {
+                // Задачу изменили, пока шёл запрос: ответ может быть устаревшим
+                Long invalidated = invalidatedAt.get(issueKey);
+                if (invalidated == null || invalidated - started < 0) {
+                    entries.put(key, new Entry(body, started + ttlNanos));
+                }
+            }
+            mine.complete(body);
+            return body;
+        } catch (Exception | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Сброс всех закэшированных наборов полей задачи
+     */
+    void invalidate(String issueKey) {
+        String prefix = issueKey + "?";
+        synchronized (entries) {
+            entries.keySet().removeIf(k -> k.startsWith(prefix));
+            long now = System.nanoTime();
+            // Запрос, начатый раньше TTL назад, сохранил бы уже истёкшую запись
+            invalidatedAt.values().removeIf(t -> now - t >= ttlNanos);
+            invalidatedAt.put(issueKey, now);
+        }
+        // Следующие вызовы не присоединяются к запросу, начатому до записи
+        inFlight.keySet().removeIf(k -> k.startsWith(prefix));
+    }
+
+    private byte[] lookup(String key) {
+        synchronized (entries) {
+            Entry e = entries.get(key);
+            if (e == null) {
+                return null;
+            }
+            if (System.nanoTime() - e.expiresAt() >= 0) {
+                entries.remove(key);
+                purgeExpired();
+                return null;
+            }
+            return e.body();
+        }
+    }
+
+    // Под synchronized (entries): заодно убираем другие устаревшие записи с головы LRU
+    private void purgeExpired() {
+        long now = System.nanoTime();
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry e = it.next();
+            if (now - e.expiresAt() < 0) {
+                return;
+            }
+            it.remove();
+        }
+    }
+}
@@ -1,68 +1,83 @@
 package io.github.iaorekhov.jiraclient;
 
 import java.net.URI;
+import java.net.URLEncoder;
 import java.net.http.*;
-import java.security.SecureRandom;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.*;
-
-import javax.net.ssl.HostnameVerifier;
-import javax.net.ssl.SSLContext;
-import javax.net.ssl.TrustManager;
-import javax.net.ssl.X509TrustManager;
-import java.security.cert.X509Certificate;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.core.type.TypeReference;
 
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.metrics.JiraHttpEvent;
+import io.github.iaorekhov.jiraclient.metrics.RequestMetrics;
+
 public class JiraClient {
 
     private final String baseUrl;
     private final String authHeader;
     private final HttpClient http;
-    private final ObjectMapper mapper = new ObjectMapper();
+    private final Duration requestTimeout;
+    private final AdaptiveTimeout adaptiveTimeout; // null — у всех запросов таймаут requestTimeout
+    private final HedgePolicy hedgePolicy;         // null — чтения без дубликатов
+    private final Config.Http httpSettings;
+    private final Map<String, Optional<CircuitBreaker>> breakers = new ConcurrentHashMap<>();
+    private final IssueCache issueCache;           // null — каждый getIssue идёт в Jira
+    private final FairRequestScheduler scheduler;
+    private final RequestMetrics metrics = new RequestMetrics();
+    private volatile String epicLinkFieldId;
 
-    private HttpClient createUnsafeHttpClient() {
-        try {
-            // Trust manager, который доверяет всем сертификатам
-            TrustManager[] trustAllCerts = new TrustManager[]{
-                new X509TrustManager() {
-                    public void checkClientTrusted(X509Certificate[] xcs, String string) {
-                    }
-
-                    public void checkServerTrusted(X509Certificate[] xcs, String string) {
-                    }
-
-                    public X509Certificate[] getAcceptedIssuers() {
-                        return new X509Certificate[0];
-                    }
-                }
-            };
+    // Общие (потокобезопасные) writer/reader: тела запросов пишем сразу в byte[],
+    // ответы разбираем прямо из байтов, без промежуточных String
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectWriter JSON_WRITER = MAPPER.writer();
+    private static final ObjectReader MAP_READER = MAPPER.readerFor(new TypeReference<Map<String, Object>>() {
+    });
+    private static final ObjectReader LIST_READER = MAPPER.readerFor(new TypeReference<List<Map<String, Object>>>() {
+    });
 
-            // SSL context с нашим trust manager
-            SSLContext sslContext = SSLContext.getInstance("TLS");
-            sslContext.init(null, trustAllCerts, new SecureRandom());
+    private static final byte[] NO_BODY = new byte[0];
 
-            // Hostname verifier, который принимает все хосты
-            HostnameVerifier allHostsValid = (hostname, session) -> true;
+    public static final int MAX_BULK_CREATE = 50; // предел Jira для POST /issue/bulk
 
-            // Создаем HttpClient с настройками
-            return HttpClient.newBuilder()
-                    .sslContext(sslContext)
-                    .connectTimeout(Duration.ofSeconds(30))
-                    .sslParameters(sslContext.getDefaultSSLParameters())
-                    .build();
+    // Тело успешного ответа не читаем вовсе; тело ошибки сохраняем для сообщения
+    private static final HttpResponse.BodyHandler<byte[]> DISCARD_ON_SUCCESS = info ->
+            isSuccess(info.statusCode())
+                    ? HttpResponse.BodySubscribers.replacing(NO_BODY)
+                    : HttpResponse.BodySubscribers.ofByteArray();
 
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to create HttpClient", e);
-        }
+    public JiraClient(String baseUrl, String bearerToken) {
+        this(baseUrl, bearerToken, JiraHttpClientFactory.shared());
     }
 
-    public JiraClient(String baseUrl, String bearerToken) {
+    /**
+     * Клиент поверх общего HttpClient: несколько JiraClient (задач) в одном JVM
+     * используют один пул соединений и общий лимит одновременных запросов
+     */
+    public JiraClient(String baseUrl, String bearerToken, JiraHttpClientFactory httpFactory) {
         this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
         this.authHeader = "Authorization";
         String value = "Bearer " + Objects.requireNonNull(bearerToken);
-        this.http = createUnsafeHttpClient();
+        this.http = httpFactory.httpClient();
+        this.requestTimeout = httpFactory.requestTimeout();
+        this.adaptiveTimeout = httpFactory.adaptiveTimeout();
+        this.hedgePolicy = httpFactory.hedgePolicy();
+        this.httpSettings = httpFactory.settings();
+        this.issueCache = IssueCache.from(httpSettings, metrics);
+        this.scheduler = httpFactory.scheduler();
         this.defaultHeaders = Map.of(
                 authHeader, value,
                 "Accept", "application/json"
@@ -71,61 +86,360 @@ public class JiraClient {
 
     private final Map<String, String> defaultHeaders;
 
+    // Таймаут задаётся при отправке (см. exchange)
     private HttpRequest.Builder req(String path) {
         return HttpRequest.newBuilder(URI.create(baseUrl + path))
-                .timeout(Duration.ofSeconds(30))
                 .header(authHeader, defaultHeaders.get(authHeader))
                 .header("Accept", "application/json");
     }
 
-    private <T> T ensure2xx(HttpResponse<String> resp, int... allowed) {
+    private static boolean isSuccess(int code) {
+        return code >= 200 && code < 300;
+    }
+
+    private static String bodyText(HttpResponse<byte[]> resp) {
+        byte[] body = resp.body();
+        return body == null ? "" : new String(body, StandardCharsets.UTF_8);
+    }
+
+    private void ensure2xx(HttpResponse<byte[]> resp, int... allowed) {
         int code = resp.statusCode();
-        if (code >= 200 && code < 300) {
-            return null;
+        if (isSuccess(code)) {
+            return;
         }
         for (int a : allowed) {
             if (code == a) {
-                return null;
+                return;
             }
         }
-        throw new RuntimeException("HTTP " + code + ": " + resp.body());
+        throw new RuntimeException("HTTP " + code + ": " + bodyText(resp));
+    }
+
+    private HttpRequest.Builder jsonPost(String path, Object body) throws Exception {
+        return req(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(JSON_WRITER.writeValueAsBytes(body)));
+    }
+
+    private HttpResponse<byte[]> send(String endpoint, String issueKey, HttpRequest.Builder r) throws Exception {
+        return guarded(endpoint, () -> exchange(endpoint, issueKey, r, HttpResponse.BodyHandlers.ofByteArray(), 0, requestTimeout));
+    }
+
+    private HttpResponse<byte[]> sendDiscarding(String endpoint, String issueKey, HttpRequest.Builder r) throws Exception {
+        return guarded(endpoint, () -> exchange(endpoint, issueKey, r, DISCARD_ON_SUCCESS, 0, requestTimeout));
+    }
+
+    /**
+     * Вызов через автомат защиты эндпоинта (см. CircuitBreaker): сбоем считаются
+     * отсутствие ответа, 5xx и 429
+     */
+    private HttpResponse<byte[]> guarded(String endpoint, Callable<HttpResponse<byte[]>> call) throws Exception {
+        CircuitBreaker breaker = breakers.computeIfAbsent(endpoint,
+                e -> Optional.ofNullable(CircuitBreaker.from(httpSettings, e))).orElse(null);
+        if (breaker == null) {
+            return call.call();
+        }
+        breaker.beforeCall();
+        HttpResponse<byte[]> resp;
+        try {
+            resp = call.call();
+        } catch (DeadlineExceededException | InterruptedException e) {
+            breaker.onIgnored();
+            throw e;
+        } catch (Exception e) {
+            breaker.onFailure();
+            throw e;
+        }
+        if (resp.statusCode() >= 500 || resp.statusCode() == 429) {
+            breaker.onFailure();
+        } else {
+            breaker.onSuccess();
+        }
+        return resp;
+    }
+
+    /**
+     * Состояние автоматов защиты по эндпоинтам (пусто, если защита выключена)
+     */
+    public Map<String, Object> getCircuitBreakers() {
+        Map<String, Object> m = new TreeMap<>();
+        breakers.forEach((endpoint, b) -> b.ifPresent(breaker -> m.put(endpoint, breaker.snapshot())));
+        return m;
+    }
+
+    /**
+     * Идемпотентное чтение: с адаптивным таймаутом (см. AdaptiveTimeout)
+     * ответ-выброс не ждём до потолка, а повторяем запрос; с хеджированием
+     * (см. HedgePolicy) медленному запросу параллельно отправляется дубликат
+     */
+    private HttpResponse<byte[]> read(String endpoint, String issueKey, HttpRequest.Builder r) throws Exception {
+        for (int attempt = 0; ; attempt++) {
+            Duration timeout = adaptiveTimeout != null ? adaptiveTimeout.timeoutFor(metrics, endpoint, attempt) : requestTimeout;
+            Duration hedgeDelay = hedgePolicy != null ? hedgePolicy.delayFor(metrics, endpoint, timeout) : null;
+            int n = attempt;
+            try {
+                if (hedgeDelay != null) {
+                    return guarded(endpoint, () -> hedgedExchange(endpoint, issueKey, r, n, timeout, hedgeDelay));
+                }
+                return guarded(endpoint, () -> exchange(endpoint, issueKey, r, HttpResponse.BodyHandlers.ofByteArray(), n, timeout));
+            } catch (HttpTimeoutException e) {
+                if (adaptiveTimeout == null || !adaptiveTimeout.canRetry(attempt, timeout)) {
+                    throw e;
+                }
+                metrics.retry(endpoint);
+            }
+        }
+    }
+
+    /**
+     * Чтение с дубликатом: если основной запрос не ответил за {@code hedgeDelay},
+     * отправляется второй, и берётся первый полученный ответ (второй отменяется)
+     */
+    private HttpResponse<byte[]> hedgedExchange(String endpoint, String issueKey, HttpRequest.Builder builder,
+            int retryCount, Duration timeout, Duration hedgeDelay) throws Exception {
+        hedgePolicy.readStarted();
+        CompletableFuture<HttpResponse<byte[]>> primary = sendTracked(endpoint, issueKey, builder,
+                scheduler.acquire(), retryCount, timeout, false);
+        CompletableFuture<HttpResponse<byte[]>> hedge = null;
+        try {
+            try {
+                return primary.get(hedgeDelay.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException slow) {
+                // Основной запрос дольше обычного — пробуем дубликат
+            }
+            if (hedgePolicy.tryHedge()) {
+                FairRequestScheduler.Permit permit = scheduler.tryAcquire();
+                if (permit != null) {
+                    hedge = sendTracked(endpoint, issueKey, builder, permit, retryCount, timeout, true);
+                } else {
+                    hedgePolicy.hedgeNotSent();
+                }
+            }
+            if (hedge == null) {
+                return primary.get();
+            }
+            HttpResponse<byte[]> resp = firstAnswer(primary, hedge).get();
+            metrics.hedge(endpoint, hedge.isDone() && !hedge.isCompletedExceptionally() && hedge.join() == resp);
+            return resp;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        } finally {
+            // Проигравший (или оба при прерывании) больше не нужен
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    // Первый успешно полученный ответ; ошибка — только если не ответил ни один
+    private static CompletableFuture<HttpResponse<byte[]>> firstAnswer(
+            CompletableFuture<HttpResponse<byte[]>> a, CompletableFuture<HttpResponse<byte[]>> b) {
+        CompletableFuture<HttpResponse<byte[]>> first = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<HttpResponse<byte[]>> f : List.of(a, b)) {
+            f.whenComplete((resp, error) -> {
+                if (error == null) {
+                    first.complete(resp);
+                } else if (failures.incrementAndGet() == 2) {
+                    first.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error);
+                }
+            });
+        }
+        return first;
+    }
+
+    /**
+     * Асинхронная отправка с уже выданным разрешением: разрешение возвращается,
+     * метрики и JFR-событие записываются по завершении (отменённый запрос
+     * в задержки не попадает)
+     */
+    private CompletableFuture<HttpResponse<byte[]>> sendTracked(String endpoint, String issueKey,
+            HttpRequest.Builder builder, FairRequestScheduler.Permit permit, int retryCount, Duration timeout, boolean hedge) {
+        JiraHttpEvent event = new JiraHttpEvent();
+        event.begin();
+        HttpRequest r;
+        CompletableFuture<HttpResponse<byte[]>> f;
+        try {
+            r = builder.timeout(Deadline.cap(timeout)).build();
+            f = http.sendAsync(r, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+        long sent = r.bodyPublisher().map(HttpRequest.BodyPublisher::contentLength).orElse(0L);
+        long start = System.nanoTime();
+        metrics.requestStarted();
+        f.whenComplete((resp, error) -> {
+            permit.close();
+            int status = resp != null ? resp.statusCode() : -1;
+            long received = resp != null ? receivedBytes(resp) : 0;
+            if (error instanceof CancellationException) {
+                metrics.requestAbandoned();
+            } else {
+                metrics.requestFinished(endpoint, status, System.nanoTime() - start, sent, received);
+            }
+            if (event.shouldCommit()) {
+                event.endpoint = endpoint;
+                event.method = r.method();
+                event.issueKey = issueKey;
+                event.status = status;
+                event.bytesSent = sent;
+                event.bytesReceived = received;
+                event.retryCount = retryCount;
+                event.hedge = hedge;
+                event.commit();
+            }
+        });
+        return f;
+    }
+
+    @SuppressWarnings("try")
+    private HttpResponse<byte[]> exchange(String endpoint, String issueKey, HttpRequest.Builder builder,
+            HttpResponse.BodyHandler<byte[]> handler, int retryCount, Duration timeout) throws Exception {
+        JiraHttpEvent event = new JiraHttpEvent();
+        event.begin();
+        HttpRequest r = null;
+        long sent = 0;
+        int status = -1;
+        long received = 0;
+        try (FairRequestScheduler.Permit permit = scheduler.acquire()) {
+            // Таймаут не больше, чем осталось до срока прогона / задачи; если срок
+            // истёк, пока запрос ждал своей очереди, запрос не отправляется (см. Deadline)
+            r = builder.timeout(Deadline.cap(timeout)).build();
+            sent = r.bodyPublisher().map(HttpRequest.BodyPublisher::contentLength).orElse(0L);
+            long start = System.nanoTime();
+            metrics.requestStarted();
+            try {
+                HttpResponse<byte[]> resp = http.send(r, handler);
+                status = resp.statusCode();
+                received = receivedBytes(resp);
+                return resp;
+            } finally {
+                metrics.requestFinished(endpoint, status, System.nanoTime() - start, sent, received);
+            }
+        } finally {
+            if (event.shouldCommit()) {
+                event.endpoint = endpoint;
+                event.method = r != null ? r.method() : null;
+                event.issueKey = issueKey;
+                event.status = status;
+                event.bytesSent = sent;
+                event.bytesReceived = received;
+                event.retryCount = retryCount;
+                event.commit();
+            }
+        }
+    }
+
+    private static long receivedBytes(HttpResponse<byte[]> resp) {
+        byte[] body = resp.body();
+        if (body != null && body.length > 0) {
+            return body.length;
+        }
+        // Тело отброшено — берём размер из заголовка
+        return resp.headers().firstValueAsLong("Content-Length").orElse(0L);
+    }
+
+    /**
+     * Метрики запросов этого клиента (задержки по эндпоинтам, байты, повторы)
+     */
+    public RequestMetrics getRequestMetrics() {
+        return metrics;
     }
 
     public Map<String, Object> getMyself() throws Exception {
-        HttpRequest r = req("/rest/api/2/myself").GET().build();
-        HttpResponse<String> resp = http.send(r, HttpResponse.BodyHandlers.ofString());
+        HttpRequest.Builder r = req("/rest/api/2/myself").GET();
+        HttpResponse<byte[]> resp = read("myself", null, r);
         ensure2xx(resp);
-        return mapper.readValue(resp.body(), new TypeReference<Map<String, Object>>() {
-        });
+        return MAP_READER.readValue(resp.body());
     }
 
+    /**
+     * Задача по ключу; при включённом кэше (http.issueCacheSize) повторные и
+     * одновременные запросы той же задачи с тем же набором полей обслуживаются
+     * одним GET (см. IssueCache)
+     */
     public Map<String, Object> getIssue(String key, String fieldsCsv) throws Exception {
+        byte[] body = issueCache != null
+                ? issueCache.get(key, fieldsCsv, () -> fetchIssue(key, fieldsCsv))
+                : fetchIssue(key, fieldsCsv);
+        return MAP_READER.readValue(body);
+    }
+
+    private byte[] fetchIssue(String key, String fieldsCsv) throws Exception {
         String q = fieldsCsv == null ? "" : "?fields=" + fieldsCsv;
-        HttpRequest r = req("/rest/api/2/issue/" + key + q).GET().build();
-        HttpResponse<String> resp = http.send(r, HttpResponse.BodyHandlers.ofString());
+        HttpRequest.Builder r = req("/rest/api/2/issue/" + key + q).GET();
+        HttpResponse<byte[]> resp = read("getIssue", key, r);
         ensure2xx(resp);
-        return mapper.readValue(resp.body(), new TypeReference<Map<String, Object>>() {
-        });
+        return resp.body();
+    }
+
+    private void invalidate(String... keys) {
+        if (issueCache != null) {
+            for (String key : keys) {
+                issueCache.invalidate(key);
+            }
+        }
     }
 
     public List<Map<String, Object>> searchJql(String jql, List<String> fields, int maxResults) throws Exception {
+        return issuesOf(searchJqlPage(jql, fields, 0, maxResults));
+    }
+
+    /**
+     * Одна страница поиска: ответ /search целиком (issues, startAt, maxResults, total)
+     */
+    public Map<String, Object> searchJqlPage(String jql, List<String> fields, int startAt, int maxResults) throws Exception {
+        return searchPage(jql, fields, startAt, maxResults, null);
+    }
+
+    /**
+     * Задачи по списку ключей: поиск {@code key in (...)}. Несуществующие и
+     * недоступные ключи не ошибка (validateQuery=warn) — их просто нет в ответе.
+     */
+    public List<Map<String, Object>> searchByKeys(Collection<String> keys, List<String> fields) throws Exception {
+        String jql = "key in (" + String.join(",", keys) + ") ORDER BY key ASC";
+        List<Map<String, Object>> issues = new ArrayList<>(keys.size());
+        while (true) {
+            Map<String, Object> page = searchPage(jql, fields, issues.size(), keys.size(), "warn");
+            List<Map<String, Object>> pageIssues = issuesOf(page);
+            issues.addAll(pageIssues);
+            Object total = page.get("total");
+            if (pageIssues.isEmpty() || !(total instanceof Number) || issues.size() >= ((Number) total).intValue()) {
+                return issues;
+            }
+        }
+    }
+
+    private Map<String, Object> searchPage(String jql, List<String> fields, int startAt, int maxResults,
+            String validateQuery) throws Exception {
         Map<String, Object> body = new HashMap<>();
         body.put("jql", jql);
-        body.put("startAt", 0);
+        body.put("startAt", startAt);
         body.put("maxResults", maxResults);
         if (fields != null) {
             body.put("fields", fields);
         }
-        String json = mapper.writeValueAsString(body);
-        HttpRequest r = req("/rest/api/2/search")
-                .header("Content-Type", "application/json")
-                .POST(HttpRequest.BodyPublishers.ofString(json))
-                .build();
-        HttpResponse<String> resp = http.send(r, HttpResponse.BodyHandlers.ofString());
+        if (validateQuery != null) {
+            body.put("validateQuery", validateQuery);
+        }
+        HttpRequest.Builder r = jsonPost("/rest/api/2/search", body);
+        HttpResponse<byte[]> resp = read("search", null, r);
         ensure2xx(resp);
-        Map<String, Object> m = mapper.readValue(resp.body(), new TypeReference<Map<String, Object>>() {
-        });
-        Object issues = m.get("issues");
+        return MAP_READER.readValue(resp.body());
+    }
+
+    /**
+     * Задачи из страницы, полученной через {@link #searchJqlPage}
+     */
+    @SuppressWarnings("unchecked")
+    public static List<Map<String, Object>> issuesOf(Map<String, Object> page) {
+        Object issues = page.get("issues");
         if (issues instanceof List) {
             return (List<Map<String, Object>>) issues;
         }
@@ -133,72 +447,196 @@ public class JiraClient {
     }
 
     public String findEpicLinkFieldId() throws Exception {
-        HttpRequest r = req("/rest/api/2/field").GET().build();
-        HttpResponse<String> resp = http.send(r, HttpResponse.BodyHandlers.ofString());
+        // Список полей не меняется за время жизни процесса — запрашиваем один раз
+        String cached = epicLinkFieldId;
+        if (cached != null) {
+            return cached;
+        }
+        HttpRequest.Builder r = req("/rest/api/2/field").GET();
+        HttpResponse<byte[]> resp = read("field", null, r);
         ensure2xx(resp);
-        List<Map<String, Object>> arr = mapper.readValue(resp.body(), new TypeReference<List<Map<String, Object>>>() {
-        });
+        List<Map<String, Object>> arr = LIST_READER.readValue(resp.body());
         for (Map<String, Object> f : arr) {
             if ("Epic Link".equals(f.get("name"))) {
-                return (String) f.get("id"); // e.g. customfield_10008
+                epicLinkFieldId = (String) f.get("id"); // e.g. customfield_10008
+                return epicLinkFieldId;
             }
         }
         throw new RuntimeException("Field 'Epic Link' not found");
     }
 
     public String createIssue(Map<String, Object> fields) throws Exception {
-        Map<String, Object> root = Map.of("fields", fields);
-        String json = mapper.writeValueAsString(root);
-        HttpRequest r = req("/rest/api/2/issue")
-                .header("Content-Type", "application/json")
-                .POST(HttpRequest.BodyPublishers.ofString(json))
-                .build();
-        HttpResponse<String> resp = http.send(r, HttpResponse.BodyHandlers.ofString());
+        HttpRequest.Builder r = jsonPost("/rest/api/2/issue", Map.of("fields", fields));
+        HttpResponse<byte[]> resp = send("createIssue", null, r);
         if (resp.statusCode() != 201) {
-            throw new RuntimeException("Create issue failed: HTTP " + resp.statusCode() + " " + resp.body());
+            throw new RuntimeException("Create issue failed: HTTP " + resp.statusCode() + " " + bodyText(resp));
         }
-        Map<String, Object> m = mapper.readValue(resp.body(), new TypeReference<Map<String, Object>>() {
-        });
+        Map<String, Object> m = MAP_READER.readValue(resp.body());
         return String.valueOf(m.get("key"));
     }
 
+    /**
+     * Схема создания задачи типа {@code issueTypeName} в проекте {@code projectKey}
+     * (GET /issue/createmeta с полями): ответ целиком, см. CreateMetaSchema
+     */
+    public Map<String, Object> getCreateMeta(String projectKey, String issueTypeName) throws Exception {
+        String query = "projectKeys=" + URLEncoder.encode(projectKey, StandardCharsets.UTF_8)
+                + "&issuetypeNames=" + URLEncoder.encode(issueTypeName, StandardCharsets.UTF_8)
+                + "&expand=projects.issuetypes.fields";
+        HttpRequest.Builder r = req("/rest/api/2/issue/createmeta?" + query).GET();
+        HttpResponse<byte[]> resp = read("createmeta", null, r);
+        ensure2xx(resp);
+        return MAP_READER.readValue(resp.body());
+    }
+
+    /**
+     * Компоненты проекта: id, name, ... (GET /project/{key}/components)
+     */
+    public List<Map<String, Object>> getProjectComponents(String projectKey) throws Exception {
+        HttpRequest.Builder r = req("/rest/api/2/project/" + projectKey + "/components").GET();
+        HttpResponse<byte[]> resp = read("components", null, r);
+        ensure2xx(resp);
+        return LIST_READER.readValue(resp.body());
+    }
+
+    /**
+     * Приоритеты экземпляра Jira: id, name, ... (GET /priority)
+     */
+    public List<Map<String, Object>> getPriorities() throws Exception {
+        HttpRequest.Builder r = req("/rest/api/2/priority").GET();
+        HttpResponse<byte[]> resp = read("priority", null, r);
+        ensure2xx(resp);
+        return LIST_READER.readValue(resp.body());
+    }
+
+    /**
+     * Права текущего пользователя в проекте: ключ права → {havePermission, ...}
+     * (GET /mypermissions)
+     */
+    public Map<String, Object> getMyPermissions(String projectKey, Collection<String> permissions) throws Exception {
+        String query = "projectKey=" + URLEncoder.encode(projectKey, StandardCharsets.UTF_8)
+                + "&permissions=" + URLEncoder.encode(String.join(",", permissions), StandardCharsets.UTF_8);
+        HttpRequest.Builder r = req("/rest/api/2/mypermissions?" + query).GET();
+        HttpResponse<byte[]> resp = read("mypermissions", null, r);
+        ensure2xx(resp);
+        Map<String, Object> body = MAP_READER.readValue(resp.body());
+        Object result = body.get("permissions");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> byKey = result instanceof Map<?, ?> m ? (Map<String, Object>) m : Map.of();
+        return byKey;
+    }
+
+    /**
+     * Пользователь по accountId (Cloud) или имени (DC): name, key, accountId,
+     * displayName, active, ... (GET /user); null — такого пользователя нет
+     */
+    public Map<String, Object> getUser(String username, String accountId) throws Exception {
+        String query = accountId != null && !accountId.isBlank()
+                ? "accountId=" + URLEncoder.encode(accountId, StandardCharsets.UTF_8)
+                : "username=" + URLEncoder.encode(username, StandardCharsets.UTF_8);
+        HttpRequest.Builder r = req("/rest/api/2/user?" + query).GET();
+        HttpResponse<byte[]> resp = read("user", null, r);
+        ensure2xx(resp, 404);
+        return resp.statusCode() == 404 ? null : MAP_READER.readValue(resp.body());
+    }
+
+    /**
+     * Результат создания одной задачи из пачки: ключ или текст ошибки
+     */
+    public record BulkCreateResult(String key, String error) {
+    }
+
+    /**
+     * Создание до {@value #MAX_BULK_CREATE} задач одним запросом (POST /issue/bulk).
+     * Jira создаёт пачку частично: результаты идут в порядке {@code fieldsList},
+     * для отклонённых элементов — ошибка из errors[].elementErrors.
+     */
+    @SuppressWarnings("unchecked")
+    public List<BulkCreateResult> createIssues(List<Map<String, Object>> fieldsList) throws Exception {
+        if (fieldsList.size() > MAX_BULK_CREATE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_CREATE + " issues per bulk create, got: " + fieldsList.size());
+        }
+        List<Map<String, Object>> updates = new ArrayList<>(fieldsList.size());
+        for (Map<String, Object> fields : fieldsList) {
+            updates.add(Map.of("fields", fields));
+        }
+        HttpRequest.Builder r = jsonPost("/rest/api/2/issue/bulk", Map.of("issueUpdates", updates));
+        HttpResponse<byte[]> resp = send("createBulk", null, r);
+        if (resp.statusCode() != 201 && resp.statusCode() != 400) {
+            throw new RuntimeException("Bulk create failed: HTTP " + resp.statusCode() + " " + bodyText(resp));
+        }
+        Map<String, Object> m = MAP_READER.readValue(resp.body());
+
+        // Созданные задачи идут в порядке запроса, пропуская отклонённые элементы
+        Map<Integer, String> errors = new HashMap<>();
+        if (m.get("errors") instanceof List<?> list) {
+            for (Object o : list) {
+                Map<String, Object> e = (Map<String, Object>) o;
+                int element = e.get("failedElementNumber") instanceof Number n ? n.intValue() : -1;
+                errors.put(element, "HTTP " + e.get("status") + " " + JSON_WRITER.writeValueAsString(e.get("elementErrors")));
+            }
+        }
+        List<Map<String, Object>> created = m.get("issues") instanceof List<?> list
+                ? (List<Map<String, Object>>) list
+                : List.of();
+        if (created.size() + errors.size() != fieldsList.size()) {
+            throw new RuntimeException("Bulk create failed: HTTP " + resp.statusCode() + " " + bodyText(resp));
+        }
+        List<BulkCreateResult> results = new ArrayList<>(fieldsList.size());
+        int next = 0;
+        for (int i = 0; i < fieldsList.size(); i++) {
+            String error = errors.get(i);
+            results.add(error != null
+                    ? new BulkCreateResult(null, error)
+                    : new BulkCreateResult(String.valueOf(created.get(next++).get("key")), null));
+        }
+        return results;
+    }
+
+    /**
+     * Изменение полей существующей задачи (PUT /issue/{key}, ответ 204 без тела)
+     */
+    public void updateIssue(String key, Map<String, Object> fields) throws Exception {
+        HttpRequest.Builder r = req("/rest/api/2/issue/" + key)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(JSON_WRITER.writeValueAsBytes(Map.of("fields", fields))));
+        HttpResponse<byte[]> resp = sendDiscarding("updateIssue", key, r);
+        invalidate(key);
+        if (resp.statusCode() != 204 && resp.statusCode() != 200) {
+            throw new RuntimeException("Update issue failed: HTTP " + resp.statusCode() + " " + bodyText(resp));
+        }
+    }
+
     public void linkCloners(String originalKey, String cloneKey, String typeName) throws Exception {
         Map<String, Object> body = Map.of(
                 "type", Map.of("name", typeName), // "Cloners"
                 "inwardIssue", Map.of("key", originalKey),
                 "outwardIssue", Map.of("key", cloneKey)
         );
-        String json = mapper.writeValueAsString(body);
-        HttpRequest r = req("/rest/api/2/issueLink")
-                .header("Content-Type", "application/json")
-                .POST(HttpRequest.BodyPublishers.ofString(json))
-                .build();
-        HttpResponse<String> resp = http.send(r, HttpResponse.BodyHandlers.ofString());
+        HttpRequest.Builder r = jsonPost("/rest/api/2/issueLink", body);
+        HttpResponse<byte[]> resp = sendDiscarding("issueLink", originalKey + "->" + cloneKey, r);
+        invalidate(originalKey, cloneKey);
         if (resp.statusCode() != 201 && resp.statusCode() != 200 && resp.statusCode() != 204) {
-            throw new RuntimeException("Create link failed: HTTP " + resp.statusCode() + " " + resp.body());
+            throw new RuntimeException("Create link failed: HTTP " + resp.statusCode() + " " + bodyText(resp));
         }
     }
 
-        public void addRemoteLinkConfluence(String issueKey, String url, String title, String relationship) throws Exception {
+    public void addRemoteLinkConfluence(String issueKey, String url, String title, String relationship) throws Exception {
         String rel = (relationship == null || relationship.isBlank()) ? "Wiki Page" : relationship;
-    
+
         Map<String, Object> object = new LinkedHashMap<>();
         object.put("url", url);
         object.put("title", title);
         object.put("icon", Map.of("url16x16", "https://bwiki.beeline.ru/images/icons/favicon.png",
                           "title", "Confluence"));
-    
+
         Map<String, Object> root = new LinkedHashMap<>();
         root.put("object", object);
         root.put("relationship", rel);
         // Не добавляем "application" без globalId → избавляемся от "failed to load"
-    
-        String json = mapper.writeValueAsString(root);
-        HttpRequest r = req("/rest/api/2/issue/" + issueKey + "/remotelink")
-                .header("Content-Type", "application/json")
-                .POST(HttpRequest.BodyPublishers.ofString(json))
-                .build();
-        HttpResponse<String> resp = http.send(r, HttpResponse.BodyHandlers.ofString());
+
+        HttpRequest.Builder r = jsonPost("/rest/api/2/issue/" + issueKey + "/remotelink", root);
+        HttpResponse<byte[]> resp = sendDiscarding("remoteLink", issueKey, r);
         ensure2xx(resp);
     }
 }
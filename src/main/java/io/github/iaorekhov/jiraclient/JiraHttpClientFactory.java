@@ -0,0 +1,239 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+
+/**
+ * Фабрика общего HttpClient для всех экземпляров JiraClient в одном JVM.
+ * Один набор настроек — один HttpClient (и один пул соединений / TLS-сессий),
+ * поэтому задачи, запущенные подряд, не повторяют TLS-рукопожатия.
+ */
+public final class JiraHttpClientFactory {
+
+    private static final Logger log = LoggerFactory.getLogger(JiraHttpClientFactory.class);
+
+    private static final Map<String, JiraHttpClientFactory> SHARED = new ConcurrentHashMap<>();
+
+    private final HttpClient http;
+    private final ExecutorService executor; // null — executor по умолчанию
+    private final Duration requestTimeout;
+    private final AdaptiveTimeout adaptiveTimeout;
+    private final HedgePolicy hedgePolicy;
+    private final Config.Http settings;
+    private final int maxConnections;
+    private final FairRequestScheduler scheduler;
+    private final Set<String> warmedUp = ConcurrentHashMap.newKeySet();
+
+    private JiraHttpClientFactory(Config.Http settings) {
+        this.requestTimeout = Duration.ofSeconds(settings.requestTimeoutSeconds);
+        this.adaptiveTimeout = AdaptiveTimeout.from(settings);
+        this.hedgePolicy = HedgePolicy.from(settings);
+        this.settings = settings;
+        this.maxConnections = settings.maxConnections;
+        this.scheduler = new FairRequestScheduler(settings.maxConnections);
+        this.executor = createExecutor(settings);
+
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(parseVersion(settings.version))
+                .connectTimeout(Duration.ofSeconds(settings.connectTimeoutSeconds));
+        applyUnsafeSsl(builder);
+        if (executor != null) {
+            builder.executor(executor);
+        }
+        this.http = builder.build();
+    }
+
+    /**
+     * Общая фабрика для данного набора настроек (создаётся один раз на JVM)
+     */
+    public static JiraHttpClientFactory shared(Config.Http settings) {
+        Config.Http s = settings != null ? settings : new Config.Http();
+        return SHARED.computeIfAbsent(key(s), k -> new JiraHttpClientFactory(s));
+    }
+
+    /**
+     * Фабрика с настройками по умолчанию
+     */
+    public static JiraHttpClientFactory shared() {
+        return shared(null);
+    }
+
+    private static String key(Config.Http s) {
+        return String.join("|",
+                String.valueOf(s.version).toUpperCase(Locale.ROOT),
+                String.valueOf(s.executor).toLowerCase(Locale.ROOT),
+                String.valueOf(s.threads),
+                String.valueOf(s.connectTimeoutSeconds),
+                String.valueOf(s.requestTimeoutSeconds),
+                String.valueOf(s.maxConnections),
+                String.valueOf(s.adaptiveTimeouts),
+                String.valueOf(s.timeoutMultiplier),
+                String.valueOf(s.minTimeoutMillis),
+                String.valueOf(s.readRetries),
+                String.valueOf(s.hedgeReads),
+                String.valueOf(s.hedgePercentile),
+                String.valueOf(s.hedgeBudgetPercent),
+                String.valueOf(s.circuitBreaker),
+                String.valueOf(s.breakerWindow),
+                String.valueOf(s.breakerFailureRatePercent),
+                String.valueOf(s.breakerOpenSeconds),
+                String.valueOf(s.breakerHalfOpenCalls),
+                String.valueOf(s.breakerPauseWhenOpen),
+                String.valueOf(s.issueCacheSize),
+                String.valueOf(s.issueCacheTtlSeconds));
+    }
+
+    public HttpClient httpClient() {
+        return http;
+    }
+
+    public Duration requestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * Адаптивные таймауты чтений (null — выключены, см. http.adaptiveTimeouts)
+     */
+    public AdaptiveTimeout adaptiveTimeout() {
+        return adaptiveTimeout;
+    }
+
+    /**
+     * Хеджирование чтений (null — выключено, см. http.hedgeReads); бюджет
+     * дубликатов общий для всех клиентов фабрики
+     */
+    public HedgePolicy hedgePolicy() {
+        return hedgePolicy;
+    }
+
+    /**
+     * Настройки, с которыми создана фабрика
+     */
+    public Config.Http settings() {
+        return settings;
+    }
+
+    public int maxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Ограничитель одновременных запросов: не больше maxConnections на фабрику,
+     * распределяемых между задачами справедливо (см. FairRequestScheduler)
+     */
+    public FairRequestScheduler scheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Заранее открывает соединения к baseUrl запросами к /status (без авторизации),
+     * чтобы первая пачка createIssue не платила за TLS. По HTTP/1.1 — до
+     * {@code connections} параллельных запросов, каждый на своём соединении;
+     * по HTTP/2 параллельные запросы мультиплексируются в одно соединение,
+     * поэтому открывается только оно. Для каждого baseUrl выполняется один раз.
+     *
+     * @return число успешно прогретых соединений
+     */
+    public int warmUp(String baseUrl, int connections) {
+        if (connections <= 0 || !warmedUp.add(baseUrl)) {
+            return 0;
+        }
+        String base = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        HttpRequest r = HttpRequest.newBuilder(URI.create(base + "/status"))
+                .timeout(requestTimeout)
+                .GET()
+                .build();
+
+        int count = http.version() == HttpClient.Version.HTTP_1_1 ? Math.min(connections, maxConnections) : 1;
+        List<CompletableFuture<HttpResponse<Void>>> calls = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            calls.add(http.sendAsync(r, HttpResponse.BodyHandlers.discarding()));
+        }
+        int ok = 0;
+        for (CompletableFuture<HttpResponse<Void>> c : calls) {
+            try {
+                c.get(requestTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                ok++;
+            } catch (Exception e) {
+                log.debug("Warm-up request to {} failed: {}", base, e.getMessage());
+            }
+        }
+        log.info("HTTP warm-up: {}/{} connections to {} ready", ok, calls.size(), base);
+        return ok;
+    }
+
+    private static HttpClient.Version parseVersion(String version) {
+        if (version != null && "HTTP_1_1".equalsIgnoreCase(version)) {
+            return HttpClient.Version.HTTP_1_1;
+        }
+        return HttpClient.Version.HTTP_2;
+    }
+
+    private static ExecutorService createExecutor(Config.Http s) {
+        String kind = s.executor == null ? "default" : s.executor.toLowerCase(Locale.ROOT);
+        switch (kind) {
+            case "fixed":
+                return Executors.newFixedThreadPool(s.threads, r -> {
+                    Thread t = new Thread(r, "jira-http");
+                    t.setDaemon(true);
+                    return t;
+                });
+            case "virtual":
+                return Executors.newVirtualThreadPerTaskExecutor();
+            default:
+                return null;
+        }
+    }
+
+    private static void applyUnsafeSsl(HttpClient.Builder builder) {
+        try {
+            // Trust manager, который доверяет всем сертификатам
+            TrustManager[] trustAllCerts = new TrustManager[]{
+                new X509TrustManager() {
+                    public void checkClientTrusted(X509Certificate[] xcs, String string) {
+                    }
+
+                    public void checkServerTrusted(X509Certificate[] xcs, String string) {
+                    }
+
+                    public X509Certificate[] getAcceptedIssuers() {
+                        return new X509Certificate[0];
+                    }
+                }
+            };
+
+            // SSL context с нашим trust manager
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(null, trustAllCerts, new SecureRandom());
+
+            builder.sslContext(sslContext)
+                    .sslParameters(sslContext.getDefaultSSLParameters());
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to create HttpClient", e);
+        }
+    }
+}
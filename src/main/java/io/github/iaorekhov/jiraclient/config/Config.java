@@ -4,6 +4,16 @@ public class Config {
 
     public Jira jira;
     public Operation operation;
+    public Http http; // опционально, по умолчанию — значения из Http
+    public Metrics metrics; // опционально: JMX и /metrics для Prometheus
+    public Server server;   // только для режима server
+    public Scheduling scheduling; // опционально: доля задачи в общей ёмкости запросов
+    public Watch watch;     // только для режима watch
+    public Webhook webhook; // только для режима webhook
+    public Sync sync;       // соответствие источник → клон для режима sync
+    public Pipeline pipeline; // опционально: параллелизм этапов клонирования эпика
+    public Deadlines deadlines; // опционально: ограничения времени прогона и одной задачи
+    public Snapshot snapshot; // файл снимка исходных задач для режимов export / import
 
     public static class Jira {
 
@@ -12,6 +22,114 @@ public class Config {
         public String token;
     }
 
+    // Настройки общего HttpClient (см. JiraHttpClientFactory)
+    public static class Http {
+
+        public String version = "HTTP_2";          // HTTP_1_1 | HTTP_2
+        public String executor = "default";        // default | fixed | virtual
+        public int threads = 8;                    // для executor = fixed
+        public int connectTimeoutSeconds = 30;
+        public int requestTimeoutSeconds = 30;
+        public int maxConnections = 16;            // одновременных запросов (и соединений HTTP/1.1)
+        public int warmupConnections = 0;          // сколько соединений открыть заранее (HTTP/2 — одно)
+        public boolean adaptiveTimeouts = false;   // таймаут чтений = p99 эндпоинта × timeoutMultiplier
+        public double timeoutMultiplier = 3.0;
+        public int minTimeoutMillis = 1000;        // нижняя граница; верхняя — requestTimeoutSeconds
+        public int readRetries = 1;                // повторов чтения, оборванного адаптивным таймаутом
+        public boolean hedgeReads = false;         // дубликат медленного чтения (Jira DC за балансировщиком)
+        public double hedgePercentile = 95.0;      // когда отправлять дубликат: перцентиль задержки эндпоинта
+        public double hedgeBudgetPercent = 5.0;    // дубликатов не больше этой доли от чтений
+        public boolean circuitBreaker = false;     // защита эндпоинтов при деградации Jira (см. CircuitBreaker)
+        public int breakerWindow = 20;             // последних вызовов эндпоинта для подсчёта доли сбоев
+        public int breakerFailureRatePercent = 50;
+        public int breakerOpenSeconds = 30;        // пауза перед пробными запросами
+        public int breakerHalfOpenCalls = 3;
+        public boolean breakerPauseWhenOpen = true; // ждать (приостановить конвейер) вместо немедленной ошибки
+        public int issueCacheSize = 0;             // кэш getIssue (записей); 0 — выключен
+        public int issueCacheTtlSeconds = 30;
+    }
+
+    // Экспорт метрик (см. MetricsExporter)
+    public static class Metrics {
+
+        public boolean jmx = false;
+        public int prometheusPort = 0;             // 0 — HTTP-эндпоинт выключен
+        public String bindAddress = "127.0.0.1";
+    }
+
+    // Режим server: приём задач клонирования по локальному HTTP (см. JobServer)
+    public static class Server {
+
+        public int port = 8085;
+        public String bindAddress = "127.0.0.1";
+        public int workers = 2;                    // задач, выполняемых одновременно
+        public int maxRetainedJobs = 200;          // сколько завершённых задач хранить для опроса
+    }
+
+    // Приоритет задачи при нескольких задачах в одном процессе (см. FairRequestScheduler)
+    public static class Scheduling {
+
+        public int weight = 1;                     // доля внутри одного приоритета
+        public int priority = 0;                   // больше — обслуживается раньше
+        public int maxConcurrentRequests = 0;      // 0 — без ограничения
+    }
+
+    // Конвейер клонирования эпика: поиск → создание → связи (см. ClonePipeline)
+    public static class Pipeline {
+
+        public int pageSize = 100;                 // задач на страницу поиска
+        public int createWorkers = 4;
+        public int linkWorkers = 2;
+        public int queueCapacity = 100;            // между этапами; при заполнении предыдущий этап ждёт
+        public int searchWorkers = 4;              // параллельных запросов поиска (пачки ключей, срезы)
+        public int bulkSize = 1;                   // задач на запрос создания (POST /issue/bulk, до 50); 1 — по одной
+        public int partitionSize = 2000;           // задач на срез created при поиске по эпику; 0 — без разбиения
+    }
+
+    // Сроки: по истечении новые задачи не создаются, отчёт сохраняется с записями cancelled
+    public static class Deadlines {
+
+        public int runSeconds = 0;                 // весь прогон; 0 — без ограничения
+        public int issueSeconds = 0;               // создание и связи одной задачи; 0 — без ограничения
+        public int drainSeconds = 60;              // сколько ждать завершения после SIGINT
+    }
+
+    // Режим watch: периодический опрос эпика и клонирование только новых задач (см. EpicWatcher)
+    public static class Watch {
+
+        public int intervalSeconds = 300;
+        public String stateFile;                   // по умолчанию watch-state-<source>-<target>.json
+        public int overlapMinutes = 5;             // запас окна запроса: JQL различает даты с точностью до минуты
+        public boolean startFromNow = true;        // при первом запуске уже существующие задачи не клонируются
+        public String timeZone;                    // часовой пояс пользователя Jira для дат в JQL, по умолчанию системный
+    }
+
+    // Режим webhook: приём событий Jira о создании/изменении задач (см. WebhookReceiver)
+    public static class Webhook {
+
+        public int port = 8086;
+        public String bindAddress = "127.0.0.1";
+        public String path = "/webhook";
+        public String secret;                      // если задан — обязателен параметр ?secret= в URL webhook
+        public int queueCapacity = 1000;           // задач, ожидающих клонирования; при переполнении — 503
+        public int workers = 2;
+        public int dedupCapacity = 10000;          // сколько последних ключей помнить для отсева повторов
+    }
+
+    // Режимы export / import: снимок исходных задач в локальном файле (см. IssueSnapshot)
+    public static class Snapshot {
+
+        public String file;                        // по умолчанию snapshot-<source>.ndjson.gz
+        public java.util.List<String> fields;      // поля задач; по умолчанию — нужные для клонирования
+        public boolean compress = true;            // gzip
+    }
+
+    // Режим sync: перенос изменений источников на клоны (см. CloneSynchronizer)
+    public static class Sync {
+
+        public String mappingFile;                 // по умолчанию clone-mapping-<source>-<target>.json
+    }
+
     public static class Operation {
 
         public String projectKey;
@@ -25,6 +143,9 @@ public class Config {
         public LinkToOriginal linkToOriginal;
         public boolean dryRun = true;
         public String singleIssueKey; // если задан — обрабатываем только его
+        public java.util.List<String> issueKeys; // выборочные задачи: ищутся пачками key in (...)
+        public String issueKeysFile;  // файл с ключами (по строкам, # — комментарий)
+        public boolean preflight = false; // проверка всех запросов создания по createmeta до первой записи
 
         // NEW: архитектор обязателен (аналогично reporter)
         public Reporter architect;
@@ -27,6 +27,8 @@ public final class ConfigValidator {
             validateOperation(c.operation, errors);
         }
 
+        validateProcessSettings(c, errors);
+
         if (!errors.isEmpty()) {
             throw new ConfigValidationException(errors);
         }
@@ -35,6 +37,119 @@ public final class ConfigValidator {
         normalize(c);
     }
 
+    /**
+     * Валидация конфигурации процесса в режиме server: секции jira/operation
+     * не нужны (они приходят в каждой задаче), проверяются только http, metrics, server
+     */
+    public void validateAndNormalizeServer(Config c) {
+        java.util.List<String> errors = new java.util.ArrayList<>();
+
+        if (c == null) {
+            errors.add("config is null");
+            throw new ConfigValidationException(errors);
+        }
+
+        validateProcessSettings(c, errors);
+
+        if (c.server != null) {
+            if (c.server.port < 0 || c.server.port > 65535) {
+                errors.add("server.port must be within 0..65535, got: " + c.server.port);
+            }
+            if (c.server.workers <= 0) {
+                errors.add("server.workers must be > 0, got: " + c.server.workers);
+            }
+            if (c.server.maxRetainedJobs <= 0) {
+                errors.add("server.maxRetainedJobs must be > 0, got: " + c.server.maxRetainedJobs);
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            throw new ConfigValidationException(errors);
+        }
+
+        if (c.server == null) {
+            c.server = new Config.Server();
+        }
+        normalizeHttp(c);
+    }
+
+    private void validateProcessSettings(Config c, java.util.List<String> errors) {
+        // http — опционально
+        if (c.http != null) {
+            validateHttp(c.http, errors);
+        }
+
+        // scheduling — опционально
+        if (c.scheduling != null) {
+            if (c.scheduling.weight <= 0) {
+                errors.add("scheduling.weight must be > 0, got: " + c.scheduling.weight);
+            }
+            if (c.scheduling.maxConcurrentRequests < 0) {
+                errors.add("scheduling.maxConcurrentRequests must be >= 0, got: " + c.scheduling.maxConcurrentRequests);
+            }
+        }
+
+        // pipeline — опционально
+        if (c.pipeline != null) {
+            if (c.pipeline.pageSize <= 0 || c.pipeline.pageSize > 1000) {
+                errors.add("pipeline.pageSize must be within 1..1000, got: " + c.pipeline.pageSize);
+            }
+            if (c.pipeline.createWorkers <= 0) {
+                errors.add("pipeline.createWorkers must be > 0, got: " + c.pipeline.createWorkers);
+            }
+            if (c.pipeline.linkWorkers <= 0) {
+                errors.add("pipeline.linkWorkers must be > 0, got: " + c.pipeline.linkWorkers);
+            }
+            if (c.pipeline.searchWorkers <= 0) {
+                errors.add("pipeline.searchWorkers must be > 0, got: " + c.pipeline.searchWorkers);
+            }
+            if (c.pipeline.bulkSize <= 0 || c.pipeline.bulkSize > 50) {
+                errors.add("pipeline.bulkSize must be within 1..50, got: " + c.pipeline.bulkSize);
+            }
+            if (c.pipeline.partitionSize < 0) {
+                errors.add("pipeline.partitionSize must be >= 0, got: " + c.pipeline.partitionSize);
+            } else if (c.pipeline.partitionSize > 0 && c.pipeline.partitionSize < c.pipeline.pageSize) {
+                errors.add("pipeline.partitionSize must be 0 or >= pipeline.pageSize, got: " + c.pipeline.partitionSize);
+            }
+            if (c.pipeline.queueCapacity <= 0) {
+                errors.add("pipeline.queueCapacity must be > 0, got: " + c.pipeline.queueCapacity);
+            }
+        }
+
+        // deadlines — опционально
+        if (c.deadlines != null) {
+            if (c.deadlines.runSeconds < 0) {
+                errors.add("deadlines.runSeconds must be >= 0, got: " + c.deadlines.runSeconds);
+            }
+            if (c.deadlines.issueSeconds < 0) {
+                errors.add("deadlines.issueSeconds must be >= 0, got: " + c.deadlines.issueSeconds);
+            }
+            if (c.deadlines.drainSeconds < 0) {
+                errors.add("deadlines.drainSeconds must be >= 0, got: " + c.deadlines.drainSeconds);
+            }
+        }
+
+        // watch — опционально
+        if (c.watch != null) {
+            validateWatch(c.watch, errors);
+        }
+
+        // webhook — опционально
+        if (c.webhook != null) {
+            validateWebhook(c.webhook, errors);
+        }
+
+        // snapshot — опционально
+        if (c.snapshot != null) {
+            validateSnapshot(c.snapshot, errors);
+        }
+
+        // metrics — опционально
+        if (c.metrics != null && (c.metrics.prometheusPort < 0 || c.metrics.prometheusPort > 65535)) {
+            errors.add("metrics.prometheusPort must be within 0..65535, got: " + c.metrics.prometheusPort);
+        }
+    }
+
     private void validateJira(Config.Jira j, java.util.List<String> errors) {
         if (isBlank(j.baseUrl)) {
             errors.add("jira.baseUrl is missing");
@@ -53,6 +168,117 @@ public final class ConfigValidator {
         }
     }
 
+    private void validateHttp(Config.Http h, java.util.List<String> errors) {
+        if (!isBlank(h.version)) {
+            String v = h.version.toUpperCase(java.util.Locale.ROOT);
+            if (!"HTTP_1_1".equals(v) && !"HTTP_2".equals(v)) {
+                errors.add("http.version must be 'HTTP_1_1' or 'HTTP_2', got: '" + h.version + "'");
+            }
+        }
+        if (!isBlank(h.executor)) {
+            String e = h.executor.toLowerCase(java.util.Locale.ROOT);
+            if (!"default".equals(e) && !"fixed".equals(e) && !"virtual".equals(e)) {
+                errors.add("http.executor must be one of default|fixed|virtual, got: '" + h.executor + "'");
+            }
+        }
+        if (h.threads <= 0) {
+            errors.add("http.threads must be > 0, got: " + h.threads);
+        }
+        if (h.connectTimeoutSeconds <= 0) {
+            errors.add("http.connectTimeoutSeconds must be > 0, got: " + h.connectTimeoutSeconds);
+        }
+        if (h.requestTimeoutSeconds <= 0) {
+            errors.add("http.requestTimeoutSeconds must be > 0, got: " + h.requestTimeoutSeconds);
+        }
+        if (h.maxConnections <= 0) {
+            errors.add("http.maxConnections must be > 0, got: " + h.maxConnections);
+        }
+        if (h.warmupConnections < 0 || h.warmupConnections > h.maxConnections) {
+            errors.add("http.warmupConnections must be within 0.." + h.maxConnections + ", got: " + h.warmupConnections);
+        }
+        if (h.timeoutMultiplier < 1.0) {
+            errors.add("http.timeoutMultiplier must be >= 1, got: " + h.timeoutMultiplier);
+        }
+        if (h.minTimeoutMillis <= 0) {
+            errors.add("http.minTimeoutMillis must be > 0, got: " + h.minTimeoutMillis);
+        }
+        if (h.readRetries < 0) {
+            errors.add("http.readRetries must be >= 0, got: " + h.readRetries);
+        }
+        if (h.hedgePercentile <= 0 || h.hedgePercentile >= 100) {
+            errors.add("http.hedgePercentile must be within (0, 100), got: " + h.hedgePercentile);
+        }
+        if (h.hedgeBudgetPercent < 0 || h.hedgeBudgetPercent > 100) {
+            errors.add("http.hedgeBudgetPercent must be within 0..100, got: " + h.hedgeBudgetPercent);
+        }
+        if (h.breakerWindow <= 0) {
+            errors.add("http.breakerWindow must be > 0, got: " + h.breakerWindow);
+        }
+        if (h.breakerFailureRatePercent <= 0 || h.breakerFailureRatePercent > 100) {
+            errors.add("http.breakerFailureRatePercent must be within 1..100, got: " + h.breakerFailureRatePercent);
+        }
+        if (h.breakerOpenSeconds <= 0) {
+            errors.add("http.breakerOpenSeconds must be > 0, got: " + h.breakerOpenSeconds);
+        }
+        if (h.breakerHalfOpenCalls <= 0) {
+            errors.add("http.breakerHalfOpenCalls must be > 0, got: " + h.breakerHalfOpenCalls);
+        }
+        if (h.issueCacheSize < 0) {
+            errors.add("http.issueCacheSize must be >= 0, got: " + h.issueCacheSize);
+        }
+        if (h.issueCacheSize > 0 && h.issueCacheTtlSeconds <= 0) {
+            errors.add("http.issueCacheTtlSeconds must be > 0, got: " + h.issueCacheTtlSeconds);
+        }
+    }
+
+    private void validateSnapshot(Config.Snapshot s, java.util.List<String> errors) {
+        if (s.fields != null) {
+            if (s.fields.isEmpty()) {
+                errors.add("snapshot.fields must not be empty");
+            }
+            for (String f : s.fields) {
+                if (isBlank(f)) {
+                    errors.add("snapshot.fields must not contain blank names");
+                    break;
+                }
+            }
+        }
+    }
+
+    private void validateWatch(Config.Watch w, java.util.List<String> errors) {
+        if (w.intervalSeconds <= 0) {
+            errors.add("watch.intervalSeconds must be > 0, got: " + w.intervalSeconds);
+        }
+        if (w.overlapMinutes < 0) {
+            errors.add("watch.overlapMinutes must be >= 0, got: " + w.overlapMinutes);
+        }
+        if (!isBlank(w.timeZone)) {
+            try {
+                java.time.ZoneId.of(w.timeZone.trim());
+            } catch (java.time.DateTimeException e) {
+                errors.add("watch.timeZone is invalid: '" + w.timeZone + "'");
+            }
+        }
+    }
+
+    private void validateWebhook(Config.Webhook w, java.util.List<String> errors) {
+        if (w.port < 0 || w.port > 65535) {
+            errors.add("webhook.port must be within 0..65535, got: " + w.port);
+        }
+        if (!isBlank(w.path) && !w.path.startsWith("/")) {
+            errors.add("webhook.path must start with '/', got: '" + w.path + "'");
+        }
+        if (w.queueCapacity <= 0) {
+            errors.add("webhook.queueCapacity must be > 0, got: " + w.queueCapacity);
+        }
+        if (w.workers <= 0) {
+            errors.add("webhook.workers must be > 0, got: " + w.workers);
+        }
+        if (w.dedupCapacity <= 0) {
+            errors.add("webhook.dedupCapacity must be > 0, got: " + w.dedupCapacity);
+        }
+    }
+
     private void validateOperation(Config.Operation o, java.util.List<String> errors) {
         if (isBlank(o.projectKey)) {
             errors.add("operation.projectKey is missing");
@@ -75,6 +301,16 @@ public final class ConfigValidator {
         if (!isBlank(o.singleIssueKey) && !ISSUE_RE.matcher(o.singleIssueKey).matches()) {
             errors.add("operation.singleIssueKey is invalid: '" + o.singleIssueKey + "'");
         }
+        if (o.issueKeys != null) {
+            for (String key : o.issueKeys) {
+                if (isBlank(key) || !ISSUE_RE.matcher(key.trim().toUpperCase(java.util.Locale.ROOT)).matches()) {
+                    errors.add("operation.issueKeys contains an invalid key: '" + key + "'");
+                }
+            }
+        }
+        if (!isBlank(o.issueKeysFile) && !java.nio.file.Files.isReadable(java.nio.file.Path.of(o.issueKeysFile.trim()))) {
+            errors.add("operation.issueKeysFile is not readable: '" + o.issueKeysFile + "'");
+        }
 
         if (isBlank(o.issueTypeName)) {
             errors.add("operation.issueTypeName is missing");
@@ -129,12 +365,46 @@ public final class ConfigValidator {
     private void normalize(Config c) {
         // baseUrl: убрать завершающие /, auth в lower-case
         if (c.jira != null && c.jira.baseUrl != null) {
-            c.jira.baseUrl = c.jira.baseUrl.replaceAll("/+$", "");
+            c.jira.baseUrl = normalizeBaseUrl(c.jira.baseUrl);
         }
         if (c.jira != null && c.jira.auth != null) {
             c.jira.auth = c.jira.auth.toLowerCase(java.util.Locale.ROOT);
         }
 
+        normalizeHttp(c);
+
+        // watch: имя файла состояния по умолчанию зависит от пары эпиков
+        if (c.watch == null) {
+            c.watch = new Config.Watch();
+        }
+        if (isBlank(c.watch.stateFile) && c.operation != null) {
+            c.watch.stateFile = "watch-state-" + c.operation.sourceEpicKey + "-" + c.operation.targetEpicKey + ".json";
+        }
+        if (isBlank(c.watch.timeZone)) {
+            c.watch.timeZone = java.time.ZoneId.systemDefault().getId();
+        }
+
+        if (c.webhook == null) {
+            c.webhook = new Config.Webhook();
+        }
+        if (isBlank(c.webhook.path)) {
+            c.webhook.path = "/webhook";
+        }
+
+        if (c.sync == null) {
+            c.sync = new Config.Sync();
+        }
+
+        if (c.snapshot == null) {
+            c.snapshot = new Config.Snapshot();
+        }
+        if (isBlank(c.snapshot.file) && c.operation != null) {
+            c.snapshot.file = "snapshot-" + c.operation.sourceEpicKey + ".ndjson" + (c.snapshot.compress ? ".gz" : "");
+        }
+        if (isBlank(c.sync.mappingFile) && c.operation != null) {
+            c.sync.mappingFile = "clone-mapping-" + c.operation.sourceEpicKey + "-" + c.operation.targetEpicKey + ".json";
+        }
+
         // linkToOriginal.typeName по умолчанию "Cloners"
         if (c.operation != null) {
             if (c.operation.linkToOriginal == null) {
@@ -149,6 +419,35 @@ public final class ConfigValidator {
         }
     }
 
+    private void normalizeHttp(Config c) {
+        if (c.http == null) {
+            c.http = new Config.Http();
+        }
+        if (isBlank(c.http.version)) {
+            c.http.version = "HTTP_2";
+        }
+        c.http.version = c.http.version.toUpperCase(java.util.Locale.ROOT);
+        if (isBlank(c.http.executor)) {
+            c.http.executor = "default";
+        }
+        c.http.executor = c.http.executor.toLowerCase(java.util.Locale.ROOT);
+    }
+
+    /**
+     * Адрес Jira без завершающих / — в таком виде он хранится в конфигурации
+     */
+    public static String normalizeBaseUrl(String baseUrl) {
+        return baseUrl.replaceAll("/+$", "");
+    }
+
+    /**
+     * Один и тот же экземпляр Jira: адреса сравниваются после
+     * {@link #normalizeBaseUrl} и без учёта регистра
+     */
+    public static boolean sameBaseUrl(String a, String b) {
+        return a != null && b != null && normalizeBaseUrl(a.trim()).equalsIgnoreCase(normalizeBaseUrl(b.trim()));
+    }
+
     private static boolean isBlank(String s) {
         return s == null || s.trim().isEmpty();
     }
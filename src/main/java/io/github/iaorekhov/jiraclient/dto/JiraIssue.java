@@ -114,6 +114,15 @@ public class JiraIssue {
         return null;
     }
     
+    // Дата создания в формате Jira (2024-01-15T10:20:30.000+0300), если поле запрошено
+    public String getCreated() {
+        if (fields == null) {
+            return null;
+        }
+        Object created = fields.get("created");
+        return created != null ? String.valueOf(created) : null;
+    }
+    
     // Геттеры и сеттеры
     public String getKey() {
         return key;
@@ -2,6 +2,9 @@ package io.github.iaorekhov.jiraclient.dto;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 public class ReportEntry {
 
@@ -13,6 +16,10 @@ public class ReportEntry {
     private List<String> warnings = new ArrayList<>();
     private String error;
 
+    // Поля запроса создания — только в режиме plan
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, Object> createFields;
+
     // NEW: кто назначен (отображаем либо username, либо accountId, что использовали)
     private String assignee;
 
@@ -106,4 +113,12 @@ public class ReportEntry {
     public void setError(String error) {
         this.error = error;
     }
+
+    public Map<String, Object> getCreateFields() {
+        return createFields;
+    }
+
+    public void setCreateFields(Map<String, Object> createFields) {
+        this.createFields = createFields;
+    }
 }
@@ -0,0 +1,84 @@
+package io.github.iaorekhov.jiraclient.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Живые счётчики клонирования — то же, что getStatistics считает по
+ * готовому списку, но доступно во время прогона (JMX, Prometheus).
+ */
+public final class CloneCounters {
+
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder planned = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder linkFailures = new LongAdder();
+    private final LongAdder remoteLinkFailures = new LongAdder();
+
+    /**
+     * Учёт завершённой задачи по её статусу из ReportEntry
+     */
+    public void record(String status) {
+        processed.increment();
+        if ("planned".equals(status)) {
+            planned.increment();
+        } else if ("created".equals(status)) {
+            created.increment();
+        } else if ("failed".equals(status)) {
+            failed.increment();
+        } else if ("cancelled".equals(status)) {
+            cancelled.increment();
+        }
+    }
+
+    public void linkFailed() {
+        linkFailures.increment();
+    }
+
+    public void remoteLinkFailed() {
+        remoteLinkFailures.increment();
+    }
+
+    public long processed() {
+        return processed.sum();
+    }
+
+    public long planned() {
+        return planned.sum();
+    }
+
+    public long created() {
+        return created.sum();
+    }
+
+    public long failed() {
+        return failed.sum();
+    }
+
+    public long cancelled() {
+        return cancelled.sum();
+    }
+
+    public long linkFailures() {
+        return linkFailures.sum();
+    }
+
+    public long remoteLinkFailures() {
+        return remoteLinkFailures.sum();
+    }
+
+    /**
+     * Счётчики по статусам — для экспорта с меткой status
+     */
+    public Map<String, Long> byStatus() {
+        Map<String, Long> m = new LinkedHashMap<>();
+        m.put("planned", planned());
+        m.put("created", created());
+        m.put("failed", failed());
+        m.put("cancelled", cancelled());
+        return m;
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.iaorekhov.jiraclient.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR-событие для фазы клонирования в JiraCloningService
+ * (search, create, link, remoteLink, assign).
+ */
+@Name("io.github.iaorekhov.jiraclient.ClonePhase")
+@Label("Clone Phase")
+@Category({"Jira Client", "Cloning"})
+@Description("Phase of cloning a source issue into the target epic")
+@StackTrace(false)
+public class ClonePhaseEvent extends Event {
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Source Key")
+    public String sourceKey;
+
+    @Label("Clone Key")
+    public String cloneKey;
+
+    @Label("Success")
+    public boolean success;
+
+    @Label("Detail")
+    public String detail;
+
+    /**
+     * Начало фазы: фиксирует время старта, поля заполняются только при записи
+     */
+    public static ClonePhaseEvent start(String phase, String sourceKey) {
+        ClonePhaseEvent e = new ClonePhaseEvent();
+        e.begin();
+        e.phase = phase;
+        e.sourceKey = sourceKey;
+        return e;
+    }
+
+    public void finish(String cloneKey, boolean success) {
+        finish(cloneKey, success, null);
+    }
+
+    public void finish(String cloneKey, boolean success, String detail) {
+        if (shouldCommit()) {
+            this.cloneKey = cloneKey;
+            this.success = success;
+            this.detail = detail;
+            commit();
+        }
+    }
+}
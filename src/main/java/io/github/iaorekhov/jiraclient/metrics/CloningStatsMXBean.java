@@ -0,0 +1,19 @@
+package io.github.iaorekhov.jiraclient.metrics;
+
+/**
+ * JMX-представление счётчиков клонирования одной задачи (job)
+ */
+public interface CloningStatsMXBean {
+
+    long getProcessed();
+
+    long getPlanned();
+
+    long getCreated();
+
+    long getFailed();
+
+    long getLinkFailures();
+
+    long getRemoteLinkFailures();
+}
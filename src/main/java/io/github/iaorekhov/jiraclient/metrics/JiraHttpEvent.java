@@ -0,0 +1,50 @@
+package io.github.iaorekhov.jiraclient.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR-событие для каждого HTTP-вызова Jira. Длительность события — время
+ * запроса (включая ожидание свободного соединения). Пока запись JFR не
+ * включена, {@link #shouldCommit()} возвращает false и поля не заполняются.
+ */
+@Name("io.github.iaorekhov.jiraclient.HttpRequest")
+@Label("Jira HTTP Request")
+@Category({"Jira Client", "HTTP"})
+@Description("HTTP call from JiraClient to the Jira REST API")
+@StackTrace(false)
+public class JiraHttpEvent extends Event {
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Issue Key")
+    public String issueKey;
+
+    @Label("Status")
+    @Description("HTTP status code, -1 if no response was received")
+    public int status;
+
+    @Label("Bytes Sent")
+    @DataAmount
+    public long bytesSent;
+
+    @Label("Bytes Received")
+    @DataAmount
+    public long bytesReceived;
+
+    @Label("Retry Count")
+    public int retryCount;
+
+    @Label("Hedge")
+    @Description("Duplicate of a slow read sent to race the original request")
+    public boolean hedge;
+}
@@ -0,0 +1,33 @@
+package io.github.iaorekhov.jiraclient.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX-представление метрик запросов JiraClient
+ */
+public interface JiraRequestsMXBean {
+
+    long getRequests();
+
+    long getErrors();
+
+    long getBytesSent();
+
+    long getBytesReceived();
+
+    long getRetries();
+
+    int getInFlight();
+
+    int getPeakInFlight();
+
+    double getIssueCacheHitRate();
+
+    Map<String, Long> getRequestsByEndpoint();
+
+    Map<String, Long> getErrorsByEndpoint();
+
+    Map<String, Double> getP50MillisByEndpoint();
+
+    Map<String, Double> getP99MillisByEndpoint();
+}
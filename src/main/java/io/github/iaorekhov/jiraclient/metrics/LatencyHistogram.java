@@ -0,0 +1,123 @@
+package io.github.iaorekhov.jiraclient.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Гистограмма задержек в стиле HdrHistogram: логарифмические диапазоны
+ * (степени двойки), каждый поделён на {@value #SUB_BUCKETS} линейных
+ * под-корзин — относительная погрешность около 3%. Запись — одна атомарная
+ * операция без блокировок и аллокаций.
+ * <p>
+ * Значения хранятся в микросекундах, диапазон — до ~1 часа (больше — в последнюю корзину).
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;      // 32
+    private static final int LINEAR_BITS = SUB_BUCKET_BITS + 1;
+    private static final int LINEAR_LIMIT = 1 << LINEAR_BITS;         // 64: до него — точные значения
+    private static final int MAX_MAGNITUDE = 32;                       // 2^32 мкс ≈ 71 минута
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (MAX_MAGNITUDE - LINEAR_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * Запись одного измерения в наносекундах (как от System.nanoTime())
+     */
+    public void recordNanos(long nanos) {
+        recordMicros(Math.max(0, nanos) / 1_000);
+    }
+
+    public void recordMicros(long micros) {
+        long v = Math.max(0, micros);
+        counts.incrementAndGet(indexOf(v));
+        totalCount.increment();
+        totalMicros.add(v);
+        maxMicros.accumulateAndGet(v, Math::max);
+    }
+
+    public long count() {
+        return totalCount.sum();
+    }
+
+    public double meanMillis() {
+        long n = count();
+        return n == 0 ? 0.0 : totalMicros.sum() / 1_000.0 / n;
+    }
+
+    public double sumMillis() {
+        return totalMicros.sum() / 1_000.0;
+    }
+
+    public double maxMillis() {
+        return maxMicros.get() / 1_000.0;
+    }
+
+    /**
+     * Значение заданного перцентиля (0..100) в миллисекундах — верхняя граница корзины
+     */
+    public double percentileMillis(double percentile) {
+        long n = count();
+        if (n == 0) {
+            return 0.0;
+        }
+        long target = (long) Math.ceil(Math.min(100.0, Math.max(0.0, percentile)) / 100.0 * n);
+        target = Math.max(1, target);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(upperBoundOf(i), maxMicros.get()) / 1_000.0;
+            }
+        }
+        return maxMillis();
+    }
+
+    /**
+     * Краткая сводка для отчёта / экспорта метрик
+     */
+    public Map<String, Object> summary() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("count", count());
+        m.put("meanMs", round(meanMillis()));
+        m.put("p50Ms", round(percentileMillis(50)));
+        m.put("p90Ms", round(percentileMillis(90)));
+        m.put("p99Ms", round(percentileMillis(99)));
+        m.put("maxMs", round(maxMillis()));
+        return m;
+    }
+
+    static int indexOf(long micros) {
+        if (micros < LINEAR_LIMIT) {
+            return (int) micros;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(micros);
+        if (magnitude >= MAX_MAGNITUDE) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int sub = (int) (micros >>> shift) - SUB_BUCKETS;
+        return LINEAR_LIMIT + (magnitude - LINEAR_BITS) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBoundOf(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int magnitude = (index - LINEAR_LIMIT) / SUB_BUCKETS + LINEAR_BITS;
+        int sub = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        int shift = magnitude - SUB_BUCKET_BITS;
+        return ((long) (sub + 1) << shift) - 1;
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,361 @@
+package io.github.iaorekhov.jiraclient.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+
+/**
+ * Экспорт счётчиков клонирования и метрик запросов: JMX MBeans и, опционально,
+ * HTTP-эндпоинт /metrics в текстовом формате Prometheus на локальном порту.
+ * <p>
+ * Источники регистрируются по имени (job / client) и могут добавляться
+ * и сниматься во время работы — на будущее для долгоживущего процесса.
+ */
+public final class MetricsExporter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricsExporter.class);
+
+    private static final String DOMAIN = "io.github.iaorekhov.jiraclient";
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final boolean jmx;
+    private final Map<String, CloneCounters> jobs = new ConcurrentHashMap<>();
+    private final Map<String, RequestMetrics> clients = new ConcurrentHashMap<>();
+    private HttpServer server;
+
+    private MetricsExporter(boolean jmx) {
+        this.jmx = jmx;
+    }
+
+    /**
+     * Запуск экспорта по настройкам (null — экспорт выключен, регистрация ничего не делает)
+     */
+    public static MetricsExporter start(Config.Metrics settings) throws IOException {
+        MetricsExporter exporter = new MetricsExporter(settings != null && settings.jmx);
+        if (settings != null && settings.prometheusPort > 0) {
+            exporter.startHttp(settings.bindAddress, settings.prometheusPort);
+        }
+        return exporter;
+    }
+
+    public void registerJob(String job, CloneCounters counters) {
+        jobs.put(job, counters);
+        registerMBean("type=CloningStats,name=" + ObjectName.quote(job), new CloningStats(counters));
+    }
+
+    public void unregisterJob(String job) {
+        jobs.remove(job);
+        unregisterMBean("type=CloningStats,name=" + ObjectName.quote(job));
+    }
+
+    public void registerClient(String client, RequestMetrics metrics) {
+        clients.put(client, metrics);
+        registerMBean("type=JiraRequests,name=" + ObjectName.quote(client), new JiraRequests(metrics));
+    }
+
+    public void unregisterClient(String client) {
+        clients.remove(client);
+        unregisterMBean("type=JiraRequests,name=" + ObjectName.quote(client));
+    }
+
+    /**
+     * Порт HTTP-эндпоинта (0 — не запущен)
+     */
+    public int port() {
+        return server == null ? 0 : server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        jobs.keySet().forEach(this::unregisterJob);
+        clients.keySet().forEach(this::unregisterClient);
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+    }
+
+    private void startHttp(String bindAddress, int port) throws IOException {
+        String host = bindAddress == null || bindAddress.isBlank() ? "127.0.0.1" : bindAddress;
+        server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        server.createContext("/metrics", this::handleScrape);
+        server.start();
+        log.info("Prometheus metrics endpoint: http://{}:{}/metrics", host, port());
+    }
+
+    private void handleScrape(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        }
+    }
+
+    /**
+     * Текущие значения в текстовом формате Prometheus (exposition format 0.0.4)
+     */
+    public String scrape() {
+        StringBuilder sb = new StringBuilder(4096);
+
+        header(sb, "jiraclient_clone_issues_total", "counter", "Processed source issues by result status");
+        new TreeMap<>(jobs).forEach((job, c) -> c.byStatus().forEach((status, n) ->
+                sample(sb, "jiraclient_clone_issues_total", "clone_job=\"" + esc(job) + "\",status=\"" + status + "\"", n)));
+
+        header(sb, "jiraclient_clone_link_failures_total", "counter", "Failed issue links and remote links");
+        new TreeMap<>(jobs).forEach((job, c) -> {
+            sample(sb, "jiraclient_clone_link_failures_total", "clone_job=\"" + esc(job) + "\",kind=\"issueLink\"", c.linkFailures());
+            sample(sb, "jiraclient_clone_link_failures_total", "clone_job=\"" + esc(job) + "\",kind=\"remoteLink\"", c.remoteLinkFailures());
+        });
+
+        header(sb, "jiraclient_http_requests_total", "counter", "Jira HTTP requests by endpoint and status class");
+        forEachStatus((labels, h) -> sample(sb, "jiraclient_http_requests_total", labels, h.count()));
+
+        header(sb, "jiraclient_http_request_duration_seconds", "summary", "Jira HTTP request latency");
+        forEachEndpoint((labels, e) -> {
+            LatencyHistogram h = e.latency();
+            for (double q : new double[]{0.5, 0.9, 0.99}) {
+                sample(sb, "jiraclient_http_request_duration_seconds",
+                        labels + ",quantile=\"" + q + "\"", h.percentileMillis(q * 100) / 1_000.0);
+            }
+            sample(sb, "jiraclient_http_request_duration_seconds_sum", labels, h.sumMillis() / 1_000.0);
+            sample(sb, "jiraclient_http_request_duration_seconds_count", labels, h.count());
+        });
+
+        endpointCounter(sb, "jiraclient_http_sent_bytes_total", "Request body bytes sent", RequestMetrics.Endpoint::bytesSent);
+        endpointCounter(sb, "jiraclient_http_received_bytes_total", "Response body bytes received", RequestMetrics.Endpoint::bytesReceived);
+        endpointCounter(sb, "jiraclient_http_retries_total", "Retried Jira HTTP requests", RequestMetrics.Endpoint::retries);
+        endpointCounter(sb, "jiraclient_http_hedges_total", "Duplicate reads sent for slow requests", RequestMetrics.Endpoint::hedges);
+        endpointCounter(sb, "jiraclient_http_hedge_wins_total", "Duplicate reads that answered first", RequestMetrics.Endpoint::hedgeWins);
+
+        header(sb, "jiraclient_issue_cache_lookups_total", "counter", "getIssue lookups by cache result");
+        new TreeMap<>(clients).forEach((client, m) -> {
+            String labels = "client=\"" + esc(client) + "\",result=";
+            sample(sb, "jiraclient_issue_cache_lookups_total", labels + "\"hit\"", m.issueCacheHits());
+            sample(sb, "jiraclient_issue_cache_lookups_total", labels + "\"coalesced\"", m.issueCacheCoalesced());
+            sample(sb, "jiraclient_issue_cache_lookups_total", labels + "\"miss\"", m.issueCacheMisses());
+        });
+
+        header(sb, "jiraclient_http_in_flight_requests", "gauge", "Jira HTTP requests currently in flight");
+        new TreeMap<>(clients).forEach((client, m) ->
+                sample(sb, "jiraclient_http_in_flight_requests", "client=\"" + esc(client) + "\"", m.inFlight()));
+
+        return sb.toString();
+    }
+
+    private void endpointCounter(StringBuilder sb, String name, String help, ToLongFunction<RequestMetrics.Endpoint> value) {
+        header(sb, name, "counter", help);
+        forEachEndpoint((labels, e) -> sample(sb, name, labels, value.applyAsLong(e)));
+    }
+
+    private void forEachEndpoint(BiConsumer<String, RequestMetrics.Endpoint> action) {
+        new TreeMap<>(clients).forEach((client, m) -> new TreeMap<>(m.endpoints()).forEach((endpoint, e) ->
+                action.accept("client=\"" + esc(client) + "\",endpoint=\"" + esc(endpoint) + "\"", e)));
+    }
+
+    private void forEachStatus(BiConsumer<String, LatencyHistogram> action) {
+        forEachEndpoint((labels, e) -> {
+            for (String statusClass : new String[]{"1xx", "2xx", "3xx", "4xx", "5xx", RequestMetrics.IO_ERROR}) {
+                LatencyHistogram h = e.latency(statusClass);
+                if (h != null) {
+                    action.accept(labels + ",status_class=\"" + statusClass + "\"", h);
+                }
+            }
+        });
+    }
+
+    private static void header(StringBuilder sb, String name, String type, String help) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder sb, String name, String labels, long value) {
+        sb.append(name).append('{').append(labels).append("} ").append(value).append('\n');
+    }
+
+    private static void sample(StringBuilder sb, String name, String labels, double value) {
+        sb.append(name).append('{').append(labels).append("} ")
+                .append(String.format(Locale.ROOT, "%.6f", value)).append('\n');
+    }
+
+    private static String esc(String s) {
+        return s.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private void registerMBean(String properties, Object bean) {
+        if (!jmx) {
+            return;
+        }
+        try {
+            MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(DOMAIN + ":" + properties);
+            if (mbs.isRegistered(name)) {
+                mbs.unregisterMBean(name);
+            }
+            mbs.registerMBean(bean, name);
+        } catch (Exception e) {
+            log.warn("Failed to register MBean {}: {}", properties, e.getMessage());
+        }
+    }
+
+    private void unregisterMBean(String properties) {
+        if (!jmx) {
+            return;
+        }
+        try {
+            MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(DOMAIN + ":" + properties);
+            if (mbs.isRegistered(name)) {
+                mbs.unregisterMBean(name);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to unregister MBean {}: {}", properties, e.getMessage());
+        }
+    }
+
+    private static final class CloningStats implements CloningStatsMXBean {
+
+        private final CloneCounters c;
+
+        CloningStats(CloneCounters c) {
+            this.c = c;
+        }
+
+        @Override
+        public long getProcessed() {
+            return c.processed();
+        }
+
+        @Override
+        public long getPlanned() {
+            return c.planned();
+        }
+
+        @Override
+        public long getCreated() {
+            return c.created();
+        }
+
+        @Override
+        public long getFailed() {
+            return c.failed();
+        }
+
+        @Override
+        public long getLinkFailures() {
+            return c.linkFailures();
+        }
+
+        @Override
+        public long getRemoteLinkFailures() {
+            return c.remoteLinkFailures();
+        }
+    }
+
+    private static final class JiraRequests implements JiraRequestsMXBean {
+
+        private final RequestMetrics m;
+
+        JiraRequests(RequestMetrics m) {
+            this.m = m;
+        }
+
+        @Override
+        public long getRequests() {
+            return m.endpoints().values().stream().mapToLong(RequestMetrics.Endpoint::requests).sum();
+        }
+
+        @Override
+        public long getErrors() {
+            return m.endpoints().values().stream().mapToLong(RequestMetrics.Endpoint::errors).sum();
+        }
+
+        @Override
+        public long getBytesSent() {
+            return m.totalBytesSent();
+        }
+
+        @Override
+        public long getBytesReceived() {
+            return m.totalBytesReceived();
+        }
+
+        @Override
+        public long getRetries() {
+            return m.totalRetries();
+        }
+
+        @Override
+        public int getInFlight() {
+            return m.inFlight();
+        }
+
+        @Override
+        public int getPeakInFlight() {
+            return m.peakInFlight();
+        }
+
+        @Override
+        public double getIssueCacheHitRate() {
+            return m.issueCacheHitRate();
+        }
+
+        @Override
+        public Map<String, Long> getRequestsByEndpoint() {
+            return byEndpoint(RequestMetrics.Endpoint::requests);
+        }
+
+        @Override
+        public Map<String, Long> getErrorsByEndpoint() {
+            return byEndpoint(RequestMetrics.Endpoint::errors);
+        }
+
+        @Override
+        public Map<String, Double> getP50MillisByEndpoint() {
+            return latencyByEndpoint(h -> h.percentileMillis(50));
+        }
+
+        @Override
+        public Map<String, Double> getP99MillisByEndpoint() {
+            return latencyByEndpoint(h -> h.percentileMillis(99));
+        }
+
+        private Map<String, Long> byEndpoint(ToLongFunction<RequestMetrics.Endpoint> f) {
+            Map<String, Long> r = new TreeMap<>();
+            m.endpoints().forEach((k, v) -> r.put(k, f.applyAsLong(v)));
+            return r;
+        }
+
+        private Map<String, Double> latencyByEndpoint(ToDoubleFunction<LatencyHistogram> f) {
+            Map<String, Double> r = new TreeMap<>();
+            m.endpoints().forEach((k, v) -> r.put(k, f.applyAsDouble(v.latency())));
+            return r;
+        }
+    }
+}
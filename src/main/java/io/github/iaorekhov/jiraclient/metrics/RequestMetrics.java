@@ -0,0 +1,240 @@
+package io.github.iaorekhov.jiraclient.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Метрики HTTP-запросов JiraClient: гистограмма задержек на пару
+ * (эндпоинт, класс статуса), счётчики байтов, повторов и запросов «в полёте».
+ */
+public final class RequestMetrics {
+
+    /** Класс статуса для запросов, не получивших HTTP-ответа (таймаут, обрыв соединения) */
+    public static final String IO_ERROR = "io_error";
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final LongAdder issueCacheHits = new LongAdder();
+    private final LongAdder issueCacheMisses = new LongAdder();
+    private final LongAdder issueCacheCoalesced = new LongAdder();
+
+    /**
+     * Счётчики одного эндпоинта
+     */
+    public static final class Endpoint {
+
+        private final Map<String, LatencyHistogram> byStatusClass = new ConcurrentHashMap<>();
+        private final LatencyHistogram all = new LatencyHistogram();
+        private final LongAdder bytesSent = new LongAdder();
+        private final LongAdder bytesReceived = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder hedges = new LongAdder();
+        private final LongAdder hedgeWins = new LongAdder();
+
+        public LatencyHistogram latency() {
+            return all;
+        }
+
+        public LatencyHistogram latency(String statusClass) {
+            return byStatusClass.get(statusClass);
+        }
+
+        public long bytesSent() {
+            return bytesSent.sum();
+        }
+
+        public long bytesReceived() {
+            return bytesReceived.sum();
+        }
+
+        public long retries() {
+            return retries.sum();
+        }
+
+        public long hedges() {
+            return hedges.sum();
+        }
+
+        public long hedgeWins() {
+            return hedgeWins.sum();
+        }
+
+        public long requests() {
+            return all.count();
+        }
+
+        public long errors() {
+            long n = 0;
+            for (Map.Entry<String, LatencyHistogram> e : byStatusClass.entrySet()) {
+                if (!"2xx".equals(e.getKey()) && !"3xx".equals(e.getKey())) {
+                    n += e.getValue().count();
+                }
+            }
+            return n;
+        }
+
+        Map<String, Object> snapshot() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("latency", all.summary());
+            Map<String, Object> statuses = new TreeMap<>();
+            byStatusClass.forEach((k, v) -> statuses.put(k, v.summary()));
+            m.put("byStatus", statuses);
+            m.put("bytesSent", bytesSent());
+            m.put("bytesReceived", bytesReceived());
+            m.put("retries", retries());
+            m.put("hedges", hedges());
+            m.put("hedgeWins", hedgeWins());
+            return m;
+        }
+    }
+
+    /**
+     * Отметка о начале запроса — увеличивает счётчик запросов «в полёте»
+     */
+    public void requestStarted() {
+        int now = inFlight.incrementAndGet();
+        peakInFlight.accumulateAndGet(now, Math::max);
+    }
+
+    /**
+     * Завершение запроса.
+     *
+     * @param status HTTP-статус или -1, если ответа не было
+     */
+    public void requestFinished(String endpoint, int status, long durationNanos, long sent, long received) {
+        inFlight.decrementAndGet();
+        Endpoint e = endpoint(endpoint);
+        String statusClass = statusClass(status);
+        e.byStatusClass.computeIfAbsent(statusClass, k -> new LatencyHistogram()).recordNanos(durationNanos);
+        e.all.recordNanos(durationNanos);
+        e.bytesSent.add(Math.max(0, sent));
+        e.bytesReceived.add(Math.max(0, received));
+    }
+
+    /**
+     * Запрос отменён до ответа (проигравший дубликат чтения) — задержку не учитываем
+     */
+    public void requestAbandoned() {
+        inFlight.decrementAndGet();
+    }
+
+    public void retry(String endpoint) {
+        endpoint(endpoint).retries.increment();
+    }
+
+    /**
+     * Отправлен дубликат чтения; {@code won} — он ответил раньше основного запроса
+     */
+    public void hedge(String endpoint, boolean won) {
+        Endpoint e = endpoint(endpoint);
+        e.hedges.increment();
+        if (won) {
+            e.hedgeWins.increment();
+        }
+    }
+
+    public void issueCacheHit() {
+        issueCacheHits.increment();
+    }
+
+    public void issueCacheMiss() {
+        issueCacheMisses.increment();
+    }
+
+    /**
+     * Промах, который дождался уже идущего запроса той же задачи
+     */
+    public void issueCacheJoined() {
+        issueCacheCoalesced.increment();
+    }
+
+    public long issueCacheHits() {
+        return issueCacheHits.sum();
+    }
+
+    public long issueCacheMisses() {
+        return issueCacheMisses.sum();
+    }
+
+    public long issueCacheCoalesced() {
+        return issueCacheCoalesced.sum();
+    }
+
+    /**
+     * Доля getIssue без собственного запроса к Jira (попадания и объединённые промахи)
+     */
+    public double issueCacheHitRate() {
+        long saved = issueCacheHits() + issueCacheCoalesced();
+        long total = saved + issueCacheMisses();
+        return total == 0 ? 0.0 : (double) saved / total;
+    }
+
+    public Endpoint endpoint(String name) {
+        return endpoints.computeIfAbsent(name, k -> new Endpoint());
+    }
+
+    public Map<String, Endpoint> endpoints() {
+        return endpoints;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public int peakInFlight() {
+        return peakInFlight.get();
+    }
+
+    public long totalBytesSent() {
+        return endpoints.values().stream().mapToLong(Endpoint::bytesSent).sum();
+    }
+
+    public long totalBytesReceived() {
+        return endpoints.values().stream().mapToLong(Endpoint::bytesReceived).sum();
+    }
+
+    public long totalRetries() {
+        return endpoints.values().stream().mapToLong(Endpoint::retries).sum();
+    }
+
+    public long totalHedges() {
+        return endpoints.values().stream().mapToLong(Endpoint::hedges).sum();
+    }
+
+    /**
+     * Снимок всех метрик в виде, пригодном для JSON-отчёта
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        Map<String, Object> eps = new TreeMap<>();
+        endpoints.forEach((k, v) -> eps.put(k, v.snapshot()));
+        m.put("endpoints", eps);
+        m.put("bytesSent", totalBytesSent());
+        m.put("bytesReceived", totalBytesReceived());
+        m.put("retries", totalRetries());
+        m.put("hedges", totalHedges());
+        m.put("inFlight", inFlight());
+        m.put("peakInFlight", peakInFlight());
+        if (issueCacheHits() + issueCacheMisses() + issueCacheCoalesced() > 0) {
+            Map<String, Object> cache = new LinkedHashMap<>();
+            cache.put("hits", issueCacheHits());
+            cache.put("misses", issueCacheMisses());
+            cache.put("coalesced", issueCacheCoalesced());
+            cache.put("hitRate", Math.round(issueCacheHitRate() * 1000.0) / 1000.0);
+            m.put("issueCache", cache);
+        }
+        return m;
+    }
+
+    public static String statusClass(int status) {
+        if (status < 100) {
+            return IO_ERROR;
+        }
+        return (status / 100) + "xx";
+    }
+}
@@ -0,0 +1,210 @@
+package io.github.iaorekhov.jiraclient.server;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.dto.ReportEntry;
+import io.github.iaorekhov.jiraclient.metrics.CloneCounters;
+
+/**
+ * Задача клонирования, принятая сервером: конфигурация, состояние и
+ * накопленные записи отчёта
+ */
+public class CloneJob {
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED;
+
+        public boolean isFinished() {
+            return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+        }
+
+        public String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final String id;
+    private final Config config;
+    private final Instant submittedAt = Instant.now();
+    private final List<ReportEntry> entries = Collections.synchronizedList(new ArrayList<>());
+
+    // Переходы QUEUED → RUNNING и QUEUED → CANCELLED атомарны: отмена и запуск не перетирают друг друга
+    private final AtomicReference<Status> status = new AtomicReference<>(Status.QUEUED);
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile CloneCounters counters;
+    private volatile Map<String, Object> statistics;
+    private volatile Future<?> future;
+    private volatile Supplier<Map<String, Object>> scheduling;
+    private Runnable canceller;        // под this
+    private boolean cancelRequested;   // под this: отмена пришла до появления canceller
+
+    public CloneJob(String id, Config config) {
+        this.id = id;
+        this.config = config;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Config getConfig() {
+        return config;
+    }
+
+    public Status getStatus() {
+        return status.get();
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public Map<String, Object> getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Копия записей отчёта, накопленных к этому моменту
+     */
+    public List<ReportEntry> snapshotEntries() {
+        synchronized (entries) {
+            return new ArrayList<>(entries);
+        }
+    }
+
+    void addEntry(ReportEntry entry) {
+        entries.add(entry);
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    Future<?> getFuture() {
+        return future;
+    }
+
+    void setScheduling(Supplier<Map<String, Object>> scheduling) {
+        this.scheduling = scheduling;
+    }
+
+    /**
+     * Отмена выполняющейся задачи; пришедшая раньше — выполняется сразу
+     */
+    synchronized void setCanceller(Runnable canceller) {
+        this.canceller = canceller;
+        if (cancelRequested) {
+            canceller.run();
+        }
+    }
+
+    /**
+     * Запуск: QUEUED → RUNNING
+     *
+     * @return false — задача уже отменена, выполнять её нельзя
+     */
+    boolean markRunning() {
+        if (!status.compareAndSet(Status.QUEUED, Status.RUNNING)) {
+            return false;
+        }
+        this.startedAt = Instant.now();
+        return true;
+    }
+
+    void setCounters(CloneCounters counters) {
+        this.counters = counters;
+    }
+
+    /**
+     * Отмена: стоящая в очереди задача сразу становится cancelled, выполняющейся
+     * передаётся отмена (статус cancelled — после завершения начатых клонов)
+     *
+     * @return false — задача уже завершена
+     */
+    boolean cancel() {
+        if (status.compareAndSet(Status.QUEUED, Status.CANCELLED)) {
+            this.finishedAt = Instant.now();
+            return true;
+        }
+        if (status.get() != Status.RUNNING) {
+            return false;
+        }
+        synchronized (this) {
+            cancelRequested = true;
+            if (canceller != null) {
+                canceller.run();
+            }
+        }
+        return true;
+    }
+
+    void markSucceeded(Map<String, Object> statistics) {
+        this.statistics = statistics;
+        finish(Status.SUCCEEDED);
+    }
+
+    void markFailed(String error) {
+        this.error = error;
+        finish(Status.FAILED);
+    }
+
+    /**
+     * Выполнявшаяся задача остановлена: начатые клоны доделаны, остальные — cancelled
+     */
+    void markCancelled(Map<String, Object> statistics) {
+        this.statistics = statistics;
+        finish(Status.CANCELLED);
+    }
+
+    Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    private void finish(Status status) {
+        this.finishedAt = Instant.now();
+        this.status.set(status);
+    }
+
+    /**
+     * Краткое состояние для ответа GET /jobs/{id}
+     */
+    public Map<String, Object> summary() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("id", id);
+        Status current = status.get();
+        m.put("status", current.label());
+        m.put("sourceEpic", config.operation.sourceEpicKey);
+        m.put("targetEpic", config.operation.targetEpicKey);
+        m.put("dryRun", config.operation.dryRun);
+        m.put("submittedAt", submittedAt.toString());
+        m.put("startedAt", startedAt == null ? null : startedAt.toString());
+        m.put("finishedAt", finishedAt == null ? null : finishedAt.toString());
+        CloneCounters c = counters;
+        if (c != null) {
+            Map<String, Object> progress = new LinkedHashMap<>();
+            progress.put("processed", c.processed());
+            progress.putAll(c.byStatus());
+            m.put("progress", progress);
+        }
+        Supplier<Map<String, Object>> s = scheduling;
+        if (s != null && !current.isFinished()) {
+            m.put("scheduling", s.get());
+        }
+        if (error != null) {
+            m.put("error", error);
+        }
+        return m;
+    }
+}
@@ -0,0 +1,212 @@
+package io.github.iaorekhov.jiraclient.server;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.iaorekhov.jiraclient.FairRequestScheduler;
+import io.github.iaorekhov.jiraclient.JiraClient;
+import io.github.iaorekhov.jiraclient.JiraHttpClientFactory;
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.config.ConfigValidator;
+import io.github.iaorekhov.jiraclient.dto.ReportEntry;
+import io.github.iaorekhov.jiraclient.metrics.MetricsExporter;
+import io.github.iaorekhov.jiraclient.service.JiraCloningService;
+
+/**
+ * Очередь задач клонирования для долгоживущего процесса. JiraClient
+ * (а с ним соединения, метрики и кэш метаданных) создаётся один раз на пару
+ * baseUrl/token и переиспользуется всеми задачами; задачи выполняются
+ * на общем пуле из {@code server.workers} потоков.
+ */
+public class JobManager implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(JobManager.class);
+
+    private final JiraHttpClientFactory httpFactory;
+    private final int warmupConnections;
+    private final MetricsExporter exporter;
+    private final int maxRetainedJobs;
+    private final ExecutorService workers;
+
+    private final Map<String, CloneJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, JiraClient> clients = new ConcurrentHashMap<>();
+    // Сколько клиентов (токенов) уже зарегистрировано в метриках для каждого baseUrl
+    private final Map<String, Integer> clientsPerUrl = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public JobManager(Config processConfig, MetricsExporter exporter) {
+        this.httpFactory = JiraHttpClientFactory.shared(processConfig.http);
+        this.warmupConnections = processConfig.http != null ? processConfig.http.warmupConnections : 0;
+        this.exporter = exporter;
+        this.maxRetainedJobs = processConfig.server.maxRetainedJobs;
+        AtomicInteger n = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(processConfig.server.workers, r -> {
+            Thread t = new Thread(r, "clone-job-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Приём задачи: конфигурация в том же формате, что и config.json.
+     *
+     * @throws io.github.iaorekhov.jiraclient.config.ConfigValidationException если конфигурация некорректна
+     */
+    public CloneJob submit(Config jobConfig) {
+        new ConfigValidator().validateAndNormalize(jobConfig);
+
+        CloneJob job = new CloneJob("job-" + sequence.incrementAndGet(), jobConfig);
+        jobs.put(job.getId(), job);
+        job.setFuture(workers.submit(() -> run(job)));
+        log.info("Job {} queued: {} -> {} (dryRun={})", job.getId(),
+                jobConfig.operation.sourceEpicKey, jobConfig.operation.targetEpicKey, jobConfig.operation.dryRun);
+        return job;
+    }
+
+    public Optional<CloneJob> get(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    public List<CloneJob> list() {
+        List<CloneJob> all = new ArrayList<>(jobs.values());
+        all.sort(Comparator.comparingLong(j -> Long.parseLong(j.getId().substring("job-".length()))));
+        return all;
+    }
+
+    /**
+     * Отмена задачи: из очереди снимается сразу, у выполняющейся прекращается
+     * создание новых клонов (статус cancelled — после завершения начатых)
+     *
+     * @return true, если задача снята с очереди или ей отправлена отмена
+     */
+    public boolean cancel(String id) {
+        CloneJob job = jobs.get(id);
+        if (job == null) {
+            return false;
+        }
+        boolean queued = job.getStatus() == CloneJob.Status.QUEUED;
+        if (!job.cancel()) {
+            return false;
+        }
+        if (queued && job.getStatus() == CloneJob.Status.CANCELLED) {
+            // Из очереди пула; если поток её уже взял, run() увидит CANCELLED и выйдет
+            if (job.getFuture() != null) {
+                job.getFuture().cancel(false);
+            }
+            log.info("Job {} cancelled", id);
+        } else {
+            log.info("Job {} cancellation requested", id);
+        }
+        return true;
+    }
+
+    @SuppressWarnings("try")
+    private void run(CloneJob job) {
+        // До любой работы: отменённая в очереди задача не запускается
+        if (!job.markRunning()) {
+            return;
+        }
+        Config cfg = job.getConfig();
+        try {
+            JiraClient client = clientFor(cfg);
+            JiraCloningService service = new JiraCloningService(cfg, client);
+            service.setEntryListener(job::addEntry);
+            job.setCanceller(() -> service.cancel("job cancelled"));
+
+            // Доля задачи в общей ёмкости запросов — все запросы этого потока идут от её имени
+            Config.Scheduling s = cfg.scheduling != null ? cfg.scheduling : new Config.Scheduling();
+            FairRequestScheduler scheduler = httpFactory.scheduler();
+            FairRequestScheduler.JobShare share = scheduler.register(job.getId(), s.weight, s.priority, s.maxConcurrentRequests);
+            job.setScheduling(() -> scheduler.snapshot(share));
+
+            job.setCounters(service.getCounters());
+            exporter.registerJob(job.getId(), service.getCounters());
+            log.info("Job {} started (weight={}, priority={})", job.getId(), s.weight, s.priority);
+
+            List<ReportEntry> results;
+            try (FairRequestScheduler.Scope scope = FairRequestScheduler.enter(share)) {
+                results = service.cloneIssues();
+            }
+            if (service.isCancelled()) {
+                job.markCancelled(service.getStatistics(results));
+                log.info("Job {} cancelled: {}", job.getId(), job.getStatistics());
+            } else {
+                job.markSucceeded(service.getStatistics(results));
+                log.info("Job {} finished: {}", job.getId(), job.getStatistics());
+            }
+        } catch (Exception e) {
+            job.markFailed(e.getMessage());
+            log.error("Job {} failed: {}", job.getId(), e.getMessage(), e);
+        } finally {
+            pruneFinished();
+        }
+    }
+
+    /**
+     * Клиент на пару baseUrl/token: создаётся и проверяется (GET /myself) один раз
+     */
+    JiraClient clientFor(Config cfg) throws Exception {
+        String key = cfg.jira.baseUrl + "\n" + cfg.jira.token;
+        JiraClient existing = clients.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        httpFactory.warmUp(cfg.jira.baseUrl, warmupConnections);
+        JiraClient created = new JiraClient(cfg.jira.baseUrl, cfg.jira.token, httpFactory);
+        created.getMyself();
+        JiraClient winner = clients.putIfAbsent(key, created);
+        if (winner != null) {
+            return winner;
+        }
+        exporter.registerClient(metricsName(cfg.jira.baseUrl), created.getRequestMetrics());
+        return created;
+    }
+
+    // Имя клиента в метриках (без токена): baseUrl, для следующих токенов той же Jira — baseUrl#2, #3…
+    private String metricsName(String baseUrl) {
+        int n = clientsPerUrl.merge(baseUrl, 1, Integer::sum);
+        return n == 1 ? baseUrl : baseUrl + "#" + n;
+    }
+
+    private void pruneFinished() {
+        List<CloneJob> finished = new ArrayList<>();
+        for (CloneJob j : jobs.values()) {
+            if (j.getStatus().isFinished() && j.getFinishedAt() != null) {
+                finished.add(j);
+            }
+        }
+        if (finished.size() <= maxRetainedJobs) {
+            return;
+        }
+        finished.sort(Comparator.comparing(CloneJob::getFinishedAt));
+        for (CloneJob j : finished.subList(0, finished.size() - maxRetainedJobs)) {
+            jobs.remove(j.getId());
+            exporter.unregisterJob(j.getId());
+        }
+    }
+
+    @Override
+    public void close() {
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package io.github.iaorekhov.jiraclient.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.config.ConfigValidationException;
+import io.github.iaorekhov.jiraclient.service.ReportService;
+
+/**
+ * Локальный HTTP API режима server:
+ * <ul>
+ * <li>POST /jobs — тело в формате config.json, ответ 202 с id задачи</li>
+ * <li>GET /jobs — список задач</li>
+ * <li>GET /jobs/{id} — состояние и прогресс</li>
+ * <li>GET /jobs/{id}/report — отчёт (по готовым на данный момент записям)</li>
+ * <li>DELETE /jobs/{id} — отмена задачи: стоящая в очереди снимается сразу,
+ * у выполняющейся новые клоны не создаются, начатые доделываются</li>
+ * </ul>
+ */
+public class JobServer implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(JobServer.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final JobManager jobs;
+    private final ReportService reportService = new ReportService();
+    private final HttpServer server;
+    private final ExecutorService handlers;
+
+    public JobServer(Config.Server settings, JobManager jobs) throws IOException {
+        this.jobs = jobs;
+        String host = settings.bindAddress == null || settings.bindAddress.isBlank() ? "127.0.0.1" : settings.bindAddress;
+        this.server = HttpServer.create(new InetSocketAddress(host, settings.port), 0);
+        this.handlers = Executors.newFixedThreadPool(4, r -> {
+            Thread t = new Thread(r, "job-server");
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(handlers);
+        server.createContext("/jobs", this::handle);
+    }
+
+    public void start() {
+        server.start();
+        log.info("Job server listening on http://{}:{}/jobs",
+                server.getAddress().getHostString(), server.getAddress().getPort());
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(1);
+        handlers.shutdownNow();
+    }
+
+    private void handle(HttpExchange ex) throws IOException {
+        try (ex) {
+            try {
+                route(ex);
+            } catch (Exception e) {
+                log.error("Job server request failed: {}", e.getMessage(), e);
+                // Заголовки ещё не отправлены — клиент получает 500, а не оборванное соединение
+                if (ex.getResponseCode() < 0) {
+                    sendJson(ex, 500, error("Internal server error: " + e.getMessage()));
+                }
+            }
+        }
+    }
+
+    private void route(HttpExchange ex) throws IOException {
+        String[] parts = ex.getRequestURI().getPath().replaceAll("/+$", "").split("/");
+        // parts: ["", "jobs", id?, "report"?]
+        String method = ex.getRequestMethod();
+        if (parts.length == 2) {
+            if ("POST".equals(method)) {
+                submit(ex);
+            } else if ("GET".equals(method)) {
+                sendJson(ex, 200, jobs.list().stream().map(CloneJob::summary).toList());
+            } else {
+                sendJson(ex, 405, error("Method not allowed: " + method));
+            }
+            return;
+        }
+
+        Optional<CloneJob> job = jobs.get(parts[2]);
+        if (job.isEmpty()) {
+            sendJson(ex, 404, error("Job not found: " + parts[2]));
+            return;
+        }
+        if (parts.length == 3 && "GET".equals(method)) {
+            sendJson(ex, 200, job.get().summary());
+        } else if (parts.length == 3 && "DELETE".equals(method)) {
+            boolean cancelled = jobs.cancel(parts[2]);
+            sendJson(ex, cancelled ? 200 : 409, cancelled
+                    ? job.get().summary()
+                    : error("Job is already finished: " + job.get().getStatus().label()));
+        } else if (parts.length == 4 && "report".equals(parts[3]) && "GET".equals(method)) {
+            sendReport(ex, job.get());
+        } else {
+            sendJson(ex, 404, error("Unknown resource: " + ex.getRequestURI().getPath()));
+        }
+    }
+
+    private void submit(HttpExchange ex) throws IOException {
+        Config cfg;
+        try (InputStream in = ex.getRequestBody()) {
+            cfg = MAPPER.readValue(in, Config.class);
+        } catch (Exception e) {
+            sendJson(ex, 400, error("Invalid job JSON: " + e.getMessage()));
+            return;
+        }
+        try {
+            CloneJob job = jobs.submit(cfg);
+            ex.getResponseHeaders().set("Location", "/jobs/" + job.getId());
+            sendJson(ex, 202, job.summary());
+        } catch (ConfigValidationException e) {
+            Map<String, Object> body = error("Configuration validation failed");
+            body.put("errors", e.getErrors());
+            sendJson(ex, 400, body);
+        }
+    }
+
+    private void sendReport(HttpExchange ex, CloneJob job) throws IOException {
+        Map<String, Object> report = reportService.buildReport(job.getConfig(), job.snapshotEntries(),
+                job.getStatistics(), null);
+        report.put("jobId", job.getId());
+        report.put("status", job.getStatus().label());
+        ex.getResponseHeaders().set("Content-Type", "application/json");
+        ex.sendResponseHeaders(200, 0); // chunked: отчёт пишется потоком
+        try (OutputStream os = ex.getResponseBody()) {
+            reportService.write(os, report);
+        }
+    }
+
+    private static Map<String, Object> error(String message) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("error", message);
+        return m;
+    }
+
+    private static void sendJson(HttpExchange ex, int status, Object body) throws IOException {
+        byte[] bytes = MAPPER.writeValueAsBytes(body);
+        ex.getResponseHeaders().set("Content-Type", "application/json");
+        ex.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = ex.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+}
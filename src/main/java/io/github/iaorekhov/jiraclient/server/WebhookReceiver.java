@@ -0,0 +1,267 @@
+package io.github.iaorekhov.jiraclient.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.dto.JiraIssue;
+import io.github.iaorekhov.jiraclient.dto.ReportEntry;
+import io.github.iaorekhov.jiraclient.service.JiraCloningService;
+
+/**
+ * Режим webhook: локальный HTTP-приёмник событий Jira
+ * {@code jira:issue_created} / {@code jira:issue_updated}.
+ * <p>
+ * Из события берётся задача, и если её Epic Link равен operation.sourceEpicKey
+ * (а тип — operation.issueTypeName), она ставится в ограниченную очередь на
+ * клонирование. Ответы: 202 — принято, 200 — событие не подходит или уже
+ * обработано, 503 — очередь заполнена (Jira повторит доставку).
+ * <p>
+ * Задача, у которой уже есть клон (в хранилище соответствий или по связи
+ * linkToOriginal в самом событии), не клонируется повторно — в том числе
+ * после перезапуска. Повторы доставки события, пришедшие до завершения
+ * клонирования, отсекаются по ключу (последние webhook.dedupCapacity ключей);
+ * ключ задачи, клонирование которой не удалось, из этого списка удаляется.
+ */
+public class WebhookReceiver implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookReceiver.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectReader PAYLOAD_READER = MAPPER.readerFor(new TypeReference<Map<String, Object>>() {
+    });
+
+    private static final Set<String> ISSUE_EVENTS = Set.of("jira:issue_created", "jira:issue_updated");
+
+    private final Config config;
+    private final Config.Webhook settings;
+    private final JiraCloningService cloningService;
+    private final String epicLinkFieldId;
+    private final HttpServer server;
+    private final ExecutorService handlers;
+    private final ThreadPoolExecutor workers;
+    private final Map<String, Boolean> recentKeys;
+    private final List<ReportEntry> entries = Collections.synchronizedList(new ArrayList<>());
+
+    public WebhookReceiver(Config config, JiraCloningService cloningService) throws IOException {
+        this.config = config;
+        this.settings = config.webhook != null ? config.webhook : new Config.Webhook();
+        this.cloningService = cloningService;
+        // Поле Epic Link нужно для фильтрации событий — запрашиваем до открытия порта
+        this.epicLinkFieldId = cloningService.getEpicLinkFieldId();
+
+        int dedupCapacity = settings.dedupCapacity;
+        this.recentKeys = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > dedupCapacity;
+            }
+        });
+
+        AtomicInteger n = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(settings.workers, settings.workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(settings.queueCapacity), r -> {
+                    Thread t = new Thread(r, "webhook-clone-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+
+        String host = settings.bindAddress == null || settings.bindAddress.isBlank() ? "127.0.0.1" : settings.bindAddress;
+        this.server = HttpServer.create(new InetSocketAddress(host, settings.port), 0);
+        this.handlers = Executors.newFixedThreadPool(2, r -> {
+            Thread t = new Thread(r, "webhook-http");
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(handlers);
+        server.createContext(settings.path, this::handle);
+    }
+
+    public void start() {
+        server.start();
+        log.info("Webhook receiver listening on http://{}:{}{} (epic {}, field {})",
+                server.getAddress().getHostString(), server.getAddress().getPort(), settings.path,
+                config.operation.sourceEpicKey, epicLinkFieldId);
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Записи отчёта по задачам, обработанным на данный момент
+     */
+    public List<ReportEntry> snapshotEntries() {
+        synchronized (entries) {
+            return new ArrayList<>(entries);
+        }
+    }
+
+    /**
+     * Задач в очереди на клонирование
+     */
+    public int queued() {
+        return workers.getQueue().size();
+    }
+
+    /**
+     * Останавливает приём событий и дожидается клонирования уже принятых задач
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        handlers.shutdownNow();
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(60, TimeUnit.SECONDS)) {
+                log.warn("Webhook queue not drained in 60s, {} issue(s) dropped", workers.shutdownNow().size());
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handle(HttpExchange ex) throws IOException {
+        try (ex) {
+            if (!"POST".equals(ex.getRequestMethod())) {
+                sendJson(ex, 405, result("error", "Method not allowed: " + ex.getRequestMethod()));
+                return;
+            }
+            if (settings.secret != null && !settings.secret.isBlank()
+                    && !settings.secret.equals(queryParam(ex.getRequestURI().getRawQuery(), "secret"))) {
+                sendJson(ex, 403, result("error", "Invalid secret"));
+                return;
+            }
+
+            Map<String, Object> payload;
+            try (InputStream in = ex.getRequestBody()) {
+                payload = PAYLOAD_READER.readValue(in);
+            } catch (Exception e) {
+                sendJson(ex, 400, result("error", "Invalid webhook JSON: " + e.getMessage()));
+                return;
+            }
+
+            Object event = payload.get("webhookEvent");
+            if (event != null && !ISSUE_EVENTS.contains(String.valueOf(event))) {
+                sendJson(ex, 200, result("ignored", "event " + event));
+                return;
+            }
+            Object issueObj = payload.get("issue");
+            @SuppressWarnings("unchecked")
+            JiraIssue issue = issueObj instanceof Map ? JiraIssue.fromMap((Map<String, Object>) issueObj) : null;
+            if (issue == null || issue.getKey() == null) {
+                sendJson(ex, 400, result("error", "Payload has no issue"));
+                return;
+            }
+
+            String reason = mismatch(issue);
+            if (reason != null) {
+                sendJson(ex, 200, result("ignored", issue.getKey() + ": " + reason));
+                return;
+            }
+            String cloneKey = cloningService.existingClone(issue);
+            if (cloneKey != null) {
+                sendJson(ex, 200, result("ignored", issue.getKey() + ": already cloned as " + cloneKey));
+                return;
+            }
+            if (recentKeys.putIfAbsent(issue.getKey(), Boolean.TRUE) != null) {
+                sendJson(ex, 200, result("ignored", issue.getKey() + ": already processed"));
+                return;
+            }
+
+            try {
+                workers.execute(() -> cloneQueued(issue));
+            } catch (RejectedExecutionException e) {
+                recentKeys.remove(issue.getKey());
+                sendJson(ex, 503, result("busy", "Clone queue is full (" + settings.queueCapacity + ")"));
+                return;
+            }
+            log.info("Webhook {} for {} queued", event, issue.getKey());
+            sendJson(ex, 202, result("queued", issue.getKey()));
+        } catch (Exception e) {
+            log.error("Webhook request failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // Причина, по которой задача не подходит, или null
+    private String mismatch(JiraIssue issue) {
+        Object epic = issue.getFields().get(epicLinkFieldId);
+        if (!config.operation.sourceEpicKey.equals(epic)) {
+            return "epic link is " + epic;
+        }
+        String type = issue.getIssueType();
+        if (type != null && !type.equalsIgnoreCase(config.operation.issueTypeName)) {
+            return "issue type is " + type;
+        }
+        return null;
+    }
+
+    private void cloneQueued(JiraIssue issue) {
+        try {
+            ReportEntry entry = cloningService.cloneIssue(issue);
+            entries.add(entry);
+            if ("failed".equals(entry.getStatus())) {
+                recentKeys.remove(issue.getKey()); // повторная доставка события сможет повторить попытку
+            }
+            log.info("Webhook clone {} -> {} ({})", issue.getKey(), entry.getCloneKey(), entry.getStatus());
+        } catch (RuntimeException e) {
+            recentKeys.remove(issue.getKey());
+            log.error("Webhook clone of {} failed: {}", issue.getKey(), e.getMessage(), e);
+        }
+    }
+
+    private static String queryParam(String rawQuery, String name) {
+        if (rawQuery == null) {
+            return null;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0 && name.equals(pair.substring(0, eq))) {
+                return URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, Object> result(String status, String detail) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("status", status);
+        m.put("detail", detail);
+        return m;
+    }
+
+    private static void sendJson(HttpExchange ex, int status, Object body) throws IOException {
+        byte[] bytes = MAPPER.writeValueAsBytes(body);
+        ex.getResponseHeaders().set("Content-Type", "application/json");
+        ex.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = ex.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.iaorekhov.jiraclient.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Соответствие исходных задач и их клонов (JSON-файл sync.mappingFile):
+ * ключ клона и хэш синхронизируемых полей источника на момент последнего
+ * создания / обновления клона. Потокобезопасно.
+ */
+public class CloneMappingStore {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectWriter WRITER = MAPPER.writerWithDefaultPrettyPrinter();
+
+    /**
+     * Запись для одной исходной задачи
+     */
+    public static class Mapping {
+
+        public String cloneKey;
+        public String hash;     // null — состояние клона неизвестно, обновляется при следующей синхронизации
+        public String syncedAt;
+    }
+
+    private final Path file;
+    private final Map<String, Mapping> mappings;
+    private boolean dirty;
+
+    private CloneMappingStore(Path file, Map<String, Mapping> mappings) {
+        this.file = file;
+        this.mappings = mappings;
+    }
+
+    /**
+     * Чтение из файла; если файла нет — пустое хранилище
+     */
+    public static CloneMappingStore load(Path file) {
+        File f = file.toFile();
+        if (!f.exists()) {
+            return new CloneMappingStore(file, new TreeMap<>());
+        }
+        try {
+            Map<String, Mapping> loaded = MAPPER.readValue(f, new TypeReference<TreeMap<String, Mapping>>() {
+            });
+            return new CloneMappingStore(file, loaded);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read clone mapping " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    public synchronized Mapping get(String sourceKey) {
+        return mappings.get(sourceKey);
+    }
+
+    public synchronized void put(String sourceKey, String cloneKey, String hash) {
+        Mapping m = new Mapping();
+        m.cloneKey = cloneKey;
+        m.hash = hash;
+        m.syncedAt = OffsetDateTime.now().toString();
+        mappings.put(sourceKey, m);
+        dirty = true;
+    }
+
+    public synchronized int size() {
+        return mappings.size();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Запись в файл (через временный файл), если что-то изменилось
+     */
+    public synchronized void save() {
+        if (!dirty) {
+            return;
+        }
+        try {
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            WRITER.writeValue(tmp.toFile(), mappings);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to save clone mapping " + file + ": " + e.getMessage(), e);
+        }
+    }
+}
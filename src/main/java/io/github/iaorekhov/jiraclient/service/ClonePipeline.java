@@ -0,0 +1,334 @@
+package io.github.iaorekhov.jiraclient.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import io.github.iaorekhov.jiraclient.Deadline;
+import io.github.iaorekhov.jiraclient.FairRequestScheduler;
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.dto.JiraIssue;
+import io.github.iaorekhov.jiraclient.dto.ReportEntry;
+import io.github.iaorekhov.jiraclient.metrics.ClonePhaseEvent;
+
+/**
+ * Конвейер клонирования эпика из трёх этапов:
+ * <ol>
+ * <li>поиск — страницы по pipeline.pageSize задач (в вызывающем потоке)
+ * или другой источник страниц (см. {@link Source});</li>
+ * <li>создание клонов — pipeline.createWorkers потоков; при pipeline.bulkSize &gt; 1
+ * задачи, уже ждущие в очереди, создаются пачкой одним запросом;</li>
+ * <li>связи Cloners и remote link — pipeline.linkWorkers потоков.</li>
+ * </ol>
+ * Этапы соединены очередями ёмкостью pipeline.queueCapacity: когда очередь
+ * заполнена, предыдущий этап ждёт, поэтому в памяти одновременно находится
+ * не больше пары страниц исходных задач, а создание начинается, пока
+ * остальные страницы ещё загружаются.
+ * <p>
+ * Потоки конвейера выполняют запросы от имени задачи вызывающего потока
+ * (FairRequestScheduler) и с его сроком прогона (Deadline); связям уже
+ * созданных клонов даётся ещё deadlines.drainSeconds. После отмены
+ * поиск останавливается, а задачи, уже стоящие в очереди, получают статус
+ * cancelled; начатые создания и связи доделываются. Ошибка поиска после
+ * остановки (отмена, истёкший срок прогона) — тоже остановка: отчёт по уже
+ * найденным задачам возвращается. Если вызывающий поток прерван, прогон
+ * отменяется, а начатое ждём не дольше deadlines.drainSeconds; что не успело
+ * завершиться, попадает в отчёт со статусом cancelled. Записи отчёта
+ * возвращаются в порядке поиска.
+ */
+final class ClonePipeline {
+
+    /**
+     * Источник исходных задач: передаёт страницы в {@code pageConsumer},
+     * пока тот возвращает true
+     *
+     * @return число полученных задач
+     */
+    interface Source {
+        int pages(Predicate<List<JiraIssue>> pageConsumer);
+    }
+
+    private record Item(int seq, JiraIssue issue, ReportEntry entry, Deadline deadline) {
+    }
+
+    // Маркер конца очереди: по одному на каждый поток этапа
+    private static final Item END = new Item(-1, null, null, null);
+
+    private final JiraCloningService service;
+    private final Config.Pipeline settings;
+    private final String epicKey;
+
+    private final ConcurrentSkipListMap<Integer, ReportEntry> done = new ConcurrentSkipListMap<>();
+    // Задачи, переданные этапам и ещё не завершённые (номер → текущий этап задачи)
+    private final ConcurrentHashMap<Integer, Item> pending = new ConcurrentHashMap<>();
+
+    // Вызывающий поток прерван: потоки этапов ждём только до drainUntil (System.nanoTime)
+    private boolean draining;
+    private long drainUntil;
+
+    ClonePipeline(JiraCloningService service, Config.Pipeline settings, String epicKey) {
+        this.service = service;
+        this.settings = settings != null ? settings : new Config.Pipeline();
+        this.epicKey = epicKey;
+    }
+
+    List<ReportEntry> run(Source source) {
+        BlockingQueue<Item> toCreate = new ArrayBlockingQueue<>(settings.queueCapacity);
+        BlockingQueue<Item> toLink = new ArrayBlockingQueue<>(settings.queueCapacity);
+        FairRequestScheduler.JobShare job = FairRequestScheduler.current();
+        Deadline runDeadline = Deadline.current();
+
+        List<Thread> creators = start("clone-create-", settings.createWorkers, job, runDeadline, () -> createLoop(toCreate, toLink));
+        // Связям созданных клонов — запас deadlines.drainSeconds после срока прогона
+        List<Thread> linkers = start("clone-link-", settings.linkWorkers, job, service.drainDeadline(), () -> linkLoop(toLink));
+
+        AtomicInteger seq = new AtomicInteger();
+        ClonePhaseEvent phase = ClonePhaseEvent.start("search", epicKey);
+        RuntimeException searchFailure = null;
+        try {
+            int found = source.pages(page -> {
+                for (JiraIssue issue : page) {
+                    Item item = new Item(seq.getAndIncrement(), issue, null, null);
+                    pending.put(item.seq(), item);
+                    put(toCreate, item);
+                }
+                // После отмены следующие страницы не запрашиваем
+                return !service.isCancelled();
+            });
+            phase.finish(null, true, found + " issues");
+            System.out.println("[Pipeline] search done: " + found + " issue(s)");
+        } catch (RuntimeException e) {
+            phase.finish(null, false, e.getMessage());
+            if (service.stoppedBy(e) || Thread.currentThread().isInterrupted()) {
+                // Запрос страницы оборвала остановка прогона — отчёт по найденному не теряем
+                System.out.println("[Pipeline] search stopped: " + e.getMessage());
+            } else {
+                searchFailure = e;
+            }
+        } finally {
+            // Уже найденные задачи дорабатываются до конца
+            finish(toCreate, creators);
+            finish(toLink, linkers);
+        }
+        if (searchFailure != null) {
+            throw searchFailure;
+        }
+        if (draining) {
+            abandonPending(creators, linkers);
+            Thread.currentThread().interrupt();
+        }
+        return new ArrayList<>(done.values());
+    }
+
+    @SuppressWarnings("try")
+    private void createLoop(BlockingQueue<Item> toCreate, BlockingQueue<Item> toLink) {
+        List<Item> batch = new ArrayList<>(settings.bulkSize);
+        while (true) {
+            Item first = take(toCreate);
+            if (first == END) {
+                return;
+            }
+            // Пачка — то, что уже ждёт в очереди (не больше bulkSize): создание не ждёт наполнения
+            batch.clear();
+            batch.add(first);
+            toCreate.drainTo(batch, settings.bulkSize - 1);
+            int ends = 0;
+            for (int i = batch.size() - 1; i >= 0; i--) {
+                if (batch.get(i) == END) {
+                    batch.remove(i);
+                    ends++;
+                }
+            }
+
+            List<JiraIssue> issues = new ArrayList<>(batch.size());
+            for (Item item : batch) {
+                issues.add(item.issue());
+            }
+            List<Deadline> deadlines = new ArrayList<>(batch.size());
+            for (Item item : batch) {
+                deadlines.add(service.issueDeadline(item.issue().getKey()));
+            }
+            List<ReportEntry> entries;
+            try (Deadline.Scope scope = Deadline.enter(deadlines.get(0))) {
+                entries = service.createClones(issues);
+            } catch (RuntimeException e) {
+                entries = new ArrayList<>(batch.size());
+                for (Item item : batch) {
+                    entries.add(failed(item.issue(), e));
+                }
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                Item item = batch.get(i);
+                ReportEntry entry = entries.get(i);
+                if ("created".equals(entry.getStatus())) {
+                    Item linkItem = new Item(item.seq(), item.issue(), entry, deadlines.get(i));
+                    pending.put(item.seq(), linkItem);
+                    put(toLink, linkItem);
+                } else {
+                    complete(item.seq(), item.issue(), entry);
+                }
+            }
+
+            // Забранные маркеры конца других потоков возвращаем в очередь
+            if (ends > 0) {
+                for (int i = 1; i < ends; i++) {
+                    put(toCreate, END);
+                }
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings("try")
+    private void linkLoop(BlockingQueue<Item> toLink) {
+        while (true) {
+            Item item = take(toLink);
+            if (item == END) {
+                return;
+            }
+            try (Deadline.Scope scope = Deadline.enter(item.deadline())) {
+                service.addIssueLinks(item.issue().getKey(), item.entry().getCloneKey(), item.entry());
+            } catch (RuntimeException e) {
+                item.entry().addWarning("links not added: " + e.getMessage());
+            }
+            complete(item.seq(), item.issue(), item.entry());
+        }
+    }
+
+    // Ошибка учёта (хранилище соответствий, слушатель) не должна остановить поток этапа:
+    // его маркер конца остался бы в очереди, а поиск ждал бы места в ней бесконечно
+    private void complete(int seq, JiraIssue issue, ReportEntry entry) {
+        try {
+            entry = service.complete(issue, entry);
+        } catch (RuntimeException e) {
+            entry.addWarning("not recorded: " + e.getMessage());
+        }
+        done.put(seq, entry);
+        pending.remove(seq);
+    }
+
+    // Потоки этапов не завершились за drain-срок: их задачи попадают в отчёт
+    // (созданный клон — с предупреждением, несозданный — со статусом cancelled)
+    private void abandonPending(List<Thread> creators, List<Thread> linkers) {
+        creators.forEach(Thread::interrupt);
+        linkers.forEach(Thread::interrupt);
+        String reason = "interrupted: not finished in " + service.drainTimeout().toSeconds() + "s";
+        for (Item item : pending.values()) {
+            if (done.containsKey(item.seq())) {
+                continue;
+            }
+            ReportEntry entry = item.entry();
+            if (entry != null) {
+                entry.addWarning("links not added: " + reason);
+            } else {
+                entry = new ReportEntry(item.issue().getKey(), item.issue().getSummary(), null);
+                entry.setStatus("cancelled");
+                entry.setError(reason);
+            }
+            complete(item.seq(), item.issue(), entry);
+        }
+    }
+
+    private static ReportEntry failed(JiraIssue issue, RuntimeException e) {
+        ReportEntry entry = new ReportEntry(issue.getKey(), issue.getSummary(), null);
+        entry.setStatus("failed");
+        entry.setError(e.getMessage());
+        return entry;
+    }
+
+    @SuppressWarnings("try")
+    private static List<Thread> start(String prefix, int count, FairRequestScheduler.JobShare job,
+            Deadline runDeadline, Runnable loop) {
+        List<Thread> threads = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Thread t = new Thread(() -> {
+                try (Deadline.Scope deadline = Deadline.enter(runDeadline)) {
+                    if (job == null) {
+                        loop.run();
+                        return;
+                    }
+                    try (FairRequestScheduler.Scope scope = FairRequestScheduler.enter(job)) {
+                        loop.run();
+                    }
+                }
+            }, prefix + i);
+            t.setDaemon(true);
+            t.start();
+            threads.add(t);
+        }
+        return threads;
+    }
+
+    // Отправляет маркеры конца и дожидается потоков этапа; после прерывания
+    // вызывающего потока — не дольше drain-срока
+    private void finish(BlockingQueue<Item> queue, List<Thread> threads) {
+        if (Thread.interrupted()) {
+            startDraining();
+        }
+        int ends = 0;
+        while (ends < threads.size()) {
+            try {
+                if (!draining) {
+                    queue.put(END);
+                } else if (!queue.offer(END, drainRemaining(), TimeUnit.NANOSECONDS)) {
+                    return;
+                }
+                ends++;
+            } catch (InterruptedException e) {
+                startDraining();
+            }
+        }
+        for (Thread t : threads) {
+            while (t.isAlive()) {
+                try {
+                    if (!draining) {
+                        t.join();
+                    } else if (drainRemaining() > 0) {
+                        TimeUnit.NANOSECONDS.timedJoin(t, drainRemaining());
+                    } else {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    startDraining();
+                }
+            }
+        }
+    }
+
+    // Прерывание (например, shutdown hook): новые клоны не создаются, начатое ждём deadlines.drainSeconds
+    private void startDraining() {
+        if (!draining) {
+            draining = true;
+            drainUntil = System.nanoTime() + service.drainTimeout().toNanos();
+            service.cancel("interrupted");
+        }
+    }
+
+    private long drainRemaining() {
+        return drainUntil - System.nanoTime();
+    }
+
+    private static void put(BlockingQueue<Item> queue, Item item) {
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while queueing " + (item.issue() != null ? item.issue().getKey() : "end marker"), e);
+        }
+    }
+
+    private static Item take(BlockingQueue<Item> queue) {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return END;
+        }
+    }
+}
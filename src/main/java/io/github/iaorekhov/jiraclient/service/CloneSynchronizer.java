@@ -0,0 +1,129 @@
+package io.github.iaorekhov.jiraclient.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.github.iaorekhov.jiraclient.JiraClient;
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.dto.JiraIssue;
+import io.github.iaorekhov.jiraclient.dto.ReportEntry;
+import io.github.iaorekhov.jiraclient.metrics.ClonePhaseEvent;
+
+/**
+ * Режим sync: перенос изменений summary / components / priority исходных
+ * задач на уже созданные клоны.
+ * <p>
+ * Все исходные задачи читаются одним постраничным поиском; для каждой
+ * считается хэш синхронизируемых полей и сравнивается с сохранённым в
+ * CloneMappingStore. Запрос на обновление уходит только для клонов, чей
+ * источник изменился. Клон, которого нет в хранилище (создан до его
+ * появления), находится по связи linkToOriginal из того же поиска и
+ * обновляется один раз, после чего попадает в хранилище.
+ */
+public class CloneSynchronizer {
+
+    private static final List<String> SYNC_SEARCH_FIELDS = List.of("summary", "components", "priority", "project", "issuelinks");
+
+    private final Config config;
+    private final JiraClient jiraClient;
+    private final JiraCloningService cloningService;
+    private final CloneMappingStore mappingStore;
+
+    private long unchanged;
+    private long examined;
+
+    public CloneSynchronizer(Config config, JiraClient jiraClient, JiraCloningService cloningService,
+            CloneMappingStore mappingStore) {
+        this.config = config;
+        this.jiraClient = jiraClient;
+        this.cloningService = cloningService;
+        this.mappingStore = mappingStore;
+    }
+
+    /**
+     * Синхронизация всех задач исходного эпика
+     *
+     * @return записи отчёта по обновлённым (planned в dry-run), ненайденным и неудачным клонам;
+     * неизменившиеся учитываются только в статистике
+     */
+    public List<ReportEntry> sync() {
+        List<JiraIssue> sources = cloningService.searchAll(cloningService.orderedSourceJql(), SYNC_SEARCH_FIELDS);
+        System.out.println("[Sync] " + sources.size() + " source issue(s), " + mappingStore.size() + " known clone(s)");
+
+        List<ReportEntry> entries = new ArrayList<>();
+        examined = sources.size();
+        unchanged = 0;
+        try {
+            for (JiraIssue source : sources) {
+                ReportEntry entry = syncOne(source);
+                if (entry != null) {
+                    entries.add(entry);
+                } else {
+                    unchanged++;
+                }
+            }
+        } finally {
+            if (!config.operation.dryRun) {
+                mappingStore.save();
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Статистика последней синхронизации
+     */
+    public Map<String, Object> getStatistics(List<ReportEntry> results) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("total", examined);
+        stats.put("unchanged", unchanged);
+        stats.put("updated", results.stream().filter(r -> "updated".equals(r.getStatus())).count());
+        stats.put("planned", results.stream().filter(r -> "planned".equals(r.getStatus())).count());
+        stats.put("unmapped", results.stream().filter(r -> "unmapped".equals(r.getStatus())).count());
+        stats.put("failed", results.stream().filter(r -> "failed".equals(r.getStatus())).count());
+        stats.put("dryRun", config.operation.dryRun);
+        return stats;
+    }
+
+    // null — клон уже в актуальном состоянии
+    private ReportEntry syncOne(JiraIssue source) {
+        String hash = cloningService.syncHash(source);
+        CloneMappingStore.Mapping known = mappingStore.get(source.getKey());
+        if (known != null && hash.equals(known.hash)) {
+            return null;
+        }
+
+        ReportEntry entry = new ReportEntry(source.getKey(), source.getSummary(), null);
+        Map<String, Object> fields = cloningService.buildSyncFields(source, entry);
+        entry.setCloneSummary(String.valueOf(fields.get("summary")));
+        String cloneKey = known != null ? known.cloneKey : cloningService.linkedClone(source);
+        if (cloneKey == null) {
+            entry.setStatus("unmapped");
+            entry.addWarning("clone not found in " + mappingStore.getFile() + " nor via '"
+                    + config.operation.linkToOriginal.typeName + "' link");
+            return entry;
+        }
+        entry.setCloneKey(cloneKey);
+
+        if (config.operation.dryRun) {
+            entry.setStatus("planned");
+            return entry;
+        }
+
+        ClonePhaseEvent phase = ClonePhaseEvent.start("update", source.getKey());
+        try {
+            jiraClient.updateIssue(cloneKey, fields);
+            mappingStore.put(source.getKey(), cloneKey, hash);
+            phase.finish(cloneKey, true);
+            System.out.println("[Sync] updated " + cloneKey + " from " + source.getKey());
+            entry.setStatus("updated");
+        } catch (Exception e) {
+            phase.finish(cloneKey, false, e.getMessage());
+            entry.setStatus("failed");
+            entry.setError(e.getMessage());
+        }
+        return entry;
+    }
+}
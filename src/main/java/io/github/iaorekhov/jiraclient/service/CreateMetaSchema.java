@@ -0,0 +1,129 @@
+package io.github.iaorekhov.jiraclient.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Схема экрана создания для пары проект + тип задачи из /issue/createmeta.
+ * Запрашивается один раз, дальше поля запросов создания проверяются
+ * локально (потокобезопасно):
+ * <ul>
+ * <li>обязательные поля без значения по умолчанию заполнены;</li>
+ * <li>нет полей, которых нет на экране создания (Jira отвечает 400);</li>
+ * <li>значения из списка (компоненты, приоритет, ...) есть в allowedValues.</li>
+ * </ul>
+ */
+final class CreateMetaSchema {
+
+    private record Field(String name, boolean required, Set<String> allowed) {
+    }
+
+    private final String projectKey;
+    private final String issueTypeName;
+    private final Map<String, Field> fields;
+
+    private CreateMetaSchema(String projectKey, String issueTypeName, Map<String, Field> fields) {
+        this.projectKey = projectKey;
+        this.issueTypeName = issueTypeName;
+        this.fields = fields;
+    }
+
+    /**
+     * Разбор ответа createmeta; тип задачи, которого нет в проекте, — ошибка preflight
+     */
+    @SuppressWarnings("unchecked")
+    static CreateMetaSchema parse(Map<String, Object> createMeta, String projectKey, String issueTypeName) {
+        for (Map<String, Object> project : list(createMeta.get("projects"))) {
+            if (!projectKey.equals(project.get("key"))) {
+                continue;
+            }
+            for (Map<String, Object> type : list(project.get("issuetypes"))) {
+                if (!issueTypeName.equalsIgnoreCase(String.valueOf(type.get("name")))) {
+                    continue;
+                }
+                Map<String, Field> fields = new HashMap<>();
+                Object raw = type.get("fields");
+                if (raw instanceof Map<?, ?> m) {
+                    ((Map<String, Object>) m).forEach((id, f) -> fields.put(id, field((Map<String, Object>) f)));
+                }
+                return new CreateMetaSchema(projectKey, issueTypeName, fields);
+            }
+            throw new PreflightException(List.of("issue type '" + issueTypeName + "' cannot be created in project " + projectKey));
+        }
+        throw new PreflightException(List.of("project " + projectKey + " not found or no permission to create issues"));
+    }
+
+    /**
+     * Ошибки в полях одного запроса создания; пустой список — запрос корректен
+     */
+    List<String> validate(Map<String, Object> payload) {
+        List<String> errors = new ArrayList<>();
+        fields.forEach((id, f) -> {
+            if (f.required() && !payload.containsKey(id)) {
+                errors.add("required field '" + f.name() + "' (" + id + ") is missing");
+            }
+        });
+        payload.forEach((id, value) -> {
+            Field f = fields.get(id);
+            if (f == null) {
+                errors.add("field '" + id + "' is not on the create screen of " + issueTypeName + " in " + projectKey);
+                return;
+            }
+            if (f.allowed() == null) {
+                return;
+            }
+            for (Object v : value instanceof List<?> values ? values : List.of(value)) {
+                String ref = ref(v);
+                if (ref != null && !f.allowed().contains(ref)) {
+                    errors.add(f.name() + ": '" + ref + "' is not allowed in " + projectKey);
+                }
+            }
+        });
+        return errors;
+    }
+
+    private static Field field(Map<String, Object> f) {
+        boolean required = Boolean.TRUE.equals(f.get("required")) && !Boolean.TRUE.equals(f.get("hasDefaultValue"));
+        Set<String> allowed = null;
+        if (f.get("allowedValues") instanceof List<?> values) {
+            allowed = new HashSet<>();
+            for (Object v : values) {
+                if (v instanceof Map<?, ?> m) {
+                    addIfPresent(allowed, m.get("id"));
+                    addIfPresent(allowed, m.get("name"));
+                    addIfPresent(allowed, m.get("key"));
+                    addIfPresent(allowed, m.get("value"));
+                }
+            }
+        }
+        return new Field(String.valueOf(f.getOrDefault("name", "?")), required, allowed);
+    }
+
+    // Ссылка на значение в запросе: {"id": ...} / {"name": ...} / {"key": ...} / {"value": ...}
+    private static String ref(Object v) {
+        if (v instanceof Map<?, ?> m) {
+            for (String k : List.of("id", "name", "key", "value")) {
+                if (m.get(k) != null) {
+                    return String.valueOf(m.get(k));
+                }
+            }
+            return null;
+        }
+        return v != null ? String.valueOf(v) : null;
+    }
+
+    private static void addIfPresent(Set<String> set, Object value) {
+        if (value != null) {
+            set.add(String.valueOf(value));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> list(Object o) {
+        return o instanceof List<?> l ? (List<Map<String, Object>>) l : List.of();
+    }
+}
@@ -0,0 +1,220 @@
+package io.github.iaorekhov.jiraclient.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.dto.JiraIssue;
+import io.github.iaorekhov.jiraclient.dto.ReportEntry;
+
+/**
+ * Режим watch: периодический опрос исходного эпика и клонирование только
+ * задач, появившихся после предыдущего опроса.
+ * <p>
+ * Между опросами хранится отметка (created самой поздней обработанной задачи)
+ * и ключи уже клонированных задач. Каждый опрос — один узкий запрос
+ * {@code 'Epic Link' = X AND created >= "..."}; окно расширяется на
+ * watch.overlapMinutes назад, потому что JQL сравнивает даты с точностью до
+ * минуты, а повторно найденные задачи отсекаются по seenKeys.
+ * Задачи, клонирование которых не удалось, не попадают в seenKeys, а отметка
+ * не уходит дальше них — они будут повторены на следующем опросе.
+ */
+public class EpicWatcher {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectWriter STATE_WRITER = MAPPER.writerWithDefaultPrettyPrinter();
+
+    // Формат поля created в ответах REST API и формат даты в JQL
+    private static final DateTimeFormatter JIRA_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+    private static final DateTimeFormatter JQL_DATE = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm");
+
+    private final Config config;
+    private final JiraCloningService cloningService;
+    private final Path stateFile;
+    private final ZoneId jqlZone;
+    private final List<String> fields;
+
+    private WatchState state;
+
+    public EpicWatcher(Config config, JiraCloningService cloningService) {
+        Config.Watch watch = config.watch != null ? config.watch : new Config.Watch();
+        this.config = config;
+        this.cloningService = cloningService;
+        this.stateFile = Path.of(watch.stateFile != null ? watch.stateFile
+                : "watch-state-" + config.operation.sourceEpicKey + "-" + config.operation.targetEpicKey + ".json");
+        this.jqlZone = watch.timeZone != null ? ZoneId.of(watch.timeZone) : ZoneId.systemDefault();
+
+        List<String> f = new ArrayList<>(List.of(JiraCloningService.DEFAULT_ISSUE_FIELDS.split(",")));
+        f.add("created");
+        this.fields = List.copyOf(f);
+    }
+
+    /**
+     * Опросы с интервалом watch.intervalSeconds до срабатывания {@code stop}.
+     * Ошибка одного опроса не останавливает цикл.
+     *
+     * @param onPoll получает записи отчёта каждого опроса, в котором что-то клонировано
+     */
+    public void run(CountDownLatch stop, Consumer<List<ReportEntry>> onPoll) throws InterruptedException {
+        int intervalSeconds = config.watch != null ? config.watch.intervalSeconds : new Config.Watch().intervalSeconds;
+        do {
+            try {
+                List<ReportEntry> entries = pollOnce();
+                if (!entries.isEmpty()) {
+                    onPoll.accept(entries);
+                }
+            } catch (RuntimeException e) {
+                System.out.println("[Watch] poll failed: " + e.getMessage());
+            }
+        } while (!stop.await(intervalSeconds, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Один опрос: поиск новых задач эпика, клонирование дельты, сохранение состояния
+     *
+     * @return записи отчёта по клонированным в этом опросе задачам
+     */
+    public List<ReportEntry> pollOnce() {
+        if (state == null) {
+            state = loadOrCreateState();
+        }
+
+        String jql = deltaJql();
+        List<JiraIssue> found = cloningService.searchAll(jql, fields);
+        List<JiraIssue> fresh = new ArrayList<>();
+        for (JiraIssue issue : found) {
+            if (!state.getSeenKeys().contains(issue.getKey())) {
+                fresh.add(issue);
+            }
+        }
+        System.out.println("[Watch] " + found.size() + " issue(s) in window, " + fresh.size() + " new");
+
+        List<ReportEntry> entries = fresh.isEmpty() ? List.of() : cloningService.cloneIssues(fresh);
+
+        OffsetDateTime mark = parse(state.getHighWaterMark());
+        OffsetDateTime earliestFailed = null;
+        for (int i = 0; i < fresh.size(); i++) {
+            JiraIssue issue = fresh.get(i);
+            OffsetDateTime created = parse(issue.getCreated());
+            if ("failed".equals(entries.get(i).getStatus())) {
+                if (created != null && (earliestFailed == null || created.isBefore(earliestFailed))) {
+                    earliestFailed = created;
+                }
+                continue;
+            }
+            state.getSeenKeys().add(issue.getKey());
+        }
+        for (JiraIssue issue : found) {
+            OffsetDateTime created = parse(issue.getCreated());
+            if (created != null && (mark == null || created.isAfter(mark))) {
+                mark = created;
+            }
+        }
+        // Не уходим дальше неудачных задач, иначе они выпадут из окна запроса
+        if (earliestFailed != null && mark != null && earliestFailed.isBefore(mark)) {
+            mark = earliestFailed;
+        }
+        state.setHighWaterMark(mark != null ? mark.toString() : null);
+        state.setLastPollAt(OffsetDateTime.now().toString());
+        saveState();
+        return entries;
+    }
+
+    /**
+     * Текущее состояние (для тестов и диагностики)
+     */
+    public WatchState getState() {
+        return state;
+    }
+
+    String deltaJql() {
+        OffsetDateTime mark = parse(state.getHighWaterMark());
+        if (mark == null) {
+            return cloningService.sourceJql() + " ORDER BY created ASC";
+        }
+        int overlap = config.watch != null ? config.watch.overlapMinutes : new Config.Watch().overlapMinutes;
+        String from = mark.minusMinutes(overlap).atZoneSameInstant(jqlZone).format(JQL_DATE);
+        return cloningService.sourceJql() + " AND created >= \"" + from + "\" ORDER BY created ASC";
+    }
+
+    private WatchState loadOrCreateState() {
+        File file = stateFile.toFile();
+        if (file.exists()) {
+            try {
+                WatchState loaded = MAPPER.readValue(file, WatchState.class);
+                if (!config.operation.sourceEpicKey.equals(loaded.getSourceEpicKey())
+                        || !config.operation.targetEpicKey.equals(loaded.getTargetEpicKey())) {
+                    throw new IllegalStateException("Watch state " + stateFile + " belongs to "
+                            + loaded.getSourceEpicKey() + " -> " + loaded.getTargetEpicKey());
+                }
+                System.out.println("[Watch] resumed from " + stateFile + ": mark=" + loaded.getHighWaterMark()
+                        + ", seen=" + loaded.getSeenKeys().size());
+                return loaded;
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read watch state " + stateFile + ": " + e.getMessage(), e);
+            }
+        }
+
+        WatchState created = new WatchState(config.operation.sourceEpicKey, config.operation.targetEpicKey);
+        boolean startFromNow = config.watch == null || config.watch.startFromNow;
+        if (startFromNow) {
+            // Первый запуск: уже существующие задачи считаем обработанными (один полный запрос по ключам)
+            List<JiraIssue> existing = cloningService.searchAll(cloningService.sourceJql() + " ORDER BY created ASC", List.of("created"));
+            OffsetDateTime mark = null;
+            for (JiraIssue issue : existing) {
+                created.getSeenKeys().add(issue.getKey());
+                OffsetDateTime c = parse(issue.getCreated());
+                if (c != null && (mark == null || c.isAfter(mark))) {
+                    mark = c;
+                }
+            }
+            created.setHighWaterMark(mark != null ? mark.toString() : null);
+            System.out.println("[Watch] baseline: " + existing.size() + " existing issue(s) skipped");
+        }
+        return created;
+    }
+
+    private void saveState() {
+        if (config.operation.dryRun) {
+            // dry-run ничего не создаёт — состояние только в памяти, чтобы не помешать реальному запуску
+            return;
+        }
+        try {
+            Path tmp = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+            STATE_WRITER.writeValue(tmp.toFile(), state);
+            Files.move(tmp, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to save watch state " + stateFile + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static OffsetDateTime parse(String timestamp) {
+        if (timestamp == null || timestamp.isBlank()) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(timestamp, JIRA_TIMESTAMP);
+        } catch (DateTimeParseException e) {
+            try {
+                return OffsetDateTime.parse(timestamp); // формат, в котором отметка хранится в файле состояния
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+}
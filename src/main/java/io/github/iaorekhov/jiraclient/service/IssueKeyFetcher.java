@@ -0,0 +1,176 @@
+package io.github.iaorekhov.jiraclient.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import io.github.iaorekhov.jiraclient.JiraClient;
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.dto.JiraIssue;
+
+/**
+ * Задачи из operation.issueKeys / operation.issueKeysFile: ключи делятся на
+ * пачки по {@value #KEYS_PER_SEARCH}, каждая читается одним поиском
+ * {@code key in (...)}, пачки запрашиваются параллельно (pipeline.searchWorkers).
+ * Страницы отдаются в порядке ключей — 300 задач стоят трёх запросов вместо
+ * трёхсот GET /issue/{key}.
+ * <p>
+ * Перенесённую задачу Jira находит и по старому ключу, но возвращает под
+ * новым; ключи, не совпавшие ни с одной задачей пачки, проверяются отдельным
+ * GET /issue/{key} (он следует переносу), чтобы не считать такие задачи
+ * ненайденными.
+ */
+final class IssueKeyFetcher implements ClonePipeline.Source {
+
+    static final int KEYS_PER_SEARCH = 100;
+
+    private static final Pattern ISSUE_KEY = Pattern.compile("[A-Z][A-Z0-9]+-\\d+");
+
+    private final JiraClient jiraClient;
+    private final List<String> keys;
+    private final List<String> fields;
+    private final int workers;
+    private final Set<String> found = ConcurrentHashMap.newKeySet();
+
+    IssueKeyFetcher(JiraClient jiraClient, List<String> keys, List<String> fields, int workers) {
+        this.jiraClient = jiraClient;
+        this.keys = keys;
+        this.fields = fields;
+        this.workers = workers;
+    }
+
+    /**
+     * Ключи из operation.issueKeys и operation.issueKeysFile (по одному или
+     * несколько через пробел / запятую в строке, # — комментарий) без повторов,
+     * в порядке перечисления
+     */
+    static List<String> requestedKeys(Config.Operation operation) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (operation.issueKeys != null) {
+            for (String key : operation.issueKeys) {
+                addKeys(keys, key);
+            }
+        }
+        if (operation.issueKeysFile != null && !operation.issueKeysFile.isBlank()) {
+            try {
+                for (String line : Files.readAllLines(Path.of(operation.issueKeysFile.trim()), StandardCharsets.UTF_8)) {
+                    int comment = line.indexOf('#');
+                    addKeys(keys, comment >= 0 ? line.substring(0, comment) : line);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read issue keys file: " + operation.issueKeysFile, e);
+            }
+        }
+        return new ArrayList<>(keys);
+    }
+
+    private static void addKeys(Set<String> keys, String text) {
+        if (text == null) {
+            return;
+        }
+        for (String key : text.split("[\\s,;]+")) {
+            if (key.isEmpty()) {
+                continue;
+            }
+            String normalized = key.toUpperCase(Locale.ROOT);
+            if (!ISSUE_KEY.matcher(normalized).matches()) {
+                throw new RuntimeException("Invalid issue key: '" + key + "'");
+            }
+            keys.add(normalized);
+        }
+    }
+
+    @Override
+    public int pages(Predicate<List<JiraIssue>> pageConsumer) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i += KEYS_PER_SEARCH) {
+            chunks.add(keys.subList(i, Math.min(keys.size(), i + KEYS_PER_SEARCH)));
+        }
+        int total = 0;
+        try (ParallelReads reads = new ParallelReads(Math.min(workers, chunks.size()), "clone-search-")) {
+            List<Future<List<JiraIssue>>> pending = new ArrayList<>(chunks.size());
+            for (List<String> chunk : chunks) {
+                pending.add(reads.submit(() -> fetch(chunk)));
+            }
+            // Пачки отдаются по порядку: следующая ждёт, пока не обработана предыдущая
+            for (Future<List<JiraIssue>> f : pending) {
+                List<JiraIssue> page = ParallelReads.await(f);
+                total += page.size();
+                if (!page.isEmpty() && !pageConsumer.test(page)) {
+                    break;
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Ключи, для которых задача не найдена (удалена, нет прав)
+     */
+    List<String> missingKeys() {
+        List<String> missing = new ArrayList<>();
+        for (String key : keys) {
+            if (!found.contains(key)) {
+                missing.add(key);
+            }
+        }
+        return missing;
+    }
+
+    private List<JiraIssue> fetch(List<String> chunk) {
+        List<Map<String, Object>> raw;
+        try {
+            raw = jiraClient.searchByKeys(chunk, fields);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to fetch issues by keys " + chunk.get(0) + ".." + chunk.get(chunk.size() - 1), e);
+        }
+        Map<String, Integer> order = new HashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            order.put(chunk.get(i), i);
+        }
+        List<JiraIssue> issues = new ArrayList<>(raw.size());
+        Set<String> returned = new HashSet<>();
+        for (Map<String, Object> m : raw) {
+            JiraIssue issue = JiraIssue.fromMap(m);
+            found.add(issue.getKey());
+            returned.add(issue.getKey());
+            issues.add(issue);
+        }
+        // Перенесённые задачи: старый ключ найден, если текущий ключ задачи есть в ответе
+        for (String key : chunk) {
+            if (returned.contains(key)) {
+                continue;
+            }
+            String current = currentKey(key);
+            if (current != null && returned.contains(current)) {
+                found.add(key);
+                order.putIfAbsent(current, order.get(key));
+            }
+        }
+        issues.sort(Comparator.comparingInt(i -> order.getOrDefault(i.getKey(), Integer.MAX_VALUE)));
+        return issues;
+    }
+
+    // Текущий ключ задачи (GET /issue следует переносу); null — задачи нет или она не видна
+    private String currentKey(String key) {
+        try {
+            return JiraIssue.fromMap(jiraClient.getIssue(key, "summary")).getKey();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
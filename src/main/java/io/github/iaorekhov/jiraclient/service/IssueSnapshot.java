@@ -0,0 +1,234 @@
+package io.github.iaorekhov.jiraclient.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import io.github.iaorekhov.jiraclient.dto.JiraIssue;
+
+/**
+ * Снимок исходных задач в локальном файле: NDJSON (по строке на объект),
+ * по умолчанию сжатый gzip.
+ * <pre>
+ * {"snapshot":{"format":1,"source":"PRJ-1","jql":"...","fields":[...],"baseUrl":"...","epicLinkField":"...","target":{...},"exportedAt":"..."}}
+ * {"key":"PRJ-10","fields":{...}}
+ * ...
+ * {"end":{"issues":1234}}
+ * </pre>
+ * Запись и чтение потоковые: в памяти одна строка (при чтении — одна
+ * страница). Файл пишется во временный и переименовывается после
+ * завершающей строки, поэтому оборванный экспорт не оставляет снимка, а
+ * снимок без строки "end" считается повреждённым. Сжатие при чтении
+ * определяется по содержимому — подходит и обычный NDJSON.
+ */
+public final class IssueSnapshot {
+
+    public static final int FORMAT = 1;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectWriter WRITER = MAPPER.writer();
+    private static final ObjectReader LINE_READER = MAPPER.readerFor(new TypeReference<Map<String, Object>>() {
+    });
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private IssueSnapshot() {
+    }
+
+    /**
+     * Новый снимок: заголовок пишется сразу, задачи — через {@link Writer#write}
+     */
+    public static Writer create(Path file, Map<String, Object> header, boolean compress) {
+        return new Writer(file, header, compress);
+    }
+
+    /**
+     * Заголовок снимка (первая строка файла)
+     */
+    public static Map<String, Object> header(Path file) {
+        try (BufferedReader in = open(file)) {
+            return readHeader(in);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read snapshot " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Задачи снимка страницами по {@code pageSize} — источник для конвейера клонирования
+     */
+    static ClonePipeline.Source source(Path file, int pageSize) {
+        return consumer -> read(file, pageSize, consumer);
+    }
+
+    /**
+     * Чтение задач страницами по {@code pageSize}, пока {@code pageConsumer}
+     * возвращает true
+     *
+     * @return число прочитанных задач
+     */
+    public static int read(Path file, int pageSize, Predicate<List<JiraIssue>> pageConsumer) {
+        int count = 0;
+        try (BufferedReader in = open(file)) {
+            readHeader(in);
+            List<JiraIssue> page = new ArrayList<>(pageSize);
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Map<String, Object> record = LINE_READER.readValue(line);
+                if (record.get("end") instanceof Map<?, ?> end) {
+                    Object expected = end.get("issues");
+                    if (!(expected instanceof Number n) || n.intValue() != count + page.size()) {
+                        throw new IOException("issue count mismatch: end record says " + expected
+                                + ", read " + (count + page.size()));
+                    }
+                    if (!page.isEmpty()) {
+                        count += page.size();
+                        pageConsumer.test(page);
+                    }
+                    return count;
+                }
+                page.add(JiraIssue.fromMap(record));
+                if (page.size() >= pageSize) {
+                    count += page.size();
+                    if (!pageConsumer.test(page)) {
+                        return count;
+                    }
+                    page = new ArrayList<>(pageSize);
+                }
+            }
+            throw new IOException("snapshot is truncated (no end record)");
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read snapshot " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static Map<String, Object> readHeader(BufferedReader in) throws IOException {
+        String first = in.readLine();
+        Map<String, Object> record = first != null ? LINE_READER.readValue(first) : Map.of();
+        if (!(record.get("snapshot") instanceof Map<?, ?> header)) {
+            throw new IOException("not a snapshot file (missing header)");
+        }
+        if (!(header.get("format") instanceof Number format) || format.intValue() > FORMAT) {
+            throw new IOException("unsupported snapshot format: " + header.get("format"));
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> result = (Map<String, Object>) header;
+        return result;
+    }
+
+    private static BufferedReader open(Path file) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+        in.mark(2);
+        boolean gzip = in.read() == 0x1f && in.read() == 0x8b;
+        in.reset();
+        if (gzip) {
+            in = new GZIPInputStream(in, BUFFER_SIZE);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * Потоковая запись снимка. Не потокобезопасен: задачи пишутся из одного потока.
+     */
+    public static final class Writer implements AutoCloseable {
+
+        private final Path file;
+        private final Path tmp;
+        private final OutputStream out;
+        private int count;
+        private boolean finished;
+
+        private Writer(Path file, Map<String, Object> header, boolean compress) {
+            this.file = file;
+            this.tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            try {
+                OutputStream os = Files.newOutputStream(tmp);
+                this.out = compress
+                        ? new GZIPOutputStream(os, BUFFER_SIZE)
+                        : new BufferedOutputStream(os, BUFFER_SIZE);
+                Map<String, Object> h = new LinkedHashMap<>();
+                h.put("format", FORMAT);
+                h.putAll(header);
+                line(Map.of("snapshot", h));
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to create snapshot " + file + ": " + e.getMessage(), e);
+            }
+        }
+
+        public void write(JiraIssue issue) {
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("key", issue.getKey());
+            record.put("fields", issue.getFields());
+            try {
+                line(record);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to write snapshot " + file + ": " + e.getMessage(), e);
+            }
+            count++;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        /**
+         * Завершающая строка и переименование временного файла в {@code file}
+         */
+        public void finish() {
+            try {
+                line(Map.of("end", Map.of("issues", count)));
+                out.close();
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                finished = true;
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to save snapshot " + file + ": " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * Без {@link #finish()} — временный файл удаляется
+         */
+        @Override
+        public void close() {
+            if (finished) {
+                return;
+            }
+            try {
+                out.close();
+            } catch (IOException e) {
+                // файл всё равно удаляется
+            }
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException e) {
+                // остаётся *.tmp — не снимок
+            }
+        }
+
+        private void line(Object value) throws IOException {
+            out.write(WRITER.writeValueAsBytes(value));
+            out.write('\n');
+        }
+    }
+}
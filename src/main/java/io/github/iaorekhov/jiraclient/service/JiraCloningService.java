@@ -1,16 +1,35 @@
 package io.github.iaorekhov.jiraclient.service;
 
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import io.github.iaorekhov.jiraclient.Deadline;
+import io.github.iaorekhov.jiraclient.DeadlineExceededException;
 import io.github.iaorekhov.jiraclient.JiraClient;
 import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.config.ConfigValidator;
 import io.github.iaorekhov.jiraclient.dto.JiraIssue;
 import io.github.iaorekhov.jiraclient.dto.Priority;
 import io.github.iaorekhov.jiraclient.dto.ReportEntry;
+import io.github.iaorekhov.jiraclient.metrics.CloneCounters;
+import io.github.iaorekhov.jiraclient.metrics.ClonePhaseEvent;
 
 /**
  * Сервис для клонирования задач JIRA из одного эпика в другой. Содержит
@@ -20,92 +39,542 @@ public class JiraCloningService {
 
     private final Config config;
     private final JiraClient jiraClient;
-    private String epicLinkFieldId;
+    private volatile String epicLinkFieldId;
+    private final CloneCounters counters = new CloneCounters();
+    private volatile Consumer<ReportEntry> entryListener = e -> {
+    };
+    private volatile CloneMappingStore mappingStore;
+    private volatile String cancelReason;
+    private volatile Deadline runDeadline;
+    private volatile boolean linkSources = true; // false — источник в другом экземпляре Jira (import)
+    private volatile ProjectValueResolver valueResolver;
+    private final UserResolver userResolver;
 
     // Константы для JQL запросов
-    private static final String DEFAULT_ISSUE_FIELDS = "summary,components,priority,issuetype,project";
+    static final String DEFAULT_ISSUE_FIELDS = "summary,components,priority,issuetype,project";
     private static final int DEFAULT_MAX_RESULTS = 500;
     private static final String DEFAULT_LINK_TYPE = "Cloners";
+    // Таймер HttpClient может сработать чуть раньше срока, до которого урезан таймаут запроса
+    private static final Duration DEADLINE_SLACK = Duration.ofMillis(100);
+    // Создание, связи (Cloners, эпик), исполнитель и автор в запросе создания
+    static final List<String> REQUIRED_PERMISSIONS = List.of("CREATE_ISSUES", "LINK_ISSUES", "ASSIGN_ISSUES", "MODIFY_REPORTER");
+    private static final ObjectWriter PRETTY_WRITER = new ObjectMapper().writerWithDefaultPrettyPrinter();
 
     public JiraCloningService(Config config, JiraClient jiraClient) {
         this.config = config;
         this.jiraClient = jiraClient;
+        this.userResolver = new UserResolver(jiraClient, config.jira != null ? config.jira.baseUrl : null);
     }
 
     /**
      * Основной метод клонирования задач
      */
+    @SuppressWarnings("try")
     public List<ReportEntry> cloneIssues() {
-        // Инициализация - получаем ID поля Epic Link
-        initializeEpicLinkField();
+        try (Deadline.Scope scope = enterRunDeadline()) {
+            verifyUsers();
+            verifyPermissions();
+            // Инициализация - получаем ID поля Epic Link
+            initializeEpicLinkField();
 
-        // Получаем исходные задачи
-        List<JiraIssue> sourceIssues = getSourceIssues();
+            // Список ключей — поиски key in (...) пачками, далее обычный конвейер
+            List<String> keys = IssueKeyFetcher.requestedKeys(config.operation);
+            if (!keys.isEmpty()) {
+                return cloneByKeys(keys);
+            }
 
-        // Клонируем каждую задачу
-        return sourceIssues.stream()
-                .map(this::cloneSingleIssue)
-                .collect(Collectors.toList());
+            // Одна задача — без конвейера
+            if (config.operation.singleIssueKey != null
+                    && !config.operation.singleIssueKey.trim().isEmpty()) {
+                List<JiraIssue> single = List.of(getSingleIssue());
+                if (config.operation.preflight) {
+                    preflight(single);
+                }
+                return cloneIssues(single);
+            }
+
+            // Весь эпик: страницы поиска → создание → связи (см. ClonePipeline)
+            return new ClonePipeline(this, config.pipeline, config.operation.sourceEpicKey)
+                    .run(preflighted(sourceSearch(issueFields()), config.pipeline));
+        }
     }
 
     /**
-     * Инициализация ID поля Epic Link
+     * Режим import: создание задач из снимка (см. IssueSnapshot) тем же
+     * конвейером, с теми же полями, исполнителями и связями, что при
+     * клонировании, но без поиска по Jira-источнику. Если снимок снят с другого
+     * экземпляра Jira, связь с исходной задачей не создаётся — её там нет.
      */
-    private void initializeEpicLinkField() {
+    @SuppressWarnings("try")
+    public List<ReportEntry> importIssues(Path snapshot) {
+        Map<String, Object> header = IssueSnapshot.header(snapshot);
+        linkSources = header.get("baseUrl") instanceof String snapshotUrl
+                && ConfigValidator.sameBaseUrl(config.jira.baseUrl, snapshotUrl);
+        if (!linkSources) {
+            System.out.println("[Import] snapshot of " + header.get("baseUrl") + ": links to source issues skipped");
+        }
+        try (Deadline.Scope scope = enterRunDeadline()) {
+            verifyUsers();
+            verifyPermissions();
+            initializeEpicLinkField();
+            Config.Pipeline settings = config.pipeline != null ? config.pipeline : new Config.Pipeline();
+            return new ClonePipeline(this, settings, String.valueOf(header.get("source")))
+                    .run(preflighted(IssueSnapshot.source(snapshot, settings.pageSize), settings));
+        }
+    }
+
+    /**
+     * Reporter и architect существуют и активны (см. UserResolver): иначе
+     * запуск прерывается до первой записи, а не ошибкой каждого создания.
+     * Прогоны cloneIssues / importIssues проверяют сами; режимы watch и
+     * webhook вызывают проверку один раз при запуске.
+     */
+    public void verifyUsers() {
+        Map<String, Config.Reporter> users = new LinkedHashMap<>();
+        users.put("operation.reporter", config.operation.reporter);
+        users.put("operation.architect", config.operation.architect);
+        userResolver.verify(users);
+    }
+
+    /**
+     * Права в целевом проекте, нужные клонированию (одним запросом
+     * /mypermissions): без них каждая запись заканчивается одинаковым 403.
+     * В dry-run недостающие права только выводятся. Прогоны cloneIssues /
+     * importIssues проверяют сами; режимы watch и webhook — один раз при запуске.
+     *
+     * @throws PreflightException не хватает прав (перечислены все)
+     */
+    public void verifyPermissions() {
+        String projectKey = config.operation.projectKey;
+        Map<String, Object> granted;
         try {
-            this.epicLinkFieldId = jiraClient.findEpicLinkFieldId();
-            System.out.println("Epic Link ID found [" + this.epicLinkFieldId + "]");
-            if (epicLinkFieldId == null) {
-                throw new RuntimeException("Epic Link field not found in JIRA instance");
+            granted = jiraClient.getMyPermissions(projectKey, REQUIRED_PERMISSIONS);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to check permissions in " + projectKey + ": " + e.getMessage(), e);
+        }
+        List<String> missing = new ArrayList<>();
+        for (String permission : REQUIRED_PERMISSIONS) {
+            if (!(granted.get(permission) instanceof Map<?, ?> p) || !Boolean.TRUE.equals(p.get("havePermission"))) {
+                missing.add("permission " + permission + " missing in project " + projectKey);
             }
+        }
+        if (missing.isEmpty()) {
+            System.out.println("[Permissions] " + String.join(", ", REQUIRED_PERMISSIONS) + " granted in " + projectKey);
+        } else if (config.operation.dryRun) {
+            missing.forEach(m -> System.out.println("[Permissions] WARNING: " + m));
+        } else {
+            throw new PreflightException(missing);
+        }
+    }
+
+    /**
+     * С operation.preflight источник читается целиком и все запросы создания
+     * проверяются до первой записи (см. {@link #preflight}); иначе — как есть
+     */
+    private ClonePipeline.Source preflighted(ClonePipeline.Source source, Config.Pipeline pipeline) {
+        if (!config.operation.preflight) {
+            return source;
+        }
+        List<JiraIssue> issues = new ArrayList<>();
+        source.pages(page -> {
+            issues.addAll(page);
+            return true;
+        });
+        preflight(issues);
+        int pageSize = (pipeline != null ? pipeline : new Config.Pipeline()).pageSize;
+        return consumer -> {
+            for (int from = 0; from < issues.size(); from += pageSize) {
+                if (!consumer.test(issues.subList(from, Math.min(issues.size(), from + pageSize)))) {
+                    break;
+                }
+            }
+            return issues.size();
+        };
+    }
+
+    /**
+     * Проверка запросов создания всех задач по схеме createmeta целевого
+     * проекта (один запрос к Jira, дальше — локально и параллельно). Ошибки
+     * собираются по всем задачам и выбрасываются одним PreflightException.
+     */
+    void preflight(List<JiraIssue> issues) {
+        String projectKey = config.operation.projectKey;
+        String issueType = config.operation.issueTypeName;
+        CreateMetaSchema schema;
+        try {
+            schema = CreateMetaSchema.parse(jiraClient.getCreateMeta(projectKey, issueType), projectKey, issueType);
+        } catch (PreflightException e) {
+            throw e;
         } catch (Exception e) {
-            throw new RuntimeException("Failed to get Epic Link field ID: " + e.getMessage(), e);
+            throw new RuntimeException("Failed to get createmeta for " + issueType + " in " + projectKey + ": " + e.getMessage(), e);
+        }
+        List<String> errors = issues.parallelStream()
+                .flatMap(issue -> {
+                    List<String> problems;
+                    try {
+                        Map<String, String> assigneeRef = decideAssigneeAndAnnotate(issue, new ReportEntry(), false);
+                        problems = schema.validate(buildCreateFields(issue, newEntry(issue), assigneeRef));
+                    } catch (RuntimeException e) {
+                        problems = List.of(e.getMessage());
+                    }
+                    return problems.stream().map(p -> issue.getKey() + ": " + p);
+                })
+                .collect(Collectors.toList());
+        if (!errors.isEmpty()) {
+            throw new PreflightException(errors);
+        }
+        System.out.println("[Preflight] " + issues.size() + " create payload(s) valid for " + issueType + " in " + projectKey);
+    }
+
+    // Срок всего прогона: ограничивает таймауты запросов, по истечении новые задачи не создаются
+    private Deadline.Scope enterRunDeadline() {
+        if (config.deadlines != null && config.deadlines.runSeconds > 0) {
+            runDeadline = Deadline.after(Duration.ofSeconds(config.deadlines.runSeconds), "run");
+        }
+        return Deadline.enter(runDeadline);
+    }
+
+    /**
+     * Клонирование задач по списку ключей; ненайденные ключи попадают в отчёт
+     * со статусом failed
+     */
+    private List<ReportEntry> cloneByKeys(List<String> keys) {
+        System.out.println("[Keys] " + keys.size() + " issue key(s) requested");
+        Config.Pipeline settings = config.pipeline != null ? config.pipeline : new Config.Pipeline();
+        IssueKeyFetcher fetcher = new IssueKeyFetcher(jiraClient, keys, issueFields(), settings.searchWorkers);
+        List<ReportEntry> results = new ClonePipeline(this, settings, keys.size() + " keys")
+                .run(preflighted(fetcher, settings));
+        if (!isCancelled()) {
+            for (String key : fetcher.missingKeys()) {
+                ReportEntry entry = new ReportEntry(key, null, null);
+                entry.setStatus("failed");
+                entry.setError("Issue not found or not visible: " + key);
+                results.add(complete(null, entry));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Остановка прогона (SIGINT, отмена задачи сервера): уже начатые задачи
+     * доделываются, новые не создаются и попадают в отчёт со статусом cancelled
+     */
+    public void cancel(String reason) {
+        if (cancelReason == null) {
+            cancelReason = reason;
+            System.out.println("[Cancel] " + reason + ": finishing in-flight issues, no new creates");
+        }
+    }
+
+    public boolean isCancelled() {
+        return stopReason() != null;
+    }
+
+    // Причина остановки: отмена или истёкший срок прогона; null — продолжаем
+    private String stopReason() {
+        String reason = cancelReason;
+        if (reason != null) {
+            return reason;
+        }
+        Deadline deadline = runDeadline;
+        if (deadline != null && deadline.isExpired()) {
+            cancel("run deadline exceeded (" + config.deadlines.runSeconds + "s)");
+            return cancelReason;
+        }
+        return null;
+    }
+
+    /**
+     * Ошибка запроса — следствие остановки прогона: отмены или таймаута,
+     * урезанного до истекающего срока прогона (тогда прогон останавливается)
+     */
+    boolean stoppedBy(Throwable failure) {
+        if (isCancelled()) {
+            return true;
+        }
+        Deadline deadline = runDeadline;
+        if (deadline == null || deadline.remaining().compareTo(DEADLINE_SLACK) > 0) {
+            return false;
+        }
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof HttpTimeoutException || t instanceof DeadlineExceededException) {
+                cancel("run deadline exceeded (" + config.deadlines.runSeconds + "s)");
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Срок для связей уже созданных клонов: срок прогона плюс
+     * deadlines.drainSeconds — после истечения прогона новые клоны не
+     * создаются, а начатые доделываются (null — без ограничения)
+     */
+    Deadline drainDeadline() {
+        Deadline deadline = runDeadline;
+        if (deadline == null) {
+            return null;
+        }
+        return Deadline.after(deadline.remaining().plusSeconds(config.deadlines.drainSeconds), "run drain");
+    }
+
+    /**
+     * Сколько ждать начатых созданий и связей после прерывания (deadlines.drainSeconds)
+     */
+    Duration drainTimeout() {
+        Config.Deadlines deadlines = config.deadlines != null ? config.deadlines : new Config.Deadlines();
+        return Duration.ofSeconds(deadlines.drainSeconds);
+    }
+
+    /**
+     * Срок на создание и связи одной задачи (null — без ограничения)
+     */
+    Deadline issueDeadline(String issueKey) {
+        if (config.deadlines == null || config.deadlines.issueSeconds <= 0) {
+            return null;
+        }
+        return Deadline.after(Duration.ofSeconds(config.deadlines.issueSeconds), "issue " + issueKey);
+    }
+
+    /**
+     * Клонирование заданного набора задач (например, дельты, найденной в режиме watch)
+     */
+    public List<ReportEntry> cloneIssues(List<JiraIssue> sourceIssues) {
+        getEpicLinkFieldId();
+        return sourceIssues.stream()
+                .map(this::cloneAndCount)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Клонирование одной задачи, пришедшей извне (например, из webhook).
+     * Можно вызывать из нескольких потоков после {@link #getEpicLinkFieldId()}.
+     */
+    public ReportEntry cloneIssue(JiraIssue sourceIssue) {
+        getEpicLinkFieldId();
+        return cloneAndCount(sourceIssue);
+    }
+
+    /**
+     * ID поля Epic Link (запрашивается у Jira при первом обращении)
+     */
+    public synchronized String getEpicLinkFieldId() {
+        if (epicLinkFieldId == null) {
+            initializeEpicLinkField();
         }
+        return epicLinkFieldId;
     }
 
     /**
-     * Получение списка исходных задач для клонирования
+     * Все задачи по JQL, постранично (DEFAULT_MAX_RESULTS на страницу)
      */
-    private List<JiraIssue> getSourceIssues() {
-        // Если указан singleIssueKey - клонируем только одну задачу
-        if (config.operation.singleIssueKey != null
-                && !config.operation.singleIssueKey.trim().isEmpty()) {
+    public List<JiraIssue> searchAll(String jql, List<String> fields) {
+        List<JiraIssue> issues = new ArrayList<>();
+        searchPages(jql, fields, DEFAULT_MAX_RESULTS, page -> {
+            issues.addAll(page);
+            return true;
+        });
+        return issues;
+    }
 
+    /**
+     * Постраничный поиск: каждая страница передаётся в {@code pageConsumer}
+     * сразу после получения; следующая запрашивается, если он вернул true
+     *
+     * @return число полученных задач
+     */
+    int searchPages(String jql, List<String> fields, int pageSize, Predicate<List<JiraIssue>> pageConsumer) {
+        int startAt = 0;
+        while (true) {
+            Map<String, Object> page;
             try {
-                Map<String, Object> issueData = jiraClient.getIssue(
-                        config.operation.singleIssueKey,
-                        DEFAULT_ISSUE_FIELDS
-                );
-                JiraIssue issue = JiraIssue.fromMap(issueData);
-                return List.of(issue);
+                page = jiraClient.searchJqlPage(jql, fields, startAt, pageSize);
             } catch (Exception e) {
-                throw new RuntimeException(
-                        "Failed to fetch single issue: " + config.operation.singleIssueKey,
-                        e
-                );
+                throw new RuntimeException("Failed to search issues in epic: " + config.operation.sourceEpicKey, e);
+            }
+            List<Map<String, Object>> pageIssues = JiraClient.issuesOf(page);
+            List<JiraIssue> issues = new ArrayList<>(pageIssues.size());
+            for (Map<String, Object> m : pageIssues) {
+                issues.add(JiraIssue.fromMap(m));
+            }
+            startAt += pageIssues.size();
+            if (!issues.isEmpty() && !pageConsumer.test(issues)) {
+                return startAt;
+            }
+            Object total = page.get("total");
+            if (pageIssues.isEmpty() || !(total instanceof Number) || startAt >= ((Number) total).intValue()) {
+                return startAt;
             }
         }
+    }
 
-        // Иначе - все задачи из исходного эпика
-        String jql = String.format(
+    /**
+     * Страницы задач исходного эпика с полями {@code fields}; большой эпик
+     * читается параллельными срезами (см. PartitionedSearch)
+     */
+    ClonePipeline.Source sourceSearch(List<String> fields) {
+        Config.Pipeline settings = config.pipeline != null ? config.pipeline : new Config.Pipeline();
+        if (settings.partitionSize <= 0) {
+            return consumer -> searchPages(orderedSourceJql(), fields, settings.pageSize, consumer);
+        }
+        return new PartitionedSearch(jiraClient, sourceJql(), fields, settings, jqlZone(),
+                config.operation.sourceEpicKey);
+    }
+
+    // Часовой пояс дат в JQL: пользователя Jira (watch.timeZone), иначе системный
+    private ZoneId jqlZone() {
+        if (config.watch != null && config.watch.timeZone != null && !config.watch.timeZone.isBlank()) {
+            return ZoneId.of(config.watch.timeZone.trim());
+        }
+        return ZoneId.systemDefault();
+    }
+
+    /**
+     * Поля исходных задач, которые нужны для клонирования
+     */
+    static List<String> issueFields() {
+        return List.of(DEFAULT_ISSUE_FIELDS.split(","));
+    }
+
+    /**
+     * Хранилище соответствий источник → клон: при создании клона в него
+     * записывается ключ клона и хэш синхронизируемых полей (см. CloneSynchronizer)
+     */
+    public void setMappingStore(CloneMappingStore mappingStore) {
+        this.mappingStore = mappingStore;
+    }
+
+    /**
+     * Ключ уже созданного клона задачи: из хранилища соответствий, иначе по
+     * связи linkToOriginal в issuelinks источника; null — клона нет
+     */
+    public String existingClone(JiraIssue sourceIssue) {
+        CloneMappingStore store = mappingStore;
+        CloneMappingStore.Mapping known = store != null ? store.get(sourceIssue.getKey()) : null;
+        return known != null ? known.cloneKey : linkedClone(sourceIssue);
+    }
+
+    /**
+     * Клон по связи linkToOriginal: linkCloners(источник, клон) ставит клон на
+     * сторону outwardIssue источника (inwardIssue — задача, с которой клонирован
+     * сам источник); summary клона начинается с summaryPrefix
+     */
+    @SuppressWarnings("unchecked")
+    String linkedClone(JiraIssue sourceIssue) {
+        if (!(sourceIssue.getFields().get("issuelinks") instanceof List<?> links)) {
+            return null;
+        }
+        String typeName = linkType();
+        String prefix = config.operation.summaryPrefix != null ? config.operation.summaryPrefix : "";
+        for (Object o : links) {
+            if (!(o instanceof Map<?, ?> link)
+                    || !(link.get("type") instanceof Map<?, ?> type) || !typeName.equals(type.get("name"))
+                    || !(link.get("outwardIssue") instanceof Map<?, ?> other)) {
+                continue;
+            }
+            JiraIssue linked = JiraIssue.fromMap((Map<String, Object>) other);
+            if (linked.getSummary() != null && linked.getSummary().startsWith(prefix)) {
+                return linked.getKey();
+            }
+        }
+        return null;
+    }
+
+    private String linkType() {
+        if (config.operation.linkToOriginal != null
+                && config.operation.linkToOriginal.typeName != null
+                && !config.operation.linkToOriginal.typeName.isBlank()) {
+            return config.operation.linkToOriginal.typeName;
+        }
+        return DEFAULT_LINK_TYPE;
+    }
+
+    /**
+     * JQL для всех задач исходного эпика
+     */
+    public String sourceJql() {
+        return String.format(
                 "issuetype = %s AND 'Epic Link' = %s",
                 config.operation.issueTypeName,
                 config.operation.sourceEpicKey
         );
+    }
+
+    /**
+     * JQL исходного эпика в стабильном порядке — для чтения страницами по
+     * startAt: связи, которые добавляет прогон, меняют задачи источника, и
+     * без ORDER BY Jira может вернуть их от страницы к странице в другом
+     * порядке (пропуски и повторы)
+     */
+    String orderedSourceJql() {
+        return sourceJql() + " ORDER BY created ASC, key ASC";
+    }
+
+    /**
+     * Живые счётчики прогона (для JMX / Prometheus)
+     */
+    public CloneCounters getCounters() {
+        return counters;
+    }
+
+    /**
+     * Слушатель готовых записей отчёта (по мере обработки задач) — для
+     * отслеживания прогресса из режима server
+     */
+    public void setEntryListener(Consumer<ReportEntry> entryListener) {
+        this.entryListener = entryListener != null ? entryListener : e -> {
+        };
+    }
+
+    private ReportEntry cloneAndCount(JiraIssue sourceIssue) {
+        return complete(sourceIssue, cloneSingleIssue(sourceIssue));
+    }
+
+    /**
+     * Учёт готовой записи: хранилище соответствий, счётчики, слушатель
+     */
+    ReportEntry complete(JiraIssue sourceIssue, ReportEntry entry) {
+        CloneMappingStore store = mappingStore;
+        if (store != null && "created".equals(entry.getStatus())) {
+            store.put(sourceIssue.getKey(), entry.getCloneKey(), syncHash(sourceIssue));
+        }
+        counters.record(entry.getStatus());
+        entryListener.accept(entry);
+        return entry;
+    }
+
+    /**
+     * Инициализация ID поля Epic Link
+     */
+    private void initializeEpicLinkField() {
+        try {
+            this.epicLinkFieldId = jiraClient.findEpicLinkFieldId();
+            System.out.println("Epic Link ID found [" + this.epicLinkFieldId + "]");
+            if (epicLinkFieldId == null) {
+                throw new RuntimeException("Epic Link field not found in JIRA instance");
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to get Epic Link field ID: " + e.getMessage(), e);
+        }
+    }
 
+    /**
+     * Получение задачи operation.singleIssueKey (эпик целиком читает ClonePipeline)
+     */
+    private JiraIssue getSingleIssue() {
+        ClonePhaseEvent phase = ClonePhaseEvent.start("search", config.operation.singleIssueKey);
         try {
-            List<Map<String, Object>> issuesData = jiraClient.searchJql(
-                    jql,
-                    List.of(DEFAULT_ISSUE_FIELDS.split(",")),
-                    DEFAULT_MAX_RESULTS
+            Map<String, Object> issueData = jiraClient.getIssue(
+                    config.operation.singleIssueKey,
+                    DEFAULT_ISSUE_FIELDS
             );
-
-            return issuesData.stream()
-                    .map(JiraIssue::fromMap)
-                    .collect(Collectors.toList());
+            JiraIssue issue = JiraIssue.fromMap(issueData);
+            phase.finish(null, true, "1 issue");
+            return issue;
         } catch (Exception e) {
+            phase.finish(null, false, e.getMessage());
             throw new RuntimeException(
-                    "Failed to search issues in epic: " + config.operation.sourceEpicKey,
+                    "Failed to fetch single issue: " + config.operation.singleIssueKey,
                     e
             );
         }
@@ -114,14 +583,30 @@ public class JiraCloningService {
     /**
      * Клонирование одной задачи
      */
+    @SuppressWarnings("try")
     private ReportEntry cloneSingleIssue(JiraIssue sourceIssue) {
-        ReportEntry reportEntry = new ReportEntry();
-        reportEntry.setSourceKey(sourceIssue.getKey());
-        reportEntry.setSourceSummary(sourceIssue.getSummary());
+        try (Deadline.Scope scope = Deadline.enter(issueDeadline(sourceIssue.getKey()))) {
+            ReportEntry reportEntry = createClone(sourceIssue);
+            if ("created".equals(reportEntry.getStatus())) {
+                addIssueLinks(sourceIssue.getKey(), reportEntry.getCloneKey(), reportEntry);
+            }
+            return reportEntry;
+        }
+    }
+
+    /**
+     * Создание клона без связей (в dry-run — только планирование)
+     */
+    ReportEntry createClone(JiraIssue sourceIssue) {
+        ReportEntry reportEntry = newEntry(sourceIssue);
+        String cloneSummary = reportEntry.getCloneSummary();
         
-        String summaryPrefix = config.operation.summaryPrefix != null ? config.operation.summaryPrefix : "";
-        String cloneSummary = summaryPrefix + sourceIssue.getSummary();
-        reportEntry.setCloneSummary(cloneSummary);
+        String stopReason = stopReason();
+        if (stopReason != null) {
+            reportEntry.setStatus("cancelled");
+            reportEntry.setError(stopReason);
+            return reportEntry;
+        }
         
         // NEW: выбираем assignee и отражаем в отчёте и логах
         Map<String, String> assigneeRef = decideAssigneeAndAnnotate(sourceIssue, reportEntry);
@@ -131,22 +616,21 @@ public class JiraCloningService {
             return reportEntry;
         }
         
+        ClonePhaseEvent phase = ClonePhaseEvent.start("create", sourceIssue.getKey());
         try {
-            Map<String, Object> createFields = buildCreateFields(sourceIssue, cloneSummary, assigneeRef); // CHANGED: добавлен assigneeRef
+            Map<String, Object> createFields = buildCreateFields(sourceIssue, reportEntry, assigneeRef); // CHANGED: добавлен assigneeRef
             System.out.println("[Create] fields = " +
-                new com.fasterxml.jackson.databind.ObjectMapper()
-                    .writerWithDefaultPrettyPrinter()
-                    .writeValueAsString(java.util.Map.of("fields", createFields)));
+                PRETTY_WRITER.writeValueAsString(java.util.Map.of("fields", createFields)));
         
             String cloneKey = jiraClient.createIssue(createFields);
+            phase.finish(cloneKey, true);
             System.out.println("[Create] issue created: " + cloneKey);
         
             reportEntry.setCloneKey(cloneKey);
             reportEntry.setStatus("created");
         
-            addIssueLinks(sourceIssue.getKey(), cloneKey);
-        
         } catch (Exception e) {
+            phase.finish(reportEntry.getCloneKey(), false, e.getMessage());
             reportEntry.setStatus("failed");
             reportEntry.setError(e.getMessage());
         }
@@ -156,15 +640,154 @@ public class JiraCloningService {
     
 
     /**
-     * Формирование полей для создания задачи
+     * Создание клонов пачкой одним запросом POST /issue/bulk (в dry-run — только
+     * планирование). Записи отчёта — в порядке {@code sourceIssues}; ошибка
+     * отдельной задачи не мешает созданию остальных.
+     */
+    List<ReportEntry> createClones(List<JiraIssue> sourceIssues) {
+        if (sourceIssues.size() == 1) {
+            return List.of(createClone(sourceIssues.get(0)));
+        }
+        List<ReportEntry> entries = new ArrayList<>(sourceIssues.size());
+        List<ReportEntry> toCreate = new ArrayList<>();
+        List<Map<String, Object>> payloads = new ArrayList<>();
+        for (JiraIssue sourceIssue : sourceIssues) {
+            ReportEntry reportEntry = newEntry(sourceIssue);
+            entries.add(reportEntry);
+            String stopReason = stopReason();
+            if (stopReason != null) {
+                reportEntry.setStatus("cancelled");
+                reportEntry.setError(stopReason);
+                continue;
+            }
+            Map<String, String> assigneeRef = decideAssigneeAndAnnotate(sourceIssue, reportEntry);
+            if (config.operation.dryRun) {
+                reportEntry.setStatus("planned");
+                continue;
+            }
+            try {
+                payloads.add(buildCreateFields(sourceIssue, reportEntry, assigneeRef));
+                toCreate.add(reportEntry);
+            } catch (RuntimeException e) {
+                reportEntry.setStatus("failed");
+                reportEntry.setError(e.getMessage());
+            }
+        }
+        if (payloads.isEmpty()) {
+            return entries;
+        }
+
+        ClonePhaseEvent phase = ClonePhaseEvent.start("create", toCreate.get(0).getSourceKey());
+        try {
+            List<JiraClient.BulkCreateResult> results = jiraClient.createIssues(payloads);
+            int created = 0;
+            for (int i = 0; i < results.size(); i++) {
+                ReportEntry reportEntry = toCreate.get(i);
+                JiraClient.BulkCreateResult result = results.get(i);
+                if (result.key() != null) {
+                    reportEntry.setCloneKey(result.key());
+                    reportEntry.setStatus("created");
+                    created++;
+                    System.out.println("[Create] issue created: " + result.key() + " (bulk)");
+                } else {
+                    reportEntry.setStatus("failed");
+                    reportEntry.setError(result.error());
+                }
+            }
+            phase.finish(null, created == results.size(), created + "/" + results.size() + " issues");
+        } catch (Exception e) {
+            phase.finish(null, false, e.getMessage());
+            for (ReportEntry reportEntry : toCreate) {
+                reportEntry.setStatus("failed");
+                reportEntry.setError(e.getMessage());
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * План создания клона без обращений к Jira (режим plan): summary,
+     * исполнитель и поля запроса создания. Потокобезопасен; поле Epic Link
+     * задаётся через {@link #useEpicLinkField}.
+     */
+    ReportEntry planClone(JiraIssue sourceIssue) {
+        ReportEntry reportEntry = newEntry(sourceIssue);
+        try {
+            Map<String, String> assigneeRef = decideAssigneeAndAnnotate(sourceIssue, reportEntry, false);
+            reportEntry.setCreateFields(buildCreateFields(sourceIssue, reportEntry, assigneeRef));
+            reportEntry.setStatus("planned");
+        } catch (RuntimeException e) {
+            reportEntry.setStatus("failed");
+            reportEntry.setError(e.getMessage());
+        }
+        return complete(sourceIssue, reportEntry);
+    }
+
+    /**
+     * Индекс компонентов и приоритетов целевого проекта, если источник из
+     * другого проекта или другой Jira; null — id копируются как есть.
+     * Источник без поля project считается задачей целевого проекта.
+     */
+    private ProjectValueResolver resolverFor(JiraIssue sourceIssue) {
+        String sourceProject = sourceIssue.getProjectKey();
+        if (linkSources && (sourceProject == null || sourceProject.equals(config.operation.projectKey))) {
+            return null;
+        }
+        return valueResolver();
+    }
+
+    /**
+     * Компоненты и приоритеты целевого проекта (загружаются у Jira один раз)
+     */
+    ProjectValueResolver valueResolver() {
+        ProjectValueResolver resolver = valueResolver;
+        if (resolver == null) {
+            synchronized (this) {
+                resolver = valueResolver;
+                if (resolver == null) {
+                    resolver = ProjectValueResolver.load(jiraClient, config.operation.projectKey);
+                    valueResolver = resolver;
+                }
+            }
+        }
+        return resolver;
+    }
+
+    /**
+     * Индекс компонентов и приоритетов из сохранённых метаданных вместо запросов к Jira
+     */
+    void useValueResolver(ProjectValueResolver resolver) {
+        this.valueResolver = resolver;
+    }
+
+    /**
+     * ID поля Epic Link из сохранённых метаданных вместо запроса к Jira
+     */
+    void useEpicLinkField(String fieldId) {
+        this.epicLinkFieldId = fieldId;
+    }
+
+    private ReportEntry newEntry(JiraIssue sourceIssue) {
+        ReportEntry reportEntry = new ReportEntry();
+        reportEntry.setSourceKey(sourceIssue.getKey());
+        reportEntry.setSourceSummary(sourceIssue.getSummary());
+        reportEntry.setCloneSummary(cloneSummary(sourceIssue));
+        return reportEntry;
+    }
+
+    /**
+     * Формирование полей для создания задачи. Компоненты и приоритет источника
+     * из другого проекта сопоставляются по имени (см. ProjectValueResolver);
+     * несопоставленные пропускаются с предупреждением в {@code reportEntry}.
      */
 
-    private Map<String, Object> buildCreateFields(JiraIssue sourceIssue, String cloneSummary, Map<String, String> assigneeRef) {
+    private Map<String, Object> buildCreateFields(JiraIssue sourceIssue, ReportEntry reportEntry, Map<String, String> assigneeRef) {
         Map<String, Object> fields = new LinkedHashMap<>();
+        ProjectValueResolver resolver = resolverFor(sourceIssue);
         
         fields.put("project", Map.of("key", config.operation.projectKey));
         fields.put("issuetype", Map.of("name", config.operation.issueTypeName));
-        fields.put("summary", cloneSummary);
+        fields.put("summary", reportEntry.getCloneSummary());
         
         if (config.operation.description != null && !config.operation.description.isBlank()) {
             fields.put("description", config.operation.description);
@@ -174,25 +797,19 @@ public class JiraCloningService {
             fields.put(epicLinkFieldId, config.operation.targetEpicKey);
         }
         
-        List<io.github.iaorekhov.jiraclient.dto.Component> components = sourceIssue.getComponents();
-        if (!components.isEmpty()) {
-            List<Map<String, String>> componentRefs = components.stream()
-                .map(c -> Map.of("id", c.getId()))
-                .collect(Collectors.toList());
+        List<Map<String, String>> componentRefs = componentRefs(sourceIssue, resolver, reportEntry);
+        if (!componentRefs.isEmpty()) {
             fields.put("components", componentRefs);
         }
         
-        Priority priority = sourceIssue.getPriority();
-        if (priority != null && priority.getId() != null) {
-            fields.put("priority", Map.of("id", priority.getId()));
+        Map<String, String> priorityRef = priorityRef(sourceIssue, resolver, reportEntry);
+        if (priorityRef != null) {
+            fields.put("priority", priorityRef);
         }
         
-        if (config.operation.reporter != null) {
-            if (config.operation.reporter.accountId != null && !config.operation.reporter.accountId.isBlank()) {
-                fields.put("reporter", Map.of("accountId", config.operation.reporter.accountId));
-            } else if (config.operation.reporter.username != null && !config.operation.reporter.username.isBlank()) {
-                fields.put("reporter", Map.of("name", config.operation.reporter.username));
-            }
+        Map<String, String> reporterRef = toUserRef(config.operation.reporter);
+        if (!reporterRef.isEmpty()) {
+            fields.put("reporter", reporterRef);
         }
         
         if (!fields.containsKey("reporter")) {
@@ -209,23 +826,98 @@ public class JiraCloningService {
         }
 
     /**
-     * Добавление связей между исходной задачей и клоном
+     * Поля клона, которые следуют за источником: summary (с префиксом),
+     * components и priority — так же, как при создании в buildCreateFields
+     * (для источника из другого проекта — сопоставленные по имени,
+     * несопоставленные пропускаются с предупреждением в {@code reportEntry})
      */
-    private void addIssueLinks(String sourceKey, String cloneKey) {
-        // Линк Cloners
-        String linkType = DEFAULT_LINK_TYPE;
-        if (config.operation.linkToOriginal != null
-                && config.operation.linkToOriginal.typeName != null
-                && !config.operation.linkToOriginal.typeName.isBlank()) {
-            linkType = config.operation.linkToOriginal.typeName;
+    public Map<String, Object> buildSyncFields(JiraIssue sourceIssue, ReportEntry reportEntry) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        ProjectValueResolver resolver = resolverFor(sourceIssue);
+        fields.put("summary", cloneSummary(sourceIssue));
+        fields.put("components", componentRefs(sourceIssue, resolver, reportEntry));
+        Map<String, String> priorityRef = priorityRef(sourceIssue, resolver, reportEntry);
+        if (priorityRef != null) {
+            fields.put("priority", priorityRef);
         }
+        return fields;
+    }
 
+    private String cloneSummary(JiraIssue sourceIssue) {
+        String summaryPrefix = config.operation.summaryPrefix != null ? config.operation.summaryPrefix : "";
+        return summaryPrefix + sourceIssue.getSummary();
+    }
+
+    // Компоненты для клона: id источника или, через resolver, id компонента целевого проекта с тем же именем
+    private List<Map<String, String>> componentRefs(JiraIssue sourceIssue, ProjectValueResolver resolver, ReportEntry reportEntry) {
+        List<io.github.iaorekhov.jiraclient.dto.Component> components = sourceIssue.getComponents();
+        List<Map<String, String>> refs = new ArrayList<>(components.size());
+        for (io.github.iaorekhov.jiraclient.dto.Component c : components) {
+            String id = resolver != null ? resolver.componentId(c.getName()) : c.getId();
+            if (id != null) {
+                refs.add(Map.of("id", id));
+            } else {
+                reportEntry.addWarning("component '" + c.getName() + "' not found in " + config.operation.projectKey + ", skipped");
+            }
+        }
+        return refs;
+    }
+
+    // Приоритет для клона; null — у источника нет приоритета или он не сопоставлен (остаётся приоритет по умолчанию)
+    private Map<String, String> priorityRef(JiraIssue sourceIssue, ProjectValueResolver resolver, ReportEntry reportEntry) {
+        Priority priority = sourceIssue.getPriority();
+        if (priority == null || priority.getId() == null) {
+            return null;
+        }
+        String id = resolver != null ? resolver.priorityId(priority.getName()) : priority.getId();
+        if (id == null) {
+            reportEntry.addWarning("priority '" + priority.getName() + "' not found, default used");
+            return null;
+        }
+        return Map.of("id", id);
+    }
+
+    /**
+     * Компактный хэш синхронизируемых полей источника (16 hex-символов SHA-256)
+     */
+    public String syncHash(JiraIssue sourceIssue) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(cloneSummary(sourceIssue)).append('\u0000');
+        sourceIssue.getComponents().stream()
+                .map(io.github.iaorekhov.jiraclient.dto.Component::getId)
+                .sorted()
+                .forEach(id -> sb.append(id).append(','));
+        sb.append('\u0000');
+        Priority priority = sourceIssue.getPriority();
+        sb.append(priority != null ? priority.getId() : "");
         try {
-            jiraClient.linkCloners(sourceKey, cloneKey, linkType);
-            System.out.println("[Link] Cloners: " + sourceKey + " -> " + cloneKey);
-        } catch (Exception e) {
-            // TODO Auto-generated catch block
-            e.printStackTrace();
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Добавление связей между исходной задачей и клоном
+     */
+    void addIssueLinks(String sourceKey, String cloneKey, ReportEntry reportEntry) {
+        // Линк Cloners
+        String linkType = linkType();
+
+        // Источник из другого экземпляра Jira (import) — связывать не с чем
+        if (linkSources) {
+            ClonePhaseEvent linkPhase = ClonePhaseEvent.start("link", sourceKey);
+            try {
+                jiraClient.linkCloners(sourceKey, cloneKey, linkType);
+                linkPhase.finish(cloneKey, true, linkType);
+                System.out.println("[Link] Cloners: " + sourceKey + " -> " + cloneKey);
+            } catch (Exception e) {
+                linkPhase.finish(cloneKey, false, e.getMessage());
+                counters.linkFailed();
+                System.out.println("[Link] Cloners " + sourceKey + " -> " + cloneKey + " failed: " + e.getMessage());
+                reportEntry.addWarning(linkType + " link not added: " + e.getMessage());
+            }
         }
 
         // Remote link (Confluence)
@@ -236,6 +928,7 @@ public class JiraCloningService {
                 && !config.operation.remoteLink.title.isBlank()) {
 
             String relationship = config.operation.remoteLink.relationship;
+            ClonePhaseEvent remotePhase = ClonePhaseEvent.start("remoteLink", sourceKey);
             try {
                 jiraClient.addRemoteLinkConfluence(
                         cloneKey,
@@ -243,10 +936,13 @@ public class JiraCloningService {
                         config.operation.remoteLink.title,
                         relationship
                 );
+                remotePhase.finish(cloneKey, true);
                 System.out.println("[RemoteLink] added to " + cloneKey + ": " + config.operation.remoteLink.title);
             } catch (Exception e) {
-                // TODO Auto-generated catch block
-                e.printStackTrace();
+                remotePhase.finish(cloneKey, false, e.getMessage());
+                counters.remoteLinkFailed();
+                System.out.println("[RemoteLink] " + cloneKey + " failed: " + e.getMessage());
+                reportEntry.addWarning("remote link not added: " + e.getMessage());
             }
         }
     }
@@ -261,12 +957,18 @@ public class JiraCloningService {
         long planned = results.stream().filter(r -> "planned".equals(r.getStatus())).count();
         long created = results.stream().filter(r -> "created".equals(r.getStatus())).count();
         long failed = results.stream().filter(r -> "failed".equals(r.getStatus())).count();
+        long cancelled = results.stream().filter(r -> "cancelled".equals(r.getStatus())).count();
 
         stats.put("total", total);
         stats.put("planned", planned);
         stats.put("created", created);
         stats.put("failed", failed);
+        stats.put("cancelled", cancelled);
         stats.put("dryRun", config.operation.dryRun);
+        ProjectValueResolver resolver = valueResolver;
+        if (resolver != null && !resolver.unmapped().isEmpty()) {
+            stats.put("unmapped", resolver.unmapped());
+        }
 
         return stats;
     }
@@ -289,17 +991,9 @@ public class JiraCloningService {
     }
 
 // NEW: формирование ссылки на пользователя для Jira DC: сначала accountId, иначе name
+    // (проверенная через Jira, см. UserResolver)
     private Map<String, String> toUserRef(io.github.iaorekhov.jiraclient.config.Config.Reporter person) {
-        if (person == null) {
-            return java.util.Map.of(); // на валидации не допустим, но страховка
-
-                }if (person.accountId != null && !person.accountId.isBlank()) {
-            return java.util.Map.of("accountId", person.accountId);
-        }
-        if (person.username != null && !person.username.isBlank()) {
-            return java.util.Map.of("name", person.username);
-        }
-        return java.util.Map.of(); // пустая — пусть упадёт на createIssue
+        return userResolver.ref(person); // пустая — пусть упадёт на createIssue
     }
 
 // NEW: человек в человекочитаемом виде для отчёта/лога
@@ -318,6 +1012,11 @@ public class JiraCloningService {
 
 // NEW: выбор assignee и аннотация ReportEntry
     private Map<String, String> decideAssigneeAndAnnotate(JiraIssue sourceIssue, ReportEntry reportEntry) {
+        return decideAssigneeAndAnnotate(sourceIssue, reportEntry, true);
+    }
+
+    private Map<String, String> decideAssigneeAndAnnotate(JiraIssue sourceIssue, ReportEntry reportEntry, boolean log) {
+        ClonePhaseEvent phase = ClonePhaseEvent.start("assign", sourceIssue.getKey());
         boolean match = hasComponentByName(sourceIssue, config.operation.architectComponent);
         Map<String, String> assigneeRef;
         String label;
@@ -327,16 +1026,21 @@ public class JiraCloningService {
             assigneeRef = toUserRef(config.operation.architect);
             label = userLabel(config.operation.architect);
             reason = "component match: '" + config.operation.architectComponent + "'";
-            System.out.println("[Assignee] using architect: " + label + " (" + reason + ")");
+            if (log) {
+                System.out.println("[Assignee] using architect: " + label + " (" + reason + ")");
+            }
         } else {
             assigneeRef = toUserRef(config.operation.reporter);
             label = userLabel(config.operation.reporter);
             reason = "no matching component → reporter";
-            System.out.println("[Assignee] using reporter: " + label + " (" + reason + ")");
+            if (log) {
+                System.out.println("[Assignee] using reporter: " + label + " (" + reason + ")");
+            }
         }
 
         reportEntry.setAssignee(label);
         reportEntry.setAssignmentReason(reason);
+        phase.finish(null, !assigneeRef.isEmpty(), reason);
         return assigneeRef;
     }
 }
@@ -0,0 +1,70 @@
+package io.github.iaorekhov.jiraclient.service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.iaorekhov.jiraclient.Deadline;
+import io.github.iaorekhov.jiraclient.FairRequestScheduler;
+
+/**
+ * Пул для параллельных запросов поиска (pipeline.searchWorkers потоков).
+ * Потоки выполняют запросы от имени задачи и со сроком того потока, который
+ * создал пул (FairRequestScheduler, Deadline), поэтому общая ёмкость запросов
+ * и сроки прогона соблюдаются.
+ */
+final class ParallelReads implements AutoCloseable {
+
+    private final ExecutorService pool;
+
+    @SuppressWarnings("try")
+    ParallelReads(int workers, String namePrefix) {
+        FairRequestScheduler.JobShare job = FairRequestScheduler.current();
+        Deadline deadline = Deadline.current();
+        AtomicInteger n = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(Math.max(1, workers), r -> {
+            Thread t = new Thread(() -> {
+                try (Deadline.Scope d = Deadline.enter(deadline)) {
+                    if (job == null) {
+                        r.run();
+                        return;
+                    }
+                    try (FairRequestScheduler.Scope scope = FairRequestScheduler.enter(job)) {
+                        r.run();
+                    }
+                }
+            }, namePrefix + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    <T> Future<T> submit(Callable<T> task) {
+        return pool.submit(task);
+    }
+
+    /**
+     * Результат задачи; ошибка задачи пробрасывается как RuntimeException
+     */
+    static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for search", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new RuntimeException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,239 @@
+package io.github.iaorekhov.jiraclient.service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+
+import io.github.iaorekhov.jiraclient.JiraClient;
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.dto.JiraIssue;
+
+/**
+ * Поиск исходных задач с разбиением на срезы по полю created.
+ * <p>
+ * Первая страница запрашивается как обычно (ORDER BY created ASC, key ASC:
+ * задачи, созданные в одну миллисекунду, упорядочены по ключу). Если всего
+ * задач больше pipeline.partitionSize, диапазон created от конца первой
+ * страницы до самой поздней задачи делится на равные интервалы примерно по
+ * partitionSize задач, и срезы читаются параллельно на pipeline.searchWorkers
+ * потоках. Крайние срезы открыты (без нижней / верхней границы), соседние
+ * делят одну границу, поэтому срезы не пересекаются и покрывают весь
+ * результат, даже если часовой пояс пользователя Jira отличается от
+ * watch.timeZone. Первый срез открыт снизу и повторяет задачи первой
+ * страницы — они отбрасываются по ключу; больше пересечений нет, поэтому
+ * помнятся только ключи первой страницы.
+ * <p>
+ * Страницы отдаются по порядку срезов (то есть по created); одновременно
+ * в памяти не больше searchWorkers срезов.
+ */
+final class PartitionedSearch implements ClonePipeline.Source {
+
+    private static final DateTimeFormatter JIRA_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+    private static final DateTimeFormatter JQL_DATE = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm");
+    // Задачи с одинаковым created упорядочены по ключу, иначе страницы срезов пересекаются
+    private static final String ORDER = " ORDER BY created ASC, key ASC";
+
+    private final JiraClient jiraClient;
+    private final String jql;
+    private final List<String> fields;
+    private final int pageSize;
+    private final int partitionSize;
+    private final int workers;
+    private final String epicKey;
+    private final ZoneId jqlZone;
+
+    // Ключи первой страницы (не больше pageSize): их повторяет только первый срез
+    private final Set<String> firstPageKeys = new HashSet<>();
+    private int partitions = 1;
+
+    PartitionedSearch(JiraClient jiraClient, String jql, List<String> fields, Config.Pipeline settings,
+            ZoneId jqlZone, String epicKey) {
+        this.jiraClient = jiraClient;
+        this.jql = jql;
+        this.fields = new ArrayList<>(fields);
+        if (!this.fields.contains("created")) {
+            this.fields.add("created");
+        }
+        this.pageSize = settings.pageSize;
+        this.partitionSize = settings.partitionSize;
+        this.workers = settings.searchWorkers;
+        this.jqlZone = jqlZone;
+        this.epicKey = epicKey;
+    }
+
+    @Override
+    public int pages(Predicate<List<JiraIssue>> pageConsumer) {
+        Map<String, Object> first = page(jql + ORDER, 0);
+        List<JiraIssue> firstIssues = issues(first);
+        int total = first.get("total") instanceof Number n ? n.intValue() : firstIssues.size();
+        int emitted = emit(firstIssues, pageConsumer);
+        for (JiraIssue issue : firstIssues) {
+            firstPageKeys.add(issue.getKey());
+        }
+        if (emitted < 0 || firstIssues.isEmpty() || firstIssues.size() >= total) {
+            return Math.abs(emitted);
+        }
+
+        List<String> slices = partitionSize > 0 && total > partitionSize
+                ? slices(parse(firstIssues.get(firstIssues.size() - 1).getCreated()), total)
+                : List.of();
+        if (slices.isEmpty()) {
+            // Разбить не на что — читаем остаток последовательно
+            int[] read = {emitted};
+            sequential(jql + ORDER, firstIssues.size(), page -> {
+                int n = emit(page, pageConsumer);
+                read[0] += Math.abs(n);
+                return n >= 0;
+            });
+            return read[0];
+        }
+        partitions = slices.size();
+        System.out.println("[Search] " + total + " issue(s) in " + epicKey + ": " + slices.size() + " partition(s)");
+
+        try (ParallelReads reads = new ParallelReads(workers, "clone-search-")) {
+            Deque<Future<List<JiraIssue>>> window = new ArrayDeque<>();
+            int next = 0;
+            while (next < slices.size() && window.size() < workers) {
+                String slice = slices.get(next++);
+                window.add(reads.submit(() -> fetchAll(slice)));
+            }
+            while (!window.isEmpty()) {
+                List<JiraIssue> slice = ParallelReads.await(window.poll());
+                if (next < slices.size()) {
+                    String s = slices.get(next++);
+                    window.add(reads.submit(() -> fetchAll(s)));
+                }
+                for (int from = 0; from < slice.size(); from += pageSize) {
+                    int n = emit(slice.subList(from, Math.min(slice.size(), from + pageSize)), pageConsumer);
+                    emitted += Math.abs(n);
+                    if (n < 0) {
+                        return emitted;
+                    }
+                }
+            }
+        }
+        return emitted;
+    }
+
+    /**
+     * Сколько срезов использовал последний поиск (1 — без разбиения)
+     */
+    int partitions() {
+        return partitions;
+    }
+
+    // JQL срезов после первой страницы: от её последней задачи до самой поздней
+    private List<String> slices(OffsetDateTime from, int total) {
+        Map<String, Object> last = page(jql + " ORDER BY created DESC, key DESC", 0, 1);
+        List<JiraIssue> lastIssues = issues(last);
+        OffsetDateTime to = lastIssues.isEmpty() ? null : parse(lastIssues.get(0).getCreated());
+        if (from == null || to == null || !to.isAfter(from)) {
+            return List.of();
+        }
+        int count = (int) Math.ceil((double) (total - pageSize) / partitionSize);
+        Duration step = count > 1 ? Duration.between(from, to).dividedBy(count) : Duration.ZERO;
+        if (step.toMinutes() < 1) {
+            return List.of(); // один срез или границы чаще минуты — JQL точнее не различает
+        }
+
+        // Внутренние границы; срез i — от границы i-1 до границы i
+        List<String> bounds = new ArrayList<>(count - 1);
+        for (int i = 1; i < count; i++) {
+            bounds.add(from.plus(step.multipliedBy(i)).atZoneSameInstant(jqlZone).format(JQL_DATE));
+        }
+        List<String> slices = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder q = new StringBuilder("(").append(jql).append(')');
+            if (i > 0) {
+                q.append(" AND created >= \"").append(bounds.get(i - 1)).append('"');
+            }
+            if (i < count - 1) {
+                q.append(" AND created < \"").append(bounds.get(i)).append('"');
+            }
+            slices.add(q.append(ORDER).toString());
+        }
+        return slices;
+    }
+
+    private List<JiraIssue> fetchAll(String sliceJql) {
+        List<JiraIssue> all = new ArrayList<>();
+        sequential(sliceJql, 0, page -> {
+            all.addAll(page);
+            return true;
+        });
+        return all;
+    }
+
+    // Постраничное чтение от startAt, пока consumer возвращает true
+    private void sequential(String q, int startAt, Predicate<List<JiraIssue>> consumer) {
+        while (true) {
+            Map<String, Object> page = page(q, startAt);
+            List<JiraIssue> issues = issues(page);
+            startAt += issues.size();
+            if (!issues.isEmpty() && !consumer.test(issues)) {
+                return;
+            }
+            Object total = page.get("total");
+            if (issues.isEmpty() || !(total instanceof Number t) || startAt >= t.intValue()) {
+                return;
+            }
+        }
+    }
+
+    // Передаёт потребителю задачи, кроме повторов первой страницы; отрицательный результат — остановиться
+    private int emit(List<JiraIssue> issues, Predicate<List<JiraIssue>> consumer) {
+        List<JiraIssue> fresh = new ArrayList<>(issues.size());
+        for (JiraIssue issue : issues) {
+            if (!firstPageKeys.contains(issue.getKey())) {
+                fresh.add(issue);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return 0;
+        }
+        return consumer.test(fresh) ? fresh.size() : -fresh.size();
+    }
+
+    private Map<String, Object> page(String q, int startAt) {
+        return page(q, startAt, pageSize);
+    }
+
+    private Map<String, Object> page(String q, int startAt, int size) {
+        try {
+            return jiraClient.searchJqlPage(q, fields, startAt, size);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to search issues in epic: " + epicKey, e);
+        }
+    }
+
+    private static List<JiraIssue> issues(Map<String, Object> page) {
+        List<Map<String, Object>> raw = JiraClient.issuesOf(page);
+        List<JiraIssue> issues = new ArrayList<>(raw.size());
+        for (Map<String, Object> m : raw) {
+            issues.add(JiraIssue.fromMap(m));
+        }
+        return issues;
+    }
+
+    private static OffsetDateTime parse(String timestamp) {
+        if (timestamp == null || timestamp.isBlank()) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(timestamp, JIRA_TIMESTAMP);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.iaorekhov.jiraclient.service;
+
+import java.util.List;
+
+/**
+ * Проверка перед записью не пройдена: ни одна задача не создана.
+ * Содержит все найденные ошибки сразу, а не первую.
+ */
+public class PreflightException extends RuntimeException {
+
+    private final List<String> errors;
+
+    public PreflightException(List<String> errors) {
+        super(buildMessage(errors));
+        this.errors = List.copyOf(errors);
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    private static String buildMessage(List<String> errors) {
+        StringBuilder sb = new StringBuilder("Preflight failed, nothing created (")
+                .append(errors.size())
+                .append(" errors):");
+        for (String e : errors) {
+            sb.append(System.lineSeparator()).append(" - ").append(e);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.iaorekhov.jiraclient.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.github.iaorekhov.jiraclient.JiraClient;
+
+/**
+ * Компоненты целевого проекта и приоритеты: индекс имя → id, загружаемый
+ * один раз. Нужен, когда клон создаётся не в проекте источника (или в другом
+ * экземпляре Jira): id компонентов там другие, поэтому они сопоставляются по
+ * имени (без учёта регистра) без дополнительных запросов на каждую задачу.
+ * Имена, которых в целевом проекте нет, запоминаются для отчёта.
+ * Потокобезопасен.
+ */
+final class ProjectValueResolver {
+
+    private final String projectKey;
+    private final Map<String, String> componentIds;
+    private final Map<String, String> priorityIds;
+    private final Set<String> unmappedComponents = ConcurrentHashMap.newKeySet();
+    private final Set<String> unmappedPriorities = ConcurrentHashMap.newKeySet();
+
+    ProjectValueResolver(String projectKey, List<Map<String, Object>> components, List<Map<String, Object>> priorities) {
+        this.projectKey = projectKey;
+        this.componentIds = index(components);
+        this.priorityIds = index(priorities);
+    }
+
+    /**
+     * Загрузка компонентов проекта и приоритетов (два запроса)
+     */
+    static ProjectValueResolver load(JiraClient jiraClient, String projectKey) {
+        try {
+            ProjectValueResolver resolver = new ProjectValueResolver(projectKey,
+                    jiraClient.getProjectComponents(projectKey), jiraClient.getPriorities());
+            System.out.println("[Resolve] " + resolver.componentIds.size() + " component(s) of " + projectKey
+                    + ", " + resolver.priorityIds.size() + " priorities");
+            return resolver;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load components/priorities of " + projectKey + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * id компонента целевого проекта с именем {@code name}; null — такого нет
+     */
+    String componentId(String name) {
+        String id = name != null ? componentIds.get(name.toLowerCase(Locale.ROOT)) : null;
+        if (id == null) {
+            unmappedComponents.add(String.valueOf(name));
+        }
+        return id;
+    }
+
+    /**
+     * id приоритета с именем {@code name}; null — такого нет
+     */
+    String priorityId(String name) {
+        String id = name != null ? priorityIds.get(name.toLowerCase(Locale.ROOT)) : null;
+        if (id == null) {
+            unmappedPriorities.add(String.valueOf(name));
+        }
+        return id;
+    }
+
+    /**
+     * Значения для заголовка снимка: режим plan восстанавливает по ним индекс без Jira
+     */
+    Map<String, Object> toSnapshot() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("projectKey", projectKey);
+        m.put("components", entries(componentIds));
+        m.put("priorities", entries(priorityIds));
+        return m;
+    }
+
+    @SuppressWarnings("unchecked")
+    static ProjectValueResolver fromSnapshot(Map<String, Object> m) {
+        return new ProjectValueResolver(String.valueOf(m.get("projectKey")),
+                (List<Map<String, Object>>) m.getOrDefault("components", List.of()),
+                (List<Map<String, Object>>) m.getOrDefault("priorities", List.of()));
+    }
+
+    /**
+     * Имена без соответствия в целевом проекте (пусто — всё сопоставлено)
+     */
+    Map<String, Object> unmapped() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        if (!unmappedComponents.isEmpty()) {
+            m.put("components", new ArrayList<>(new TreeSet<>(unmappedComponents)));
+        }
+        if (!unmappedPriorities.isEmpty()) {
+            m.put("priorities", new ArrayList<>(new TreeSet<>(unmappedPriorities)));
+        }
+        return Collections.unmodifiableMap(m);
+    }
+
+    private static Map<String, String> index(List<Map<String, Object>> values) {
+        Map<String, String> index = new ConcurrentHashMap<>();
+        for (Map<String, Object> v : values) {
+            Object id = v.get("id");
+            Object name = v.get("name");
+            if (id != null && name != null) {
+                index.putIfAbsent(String.valueOf(name).toLowerCase(Locale.ROOT), String.valueOf(id));
+            }
+        }
+        return index;
+    }
+
+    private static List<Map<String, Object>> entries(Map<String, String> index) {
+        List<Map<String, Object>> list = new ArrayList<>(index.size());
+        index.forEach((name, id) -> list.add(Map.of("id", id, "name", name)));
+        return list;
+    }
+}
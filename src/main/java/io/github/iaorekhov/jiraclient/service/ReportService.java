@@ -0,0 +1,65 @@
+package io.github.iaorekhov.jiraclient.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.dto.ReportEntry;
+
+/**
+ * Формирование и запись отчёта о клонировании (файл или поток ответа сервера)
+ */
+public class ReportService {
+
+    private static final ObjectWriter REPORT_WRITER = new ObjectMapper().writerWithDefaultPrettyPrinter();
+
+    /**
+     * Структура отчёта: шапка по конфигурации, статистика, метрики запросов и записи
+     */
+    public Map<String, Object> buildReport(Config config, List<ReportEntry> entries,
+            Map<String, Object> statistics, Map<String, Object> requestMetrics) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", timestamp());
+        report.put("sourceEpic", config.operation.sourceEpicKey);
+        report.put("targetEpic", config.operation.targetEpicKey);
+        report.put("projectKey", config.operation.projectKey);
+        report.put("dryRun", config.operation.dryRun);
+        report.put("count", entries.size());
+        report.put("statistics", statistics);
+        report.put("requestMetrics", requestMetrics);
+        report.put("items", entries);
+        return report;
+    }
+
+    /**
+     * Сохранение отчёта в файл clone-report-&lt;targetEpic&gt;-&lt;timestamp&gt;.json
+     *
+     * @return имя файла
+     */
+    public String save(Config config, Map<String, Object> report) throws IOException {
+        String filename = String.format("clone-report-%s-%s.json",
+                config.operation.targetEpicKey, report.getOrDefault("timestamp", timestamp()));
+        REPORT_WRITER.writeValue(new File(filename), report);
+        return filename;
+    }
+
+    /**
+     * Потоковая запись отчёта (без промежуточной строки)
+     */
+    public void write(OutputStream out, Map<String, Object> report) throws IOException {
+        REPORT_WRITER.writeValue(out, report);
+    }
+
+    private static String timestamp() {
+        return new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.iaorekhov.jiraclient.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.dto.JiraIssue;
+
+/**
+ * Режим export: все задачи исходного эпика (тот же JQL, что при клонировании)
+ * записываются в снимок snapshot.file (см. IssueSnapshot).
+ * <p>
+ * Страницы поиска пишутся в файл по мере получения, поэтому память не
+ * зависит от размера эпика; большой эпик читается срезами параллельно, как
+ * при клонировании. По снимку можно планировать и повторять клонирование
+ * без обращения к Jira, он же остаётся записью того, что было клонировано.
+ */
+public class SnapshotExporter {
+
+    private final Config config;
+    private final JiraCloningService cloningService;
+
+    public SnapshotExporter(Config config, JiraCloningService cloningService) {
+        this.config = config;
+        this.cloningService = cloningService;
+    }
+
+    /**
+     * Экспорт исходного эпика
+     *
+     * @return статистика: файл, число задач, размер, время
+     */
+    public Map<String, Object> export() {
+        Config.Snapshot settings = config.snapshot != null ? config.snapshot : new Config.Snapshot();
+        List<String> fields = settings.fields != null ? settings.fields : JiraCloningService.issueFields();
+        Path file = Paths.get(settings.file);
+        long started = System.nanoTime();
+
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("source", config.operation.sourceEpicKey);
+        header.put("jql", cloningService.sourceJql());
+        header.put("fields", fields);
+        header.put("baseUrl", config.jira.baseUrl);
+        // Метаданные целевой Jira для режима plan без запросов
+        header.put("epicLinkField", cloningService.getEpicLinkFieldId());
+        // Компоненты и приоритеты — по возможности: экспорт читает только источник
+        try {
+            header.put("target", cloningService.valueResolver().toSnapshot());
+        } catch (RuntimeException e) {
+            System.out.println("[Export] target values not saved, plan will report them as unmapped: " + e.getMessage());
+        }
+        header.put("exportedAt", OffsetDateTime.now().toString());
+
+        int count;
+        long bytes;
+        try (IssueSnapshot.Writer writer = IssueSnapshot.create(file, header, settings.compress)) {
+            cloningService.sourceSearch(fields).pages(page -> {
+                for (JiraIssue issue : page) {
+                    writer.write(issue);
+                }
+                return true;
+            });
+            writer.finish();
+            count = writer.count();
+            bytes = Files.size(file);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to export snapshot " + file + ": " + e.getMessage(), e);
+        }
+        System.out.println("[Export] " + count + " issue(s) of " + config.operation.sourceEpicKey + " → " + file);
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("file", file.toString());
+        stats.put("issues", count);
+        stats.put("bytes", bytes);
+        stats.put("seconds", Math.round((System.nanoTime() - started) / 1e7) / 100.0);
+        return stats;
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.iaorekhov.jiraclient.service;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.dto.JiraIssue;
+import io.github.iaorekhov.jiraclient.dto.ReportEntry;
+
+/**
+ * Режим plan: полный план клонирования по снимку (см. IssueSnapshot) без
+ * единого запроса к Jira — summary клонов, выбор исполнителя и поля запросов
+ * создания попадают в отчёт со статусом planned.
+ * <p>
+ * ID поля Epic Link, компоненты и приоритеты целевого проекта берутся из
+ * заголовка снимка (их записывает export).
+ * Страницы снимка читаются последовательно и планируются параллельно на
+ * всех ядрах; в памяти, кроме записей отчёта, не больше двух страниц на поток.
+ */
+public class SnapshotPlanner {
+
+    private final JiraCloningService cloningService;
+    private final String projectKey;
+    private final int pageSize;
+    private final int workers;
+
+    public SnapshotPlanner(Config config, JiraCloningService cloningService) {
+        this.cloningService = cloningService;
+        this.projectKey = config.operation.projectKey;
+        this.pageSize = (config.pipeline != null ? config.pipeline : new Config.Pipeline()).pageSize;
+        this.workers = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * План по снимку; записи отчёта — в порядке задач в снимке
+     */
+    public List<ReportEntry> plan(Path snapshot) {
+        Map<String, Object> header = IssueSnapshot.header(snapshot);
+        if (!(header.get("epicLinkField") instanceof String epicLinkField) || epicLinkField.isBlank()) {
+            throw new RuntimeException("Snapshot " + snapshot + " has no epicLinkField, export it again to plan offline");
+        }
+        cloningService.useEpicLinkField(epicLinkField);
+        // Компоненты и приоритеты целевого проекта; без них задачи другого проекта потребовали бы запросов
+        if (header.get("target") instanceof Map<?, ?> target && projectKey.equals(target.get("projectKey"))) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> values = (Map<String, Object>) target;
+            cloningService.useValueResolver(ProjectValueResolver.fromSnapshot(values));
+        } else {
+            cloningService.useValueResolver(new ProjectValueResolver(projectKey, List.of(), List.of()));
+            System.out.println("[Plan] snapshot has no components/priorities of " + projectKey
+                    + ": values of other projects will be reported as unmapped");
+        }
+
+        List<ReportEntry> entries = new ArrayList<>();
+        AtomicInteger n = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "plan-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            Deque<Future<List<ReportEntry>>> window = new ArrayDeque<>();
+            IssueSnapshot.read(snapshot, pageSize, page -> {
+                window.add(pool.submit(() -> planPage(page)));
+                // Готовые страницы забираем по порядку, чтобы очередь не росла
+                while (window.size() > 2 * workers || (!window.isEmpty() && window.peek().isDone())) {
+                    entries.addAll(await(window.poll()));
+                }
+                return true;
+            });
+            while (!window.isEmpty()) {
+                entries.addAll(await(window.poll()));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        System.out.println("[Plan] " + entries.size() + " issue(s) of " + header.get("source") + " planned offline");
+        return entries;
+    }
+
+    private List<ReportEntry> planPage(List<JiraIssue> page) {
+        List<ReportEntry> entries = new ArrayList<>(page.size());
+        for (JiraIssue issue : page) {
+            entries.add(cloningService.planClone(issue));
+        }
+        return entries;
+    }
+
+    private static List<ReportEntry> await(Future<List<ReportEntry>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while planning", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to plan: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.iaorekhov.jiraclient.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.github.iaorekhov.jiraclient.JiraClient;
+import io.github.iaorekhov.jiraclient.config.Config;
+
+/**
+ * Пользователи конфигурации (reporter, architect), проверенные через
+ * GET /user до первой записи: опечатка в имени или деактивированный
+ * пользователь иначе обнаруживаются только ошибкой каждого создания.
+ * <p>
+ * Проверенные пользователи кэшируются на время работы процесса (для каждого
+ * экземпляра Jira отдельно), поэтому повторные запуски и задания сервера
+ * запросов к /user не делают. Ссылка на пользователя в запросах создания
+ * берётся из ответа Jira (каноническое имя или accountId). Потокобезопасен.
+ */
+final class UserResolver {
+
+    // baseUrl + "|" + идентификатор → ссылка на пользователя для полей reporter/assignee
+    private static final Map<String, Map<String, String>> CACHE = new ConcurrentHashMap<>();
+
+    private final JiraClient jiraClient;
+    private final String baseUrl;
+
+    UserResolver(JiraClient jiraClient, String baseUrl) {
+        this.jiraClient = jiraClient;
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Проверка всех пользователей (роль → пользователь); все ошибки сразу — одним исключением
+     *
+     * @throws PreflightException пользователь не найден или неактивен
+     */
+    void verify(Map<String, Config.Reporter> users) {
+        List<String> errors = new ArrayList<>();
+        for (Map.Entry<String, Config.Reporter> e : users.entrySet()) {
+            Config.Reporter person = e.getValue();
+            String id = id(person);
+            if (id == null || CACHE.containsKey(cacheKey(id))) {
+                continue;
+            }
+            Map<String, Object> user;
+            try {
+                user = jiraClient.getUser(person.username, person.accountId);
+            } catch (Exception ex) {
+                throw new RuntimeException("Failed to check user " + id + ": " + ex.getMessage(), ex);
+            }
+            if (user == null) {
+                errors.add(e.getKey() + ": user " + id + " not found");
+            } else if (Boolean.FALSE.equals(user.get("active"))) {
+                errors.add(e.getKey() + ": user " + id + " is inactive");
+            } else {
+                CACHE.put(cacheKey(id), refOf(person, user));
+                System.out.println("[Users] " + e.getKey() + " → " + user.getOrDefault("displayName", id));
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new PreflightException(errors);
+        }
+    }
+
+    /**
+     * Ссылка на пользователя для запроса создания: проверенная, если
+     * пользователь прошёл {@link #verify}, иначе — как в конфигурации
+     * (режим plan работает без Jira)
+     */
+    Map<String, String> ref(Config.Reporter person) {
+        String id = id(person);
+        if (id == null) {
+            return Map.of();
+        }
+        Map<String, String> verified = CACHE.get(cacheKey(id));
+        return verified != null ? verified : configRef(person);
+    }
+
+    private String cacheKey(String id) {
+        return baseUrl + "|" + id;
+    }
+
+    // Сначала accountId, иначе имя — как в запросах создания
+    private static String id(Config.Reporter person) {
+        if (person == null) {
+            return null;
+        }
+        if (person.accountId != null && !person.accountId.isBlank()) {
+            return "accountId:" + person.accountId;
+        }
+        if (person.username != null && !person.username.isBlank()) {
+            return "name:" + person.username;
+        }
+        return null;
+    }
+
+    private static Map<String, String> configRef(Config.Reporter person) {
+        if (person.accountId != null && !person.accountId.isBlank()) {
+            return Map.of("accountId", person.accountId);
+        }
+        return Map.of("name", person.username);
+    }
+
+    private static Map<String, String> refOf(Config.Reporter person, Map<String, Object> user) {
+        if (person.accountId != null && !person.accountId.isBlank()) {
+            return Map.of("accountId", user.get("accountId") instanceof String a ? a : person.accountId);
+        }
+        return Map.of("name", user.get("name") instanceof String n ? n : person.username);
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.iaorekhov.jiraclient.service;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Состояние режима watch между опросами: отметка самой поздней обработанной
+ * задачи и ключи исходных задач, которые уже клонированы (или учтены при
+ * первом запуске). Хранится в JSON-файле watch.stateFile.
+ */
+public class WatchState {
+
+    private String sourceEpicKey;
+    private String targetEpicKey;
+    private String highWaterMark; // created последней обработанной задачи, ISO-8601 со смещением; null — полный просмотр
+    private String lastPollAt;
+    private Set<String> seenKeys = new LinkedHashSet<>();
+
+    public WatchState() {
+    }
+
+    public WatchState(String sourceEpicKey, String targetEpicKey) {
+        this.sourceEpicKey = sourceEpicKey;
+        this.targetEpicKey = targetEpicKey;
+    }
+
+    public String getSourceEpicKey() {
+        return sourceEpicKey;
+    }
+
+    public void setSourceEpicKey(String sourceEpicKey) {
+        this.sourceEpicKey = sourceEpicKey;
+    }
+
+    public String getTargetEpicKey() {
+        return targetEpicKey;
+    }
+
+    public void setTargetEpicKey(String targetEpicKey) {
+        this.targetEpicKey = targetEpicKey;
+    }
+
+    public String getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    public void setHighWaterMark(String highWaterMark) {
+        this.highWaterMark = highWaterMark;
+    }
+
+    public String getLastPollAt() {
+        return lastPollAt;
+    }
+
+    public void setLastPollAt(String lastPollAt) {
+        this.lastPollAt = lastPollAt;
+    }
+
+    public Set<String> getSeenKeys() {
+        return seenKeys;
+    }
+
+    public void setSeenKeys(Set<String> seenKeys) {
+        this.seenKeys = seenKeys != null ? seenKeys : new LinkedHashSet<>();
+    }
+}
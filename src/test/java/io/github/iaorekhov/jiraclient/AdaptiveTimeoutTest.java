@@ -0,0 +1,51 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+
+class AdaptiveTimeoutTest {
+
+    @Test
+    @DisplayName("ADAPTIVE TIMEOUT: slow read is cut at p99 x k and retried")
+    void slowReadIsRetriedEarly(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = new FakeJira()) {
+            AtomicInteger slowCalls = new AtomicInteger();
+            jira.on("GET", "/rest/api/2/issue/PRJ-2", c -> new FakeJira.Reply(200, FakeJira.issue("PRJ-2", "Fast")));
+            jira.on("GET", "/rest/api/2/issue/PRJ-3", c -> {
+                if (slowCalls.incrementAndGet() == 1) {
+                    Thread.sleep(3_000); // выброс: узел занят
+                }
+                return new FakeJira.Reply(200, FakeJira.issue("PRJ-3", "Outlier"));
+            });
+
+            Config.Http http = new Config.Http();
+            http.adaptiveTimeouts = true;
+            http.minTimeoutMillis = 300;
+            http.requestTimeoutSeconds = 20;
+            JiraClient client = new JiraClient(jira.baseUrl(), "token", JiraHttpClientFactory.shared(http));
+
+            for (int i = 0; i < AdaptiveTimeout.MIN_SAMPLES; i++) {
+                client.getIssue("PRJ-2", "summary");
+            }
+            long started = System.nanoTime();
+            Map<String, Object> issue = client.getIssue("PRJ-3", "summary");
+            long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+            System.out.println("  Outlier answered in " + elapsedMs + "ms");
+
+            assertEquals("PRJ-3", issue.get("key"));
+            assertEquals(2, slowCalls.get());
+            assertEquals(1, client.getRequestMetrics().endpoint("getIssue").retries());
+            assertTrue(elapsedMs < 2_000, "read should not wait for the outlier");
+            System.out.println("  ✅ retried after adaptive timeout");
+        }
+    }
+}
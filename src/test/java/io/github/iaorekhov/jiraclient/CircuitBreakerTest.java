@@ -0,0 +1,88 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+
+class CircuitBreakerTest {
+
+    private static final int WINDOW = 4;
+
+    @Test
+    @DisplayName("BREAKER: opens on failures, fails fast, closes after a successful probe")
+    void opensFailsFastAndRecovers(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = new FakeJira()) {
+            AtomicInteger status = degradedCreate(jira);
+            JiraClient client = client(jira, false);
+
+            for (int i = 0; i < WINDOW; i++) {
+                assertThrows(RuntimeException.class, () -> client.createIssue(Map.of("summary", "x")));
+            }
+            assertThrows(CircuitOpenException.class, () -> client.createIssue(Map.of("summary", "x")));
+            assertEquals(WINDOW, jira.count("POST", "/rest/api/2/issue"));
+            System.out.println("  Breakers: " + client.getCircuitBreakers());
+
+            status.set(201);
+            Thread.sleep(1_100);
+            assertEquals("PRJ-1000", client.createIssue(Map.of("summary", "x")));
+            assertEquals("closed", state(client));
+            System.out.println("  ✅ fail-fast while open, closed after probe");
+        }
+    }
+
+    @Test
+    @DisplayName("BREAKER: with pauseWhenOpen the caller waits for the probe instead of failing")
+    void pausesWhileOpen(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = new FakeJira()) {
+            AtomicInteger status = degradedCreate(jira);
+            JiraClient client = client(jira, true);
+
+            for (int i = 0; i < WINDOW; i++) {
+                assertThrows(RuntimeException.class, () -> client.createIssue(Map.of("summary", "x")));
+            }
+            assertEquals("open", state(client));
+            status.set(201);
+
+            long started = System.nanoTime();
+            assertEquals("PRJ-1000", client.createIssue(Map.of("summary", "x")));
+            long waitedMs = (System.nanoTime() - started) / 1_000_000;
+            System.out.println("  Waited " + waitedMs + "ms for half-open");
+            assertTrue(waitedMs >= 500, "call should wait while the breaker is open");
+            assertEquals(WINDOW + 1, jira.count("POST", "/rest/api/2/issue"));
+            System.out.println("  ✅ paused, then probed successfully");
+        }
+    }
+
+    private static AtomicInteger degradedCreate(FakeJira jira) {
+        AtomicInteger status = new AtomicInteger(503);
+        jira.on("POST", "/rest/api/2/issue", c -> status.get() == 201
+                ? new FakeJira.Reply(201, Map.of("key", "PRJ-1000"))
+                : new FakeJira.Reply(status.get(), Map.of("errorMessages", java.util.List.of("Service Unavailable"))));
+        return status;
+    }
+
+    private static JiraClient client(FakeJira jira, boolean pauseWhenOpen) {
+        Config.Http http = new Config.Http();
+        http.circuitBreaker = true;
+        http.breakerWindow = WINDOW;
+        http.breakerOpenSeconds = 1;
+        http.breakerHalfOpenCalls = 1;
+        http.breakerPauseWhenOpen = pauseWhenOpen;
+        return new JiraClient(jira.baseUrl(), "token", JiraHttpClientFactory.shared(http));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String state(JiraClient client) {
+        return (String) ((Map<String, Object>) client.getCircuitBreakers().get("createIssue")).get("state");
+    }
+}
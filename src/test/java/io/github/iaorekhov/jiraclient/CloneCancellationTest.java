@@ -0,0 +1,223 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.config.ConfigValidator;
+import io.github.iaorekhov.jiraclient.dto.ReportEntry;
+import io.github.iaorekhov.jiraclient.service.JiraCloningService;
+
+class CloneCancellationTest {
+
+    private static final int TOTAL = 10;
+
+    @Test
+    @DisplayName("CANCEL: in-flight issues finish, the rest are reported as cancelled")
+    void cancelStopsNewCreates(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = epic()) {
+            AtomicReference<JiraCloningService> service = new AtomicReference<>();
+            AtomicInteger keys = new AtomicInteger(1000);
+            jira.on("POST", "/rest/api/2/issue", c -> {
+                if (keys.get() == 1001) {
+                    service.get().cancel("interrupted");
+                }
+                return new FakeJira.Reply(201, Map.of("key", "PRJ-" + keys.incrementAndGet()));
+            });
+
+            Config config = config(jira);
+            service.set(new JiraCloningService(config, new JiraClient(config.jira.baseUrl, config.jira.token)));
+            List<ReportEntry> results = service.get().cloneIssues();
+            Map<String, Object> stats = service.get().getStatistics(results);
+            System.out.println("  Stats: " + stats);
+
+            assertEquals(TOTAL, results.size());
+            assertEquals(2L, stats.get("created"));
+            assertEquals((long) TOTAL - 2, stats.get("cancelled"));
+            assertEquals(0L, stats.get("failed"));
+            assertEquals(2, jira.count("POST", "/rest/api/2/issue"));
+            assertEquals(2, jira.count("POST", "/rest/api/2/issueLink"));
+            assertEquals("interrupted", results.get(TOTAL - 1).getError());
+            System.out.println("  ✅ 2 created, " + stats.get("cancelled") + " cancelled");
+        }
+    }
+
+    @Test
+    @DisplayName("DEADLINE: run deadline stops creating new clones")
+    void runDeadlineStopsNewCreates(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = epic()) {
+            AtomicInteger keys = new AtomicInteger(1000);
+            jira.on("POST", "/rest/api/2/issue", c -> {
+                Thread.sleep(400);
+                return new FakeJira.Reply(201, Map.of("key", "PRJ-" + keys.incrementAndGet()));
+            });
+
+            Config config = config(jira);
+            config.deadlines = new Config.Deadlines();
+            config.deadlines.runSeconds = 1;
+            JiraCloningService service = new JiraCloningService(config, new JiraClient(config.jira.baseUrl, config.jira.token));
+            long started = System.nanoTime();
+            List<ReportEntry> results = service.cloneIssues();
+            long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+            Map<String, Object> stats = service.getStatistics(results);
+            System.out.println("  Stats: " + stats + " in " + elapsedMs + "ms");
+
+            assertEquals(TOTAL, results.size());
+            assertTrue((Long) stats.get("cancelled") > 0);
+            assertTrue(service.isCancelled());
+            assertTrue(elapsedMs < 3000, "run should stop shortly after the deadline");
+            assertTrue(results.get(TOTAL - 1).getError().contains("run deadline"));
+            System.out.println("  ✅ stopped after " + stats.get("created") + " created");
+        }
+    }
+
+    @Test
+    @DisplayName("DEADLINE: clones created before the run deadline still get their links")
+    void linksDrainAfterRunDeadline(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = epic()) {
+            AtomicInteger keys = new AtomicInteger(1000);
+            jira.on("POST", "/rest/api/2/issue", c -> {
+                Thread.sleep(300);
+                return new FakeJira.Reply(201, Map.of("key", "PRJ-" + keys.incrementAndGet()));
+            });
+            jira.on("POST", "/rest/api/2/issueLink", c -> {
+                Thread.sleep(700);
+                return new FakeJira.Reply(201, null);
+            });
+
+            Config config = config(jira);
+            config.deadlines = new Config.Deadlines();
+            config.deadlines.runSeconds = 2;
+            config.deadlines.drainSeconds = 10;
+            JiraCloningService service = new JiraCloningService(config, new JiraClient(config.jira.baseUrl, config.jira.token));
+            List<ReportEntry> results = service.cloneIssues();
+            Map<String, Object> stats = service.getStatistics(results);
+            System.out.println("  Stats: " + stats);
+
+            long created = (Long) stats.get("created");
+            assertTrue(created > 0);
+            assertEquals(created, jira.count("POST", "/rest/api/2/issueLink"));
+            assertTrue(results.stream().filter(r -> "created".equals(r.getStatus()))
+                    .allMatch(r -> r.getWarnings() == null || r.getWarnings().isEmpty()));
+            System.out.println("  ✅ " + created + " created, all linked after the deadline");
+        }
+    }
+
+    @Test
+    @DisplayName("DEADLINE: run deadline during a slow search still returns the report")
+    void runDeadlineDuringSearch(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = new FakeJira()) {
+            jira.on("POST", "/rest/api/2/search", c -> {
+                int startAt = FakeJira.MAPPER.readTree(c.body()).get("startAt").asInt();
+                Thread.sleep(700);
+                List<Map<String, Object>> page = new ArrayList<>();
+                for (int i = startAt; i < Math.min(TOTAL, startAt + 2); i++) {
+                    page.add(FakeJira.issue("PRJ-" + (100 + i), "Issue " + i));
+                }
+                return new FakeJira.Reply(200, Map.of("startAt", startAt, "total", TOTAL, "issues", page));
+            });
+            jira.on("POST", "/rest/api/2/issueLink", c -> new FakeJira.Reply(201, null));
+            AtomicInteger keys = new AtomicInteger(1000);
+            jira.on("POST", "/rest/api/2/issue",
+                    c -> new FakeJira.Reply(201, Map.of("key", "PRJ-" + keys.incrementAndGet())));
+
+            Config config = config(jira);
+            config.pipeline.pageSize = 2;
+            config.deadlines = new Config.Deadlines();
+            config.deadlines.runSeconds = 1;
+            JiraCloningService service = new JiraCloningService(config, new JiraClient(config.jira.baseUrl, config.jira.token));
+            List<ReportEntry> results = service.cloneIssues();
+            Map<String, Object> stats = service.getStatistics(results);
+            System.out.println("  Stats: " + stats);
+
+            assertTrue(service.isCancelled());
+            assertTrue(jira.count("POST", "/rest/api/2/search") >= 2, "deadline should hit a search request");
+            assertEquals(2, results.size());
+            assertEquals(2L, stats.get("created"));
+            assertEquals(2, jira.count("POST", "/rest/api/2/issueLink"));
+            System.out.println("  ✅ report returned with " + stats.get("created") + " created");
+        }
+    }
+
+    @Test
+    @DisplayName("INTERRUPT: interrupted run waits for in-flight creates and returns the report")
+    void interruptWaitsForInFlight(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = epic()) {
+            AtomicInteger keys = new AtomicInteger(1000);
+            jira.on("POST", "/rest/api/2/issue", c -> {
+                Thread.sleep(500);
+                return new FakeJira.Reply(201, Map.of("key", "PRJ-" + keys.incrementAndGet()));
+            });
+
+            Config config = config(jira);
+            JiraCloningService service = new JiraCloningService(config, new JiraClient(config.jira.baseUrl, config.jira.token));
+            AtomicReference<List<ReportEntry>> results = new AtomicReference<>();
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            AtomicReference<Boolean> interruptKept = new AtomicReference<>();
+            Thread run = new Thread(() -> {
+                try {
+                    results.set(service.cloneIssues());
+                    interruptKept.set(Thread.currentThread().isInterrupted());
+                } catch (Throwable t) {
+                    failure.set(t);
+                }
+            }, "clone-run");
+            run.start();
+            while (jira.count("POST", "/rest/api/2/issue") == 0) {
+                Thread.sleep(20);
+            }
+            run.interrupt();
+            run.join(10_000);
+
+            assertEquals(null, failure.get());
+            Map<String, Object> stats = service.getStatistics(results.get());
+            System.out.println("  Stats: " + stats);
+            long created = (Long) stats.get("created");
+            assertEquals(TOTAL, results.get().size());
+            assertTrue(created > 0);
+            assertEquals(created, jira.count("POST", "/rest/api/2/issue"));
+            assertEquals(created, jira.count("POST", "/rest/api/2/issueLink"));
+            assertEquals((long) TOTAL - created, stats.get("cancelled"));
+            assertTrue(interruptKept.get());
+            System.out.println("  ✅ " + created + " in-flight create(s) finished before returning");
+        }
+    }
+
+    private static FakeJira epic() throws Exception {
+        FakeJira jira = new FakeJira();
+        jira.on("POST", "/rest/api/2/search", c -> {
+            List<Map<String, Object>> issues = new ArrayList<>();
+            for (int i = 0; i < TOTAL; i++) {
+                issues.add(FakeJira.issue("PRJ-" + (100 + i), "Issue " + i));
+            }
+            return new FakeJira.Reply(200, Map.of("startAt", 0, "total", TOTAL, "issues", issues));
+        });
+        jira.on("POST", "/rest/api/2/issueLink", c -> new FakeJira.Reply(201, null));
+        return jira;
+    }
+
+    private static Config config(FakeJira jira) {
+        Config config = jira.config();
+        config.operation.dryRun = false;
+        config.pipeline = new Config.Pipeline();
+        config.pipeline.createWorkers = 1;
+        config.pipeline.linkWorkers = 1;
+        new ConfigValidator().validateAndNormalize(config);
+        config.operation.remoteLink = null;
+        return config;
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.Timeout;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.config.ConfigValidator;
+import io.github.iaorekhov.jiraclient.dto.ReportEntry;
+import io.github.iaorekhov.jiraclient.service.JiraCloningService;
+
+class ClonePipelineTest {
+
+    @Test
+    @DisplayName("PIPELINE: creates start before the last search page, report keeps search order")
+    void createsOverlapWithSearch(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        int total = 25;
+        try (FakeJira jira = new FakeJira()) {
+            jira.on("POST", "/rest/api/2/search", c -> {
+                int startAt = FakeJira.MAPPER.readTree(c.body()).get("startAt").asInt();
+                int maxResults = FakeJira.MAPPER.readTree(c.body()).get("maxResults").asInt();
+                if (startAt > 0) {
+                    Thread.sleep(200); // медленные следующие страницы
+                }
+                List<Map<String, Object>> page = new ArrayList<>();
+                for (int i = startAt; i < Math.min(total, startAt + maxResults); i++) {
+                    page.add(FakeJira.issue("PRJ-" + (100 + i), "Issue " + i));
+                }
+                return new FakeJira.Reply(200, Map.of("startAt", startAt, "total", total, "issues", page));
+            });
+            AtomicInteger keys = new AtomicInteger(1000);
+            jira.on("POST", "/rest/api/2/issue", c -> new FakeJira.Reply(201, Map.of("key", "PRJ-" + keys.incrementAndGet())));
+            jira.on("POST", "/rest/api/2/issueLink", c -> new FakeJira.Reply(201, null));
+
+            Config config = jira.config();
+            config.operation.dryRun = false;
+            config.pipeline = new Config.Pipeline();
+            config.pipeline.pageSize = 10;
+            config.pipeline.partitionSize = 0;
+            config.pipeline.createWorkers = 3;
+            config.pipeline.linkWorkers = 2;
+            config.pipeline.queueCapacity = 5;
+            new ConfigValidator().validateAndNormalize(config);
+            config.operation.remoteLink = null;
+
+            JiraClient client = new JiraClient(config.jira.baseUrl, config.jira.token);
+            List<ReportEntry> results = new JiraCloningService(config, client).cloneIssues();
+
+            assertEquals(total, results.size());
+            for (int i = 0; i < total; i++) {
+                assertEquals("PRJ-" + (100 + i), results.get(i).getSourceKey());
+                assertEquals("created", results.get(i).getStatus());
+            }
+            assertEquals(total, jira.count("POST", "/rest/api/2/issueLink"));
+
+            List<FakeJira.Call> calls = jira.calls();
+            int lastSearch = -1;
+            int firstCreate = -1;
+            for (int i = 0; i < calls.size(); i++) {
+                if (calls.get(i).path().equals("/rest/api/2/search")) {
+                    lastSearch = i;
+                } else if (firstCreate < 0 && calls.get(i).path().equals("/rest/api/2/issue")) {
+                    firstCreate = i;
+                }
+            }
+            for (FakeJira.Call call : calls) {
+                if (!call.path().equals("/rest/api/2/search")) {
+                    continue;
+                }
+                assertTrue(FakeJira.MAPPER.readTree(call.body()).get("jql").asText().endsWith("ORDER BY created ASC, key ASC"),
+                        "pages by startAt need a stable order");
+            }
+            System.out.println("  First create at call #" + firstCreate + ", last search at call #" + lastSearch);
+            assertTrue(firstCreate >= 0 && firstCreate < lastSearch, "creates should overlap with search");
+            System.out.println("  ✅ " + results.size() + " issues cloned in search order");
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    @DisplayName("PIPELINE: failing entry listener does not stop workers or block the search")
+    void listenerFailureKeepsWorkersAlive(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        int total = 30;
+        try (FakeJira jira = new FakeJira()) {
+            jira.on("POST", "/rest/api/2/search", c -> {
+                List<Map<String, Object>> page = new ArrayList<>();
+                for (int i = 0; i < total; i++) {
+                    page.add(FakeJira.issue("PRJ-" + (100 + i), "Issue " + i));
+                }
+                return new FakeJira.Reply(200, Map.of("startAt", 0, "total", total, "issues", page));
+            });
+            AtomicInteger keys = new AtomicInteger(1000);
+            jira.on("POST", "/rest/api/2/issue", c -> new FakeJira.Reply(201, Map.of("key", "PRJ-" + keys.incrementAndGet())));
+            jira.on("POST", "/rest/api/2/issueLink", c -> new FakeJira.Reply(201, null));
+
+            Config config = jira.config();
+            config.operation.dryRun = false;
+            config.pipeline = new Config.Pipeline();
+            config.pipeline.createWorkers = 2;
+            config.pipeline.linkWorkers = 1;
+            config.pipeline.queueCapacity = 2;
+            new ConfigValidator().validateAndNormalize(config);
+            config.operation.remoteLink = null;
+
+            JiraCloningService service = new JiraCloningService(config, new JiraClient(config.jira.baseUrl, config.jira.token));
+            service.setEntryListener(e -> {
+                throw new IllegalStateException("listener is down");
+            });
+            List<ReportEntry> results = service.cloneIssues();
+
+            assertEquals(total, results.size());
+            assertTrue(results.stream().allMatch(r -> "created".equals(r.getStatus())
+                    && r.getWarnings().contains("not recorded: listener is down")));
+            System.out.println("  ✅ " + total + " issues cloned, listener failures reported as warnings");
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.config.ConfigValidator;
+import io.github.iaorekhov.jiraclient.dto.JiraIssue;
+import io.github.iaorekhov.jiraclient.dto.ReportEntry;
+import io.github.iaorekhov.jiraclient.service.CloneMappingStore;
+import io.github.iaorekhov.jiraclient.service.CloneSynchronizer;
+import io.github.iaorekhov.jiraclient.service.JiraCloningService;
+
+class CloneSynchronizerTest {
+
+    @Test
+    @DisplayName("SYNC: only clones whose source fields changed are updated")
+    void updatesOnlyChangedSources(TestInfo testInfo, @TempDir Path dir) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = new FakeJira()) {
+            Map<String, Object> unchanged = FakeJira.issue("PRJ-2", "Same");
+            Map<String, Object> renamed = FakeJira.issue("PRJ-3", "Renamed");
+            Map<String, Object> linked = linkTo(FakeJira.issue("PRJ-4", "Older clone"), "PRJ-104", "000.TEST.Older clone");
+            jira.on("POST", "/rest/api/2/search", c -> new FakeJira.Reply(200,
+                    Map.of("startAt", 0, "total", 3, "issues", List.of(unchanged, renamed, linked))));
+            for (String key : List.of("PRJ-102", "PRJ-103", "PRJ-104")) {
+                jira.on("PUT", "/rest/api/2/issue/" + key, c -> new FakeJira.Reply(204, null));
+            }
+
+            Config config = jira.config();
+            config.operation.dryRun = false;
+            new ConfigValidator().validateAndNormalize(config);
+            JiraClient client = new JiraClient(config.jira.baseUrl, config.jira.token);
+            JiraCloningService service = new JiraCloningService(config, client);
+
+            Path mappingFile = dir.resolve("mapping.json");
+            CloneMappingStore store = CloneMappingStore.load(mappingFile);
+            store.put("PRJ-2", "PRJ-102", service.syncHash(JiraIssue.fromMap(unchanged)));
+            store.put("PRJ-3", "PRJ-103", service.syncHash(JiraIssue.fromMap(FakeJira.issue("PRJ-3", "Original"))));
+
+            CloneSynchronizer synchronizer = new CloneSynchronizer(config, client, service, store);
+            List<ReportEntry> results = synchronizer.sync();
+            Map<String, Object> stats = synchronizer.getStatistics(results);
+            System.out.println("  Stats: " + stats);
+
+            assertEquals(0, jira.count("PUT", "/rest/api/2/issue/PRJ-102"));
+            assertEquals(1, jira.count("PUT", "/rest/api/2/issue/PRJ-103"));
+            assertEquals(1, jira.count("PUT", "/rest/api/2/issue/PRJ-104"));
+            assertEquals(1L, stats.get("unchanged"));
+            assertEquals(2L, stats.get("updated"));
+            assertTrue(jira.calls().stream().anyMatch(c -> c.body().contains("000.TEST.Renamed")));
+
+            // Повторный прогон без изменений — ни одного обновления
+            CloneMappingStore reloaded = CloneMappingStore.load(mappingFile);
+            assertEquals("PRJ-104", reloaded.get("PRJ-4").cloneKey);
+            List<ReportEntry> second = new CloneSynchronizer(config, client, service, reloaded).sync();
+            assertTrue(second.isEmpty());
+            assertEquals(2, jira.calls().stream().filter(c -> "PUT".equals(c.method())).count());
+            System.out.println("  ✅ second run: no updates");
+        }
+    }
+
+    @Test
+    @DisplayName("SYNC: the issue a source was cloned from is not taken for its clone")
+    @SuppressWarnings("unchecked")
+    void ignoresInwardCloneLink(TestInfo testInfo, @TempDir Path dir) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = new FakeJira()) {
+            // PRJ-5 сам клон PRJ-90: связь Cloners на стороне inwardIssue
+            Map<String, Object> source = FakeJira.issue("PRJ-5", "Clone of origin");
+            ((Map<String, Object>) source.get("fields")).put("issuelinks", List.of(Map.of(
+                    "type", Map.of("name", "Cloners"),
+                    "inwardIssue", Map.of("key", "PRJ-90", "fields", Map.of("summary", "000.TEST.Origin")))));
+            jira.on("POST", "/rest/api/2/search", c -> new FakeJira.Reply(200,
+                    Map.of("startAt", 0, "total", 1, "issues", List.of(source))));
+
+            Config config = jira.config();
+            config.operation.dryRun = false;
+            new ConfigValidator().validateAndNormalize(config);
+            JiraClient client = new JiraClient(config.jira.baseUrl, config.jira.token);
+            JiraCloningService service = new JiraCloningService(config, client);
+
+            List<ReportEntry> results = new CloneSynchronizer(config, client, service,
+                    CloneMappingStore.load(dir.resolve("mapping.json"))).sync();
+
+            assertEquals("unmapped", results.get(0).getStatus());
+            assertEquals(0, jira.count("PUT", "/rest/api/2/issue/PRJ-90"));
+            System.out.println("  ✅ PRJ-5 unmapped, PRJ-90 untouched");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> linkTo(Map<String, Object> issue, String cloneKey, String cloneSummary) {
+        ((Map<String, Object>) issue.get("fields")).put("issuelinks", List.of(Map.of(
+                "type", Map.of("name", "Cloners"),
+                "outwardIssue", Map.of("key", cloneKey, "fields", Map.of("summary", cloneSummary)))));
+        return issue;
+    }
+}
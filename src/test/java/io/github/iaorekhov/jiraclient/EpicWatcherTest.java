@@ -0,0 +1,79 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.config.ConfigValidator;
+import io.github.iaorekhov.jiraclient.dto.ReportEntry;
+import io.github.iaorekhov.jiraclient.service.EpicWatcher;
+import io.github.iaorekhov.jiraclient.service.JiraCloningService;
+
+class EpicWatcherTest {
+
+    @Test
+    @DisplayName("WATCH: only issues added after the baseline are cloned, state survives restart")
+    void clonesOnlyTheDelta(TestInfo testInfo, @TempDir Path dir) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = new FakeJira()) {
+            List<Map<String, Object>> epic = new CopyOnWriteArrayList<>();
+            epic.add(created(FakeJira.issue("PRJ-2", "Existing"), "2024-01-15T10:20:30.000+0000"));
+            List<String> queries = new CopyOnWriteArrayList<>();
+            jira.on("POST", "/rest/api/2/search", c -> {
+                queries.add(String.valueOf(FakeJira.MAPPER.readTree(c.body()).get("jql").asText()));
+                return new FakeJira.Reply(200, Map.of("startAt", 0, "total", epic.size(), "issues", epic));
+            });
+            jira.on("POST", "/rest/api/2/issue", c -> new FakeJira.Reply(201, Map.of("key", "PRJ-100")));
+            jira.on("POST", "/rest/api/2/issueLink", c -> new FakeJira.Reply(201, null));
+            jira.on("POST", "/rest/api/2/issue/PRJ-100/remotelink", c -> new FakeJira.Reply(201, Map.of("id", 1)));
+
+            Config config = jira.config();
+            config.operation.dryRun = false;
+            config.watch = new Config.Watch();
+            config.watch.stateFile = dir.resolve("state.json").toString();
+            config.watch.timeZone = "UTC";
+            new ConfigValidator().validateAndNormalize(config);
+
+            JiraClient client = new JiraClient(config.jira.baseUrl, config.jira.token);
+            EpicWatcher watcher = new EpicWatcher(config, new JiraCloningService(config, client));
+
+            // Первый опрос: PRJ-2 уже был в эпике — пропускается
+            assertTrue(watcher.pollOnce().isEmpty());
+            assertEquals(0, jira.count("POST", "/rest/api/2/issue"));
+
+            epic.add(created(FakeJira.issue("PRJ-3", "Added later"), "2024-01-15T11:00:00.000+0000"));
+            List<ReportEntry> delta = watcher.pollOnce();
+            assertEquals(1, delta.size());
+            assertEquals("PRJ-3", delta.get(0).getSourceKey());
+            assertEquals("created", delta.get(0).getStatus());
+            assertEquals(1, jira.count("POST", "/rest/api/2/issue"));
+            String last = queries.get(queries.size() - 1);
+            assertTrue(last.contains("created >= \"2024/01/15 10:15\""), last);
+            System.out.println("  Delta JQL: " + last);
+
+            // Перезапуск: состояние читается из файла, повторного клонирования нет
+            assertTrue(Files.exists(dir.resolve("state.json")));
+            EpicWatcher resumed = new EpicWatcher(config, new JiraCloningService(config, client));
+            assertTrue(resumed.pollOnce().isEmpty());
+            assertEquals(1, jira.count("POST", "/rest/api/2/issue"));
+            assertTrue(resumed.getState().getSeenKeys().containsAll(List.of("PRJ-2", "PRJ-3")));
+            System.out.println("  ✅ Mark: " + resumed.getState().getHighWaterMark());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> created(Map<String, Object> issue, String created) {
+        ((Map<String, Object>) issue.get("fields")).put("created", created);
+        return issue;
+    }
+}
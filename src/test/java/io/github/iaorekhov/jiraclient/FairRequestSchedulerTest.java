@@ -0,0 +1,105 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+class FairRequestSchedulerTest {
+
+    @Test
+    @DisplayName("Small job is served ahead of a long bulk backlog")
+    void smallJobDoesNotStarve(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        FairRequestScheduler scheduler = new FairRequestScheduler(1);
+        FairRequestScheduler.JobShare bulk = scheduler.register("bulk", 1, 0, 0);
+        FairRequestScheduler.JobShare urgent = scheduler.register("urgent", 1, 0, 0);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        FairRequestScheduler.Permit held = scheduler.acquire();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            threads.add(start(scheduler, bulk, order));
+            awaitWaiting(scheduler, i + 1);
+        }
+        threads.add(start(scheduler, urgent, order));
+        awaitWaiting(scheduler, 11);
+
+        held.close();
+        for (Thread t : threads) {
+            t.join(5_000);
+        }
+
+        System.out.println("  Grant order: " + order);
+        assertEquals(11, order.size());
+        assertTrue(order.indexOf("urgent") <= 1, "urgent should be served within first two grants: " + order);
+    }
+
+    @Test
+    @DisplayName("Higher priority wins and per-job cap lets other jobs use capacity")
+    void priorityAndConcurrencyCap(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        FairRequestScheduler scheduler = new FairRequestScheduler(2);
+        FairRequestScheduler.JobShare capped = scheduler.register("capped", 1, 5, 1);
+        FairRequestScheduler.JobShare other = scheduler.register("other", 1, 0, 0);
+
+        FairRequestScheduler.Permit first;
+        try (FairRequestScheduler.Scope scope = FairRequestScheduler.enter(capped)) {
+            first = scheduler.acquire();
+        }
+        assertEquals(1, scheduler.snapshot(capped).get("active"));
+
+        // Вторая попытка capped упирается в лимит 1, но место достаётся other
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        Thread cappedSecond = start(scheduler, capped, order);
+        awaitWaiting(scheduler, 1);
+        Thread otherThread = start(scheduler, other, order);
+        otherThread.join(5_000);
+        assertEquals(List.of("other"), order);
+        assertFalse(order.contains("capped"));
+
+        first.close();
+        cappedSecond.join(5_000);
+        assertEquals(List.of("other", "capped"), order);
+
+        Map<String, Object> snapshot = scheduler.snapshot();
+        assertEquals(0, snapshot.get("inUse"));
+        System.out.println("  ✅ " + snapshot);
+    }
+
+    private static Thread start(FairRequestScheduler scheduler, FairRequestScheduler.JobShare job, List<String> order) {
+        CountDownLatch started = new CountDownLatch(1);
+        Thread t = new Thread(() -> {
+            try (FairRequestScheduler.Scope scope = FairRequestScheduler.enter(job)) {
+                started.countDown();
+                try (FairRequestScheduler.Permit p = scheduler.acquire()) {
+                    order.add(job.getId());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        t.start();
+        try {
+            started.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return t;
+    }
+
+    private static void awaitWaiting(FairRequestScheduler scheduler, int expected) throws InterruptedException {
+        for (int i = 0; i < 200 && (int) scheduler.snapshot().get("waiting") < expected; i++) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+
+/**
+ * Минимальный локальный Jira REST для тестов: отвечает заданными JSON
+ * по методу и пути, записывает полученные запросы
+ */
+class FakeJira implements AutoCloseable {
+
+    static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Обработчик одного маршрута: по запросу возвращает статус и тело
+     */
+    interface Route {
+        Reply handle(Call call) throws Exception;
+    }
+
+    record Reply(int status, Object body) {
+    }
+
+    record Call(String method, String path, String query, String body) {
+    }
+
+    private final HttpServer server;
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+    private final List<Call> calls = Collections.synchronizedList(new ArrayList<>());
+
+    FakeJira() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", this::dispatch);
+        // Маршруты по умолчанию — достаточно для dry-run
+        on("GET", "/rest/api/2/myself", c -> new Reply(200, Map.of("key", "tester", "name", "tester")));
+        on("GET", "/rest/api/2/field", c -> new Reply(200, List.of(
+                Map.of("id", "customfield_10001", "name", "Epic Link"),
+                Map.of("id", "summary", "name", "Summary"))));
+        on("GET", "/rest/api/2/project/PRJ/components", c -> new Reply(200, List.of(
+                Map.of("id", "10000", "name", "Backend"),
+                Map.of("id", "10001", "name", "Architect Tribe"))));
+        on("GET", "/rest/api/2/priority", c -> new Reply(200, List.of(
+                Map.of("id", "2", "name", "High"),
+                Map.of("id", "3", "name", "Medium"))));
+        // Любой пользователь существует и активен
+        on("GET", "/rest/api/2/user", c -> {
+            String name = c.query().replaceFirst("^(username|accountId)=", "");
+            return new Reply(200, Map.of("name", name, "accountId", name, "displayName", name, "active", true));
+        });
+        // Все запрошенные права есть
+        on("GET", "/rest/api/2/mypermissions", c -> {
+            Map<String, Object> permissions = new HashMap<>();
+            for (String p : c.query().replaceFirst(".*permissions=", "").split(",|%2C")) {
+                permissions.put(p, Map.of("key", p, "havePermission", true));
+            }
+            return new Reply(200, Map.of("permissions", permissions));
+        });
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    FakeJira on(String method, String path, Route route) {
+        routes.put(method + " " + path, route);
+        return this;
+    }
+
+    List<Call> calls() {
+        synchronized (calls) {
+            return new ArrayList<>(calls);
+        }
+    }
+
+    long count(String method, String path) {
+        return calls().stream().filter(c -> c.method().equals(method) && c.path().equals(path)).count();
+    }
+
+    static Map<String, Object> issue(String key, String summary) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("summary", summary);
+        fields.put("components", List.of(Map.of("id", "10000", "name", "Backend")));
+        fields.put("priority", Map.of("id", "3", "name", "Medium"));
+        Map<String, Object> issue = new HashMap<>();
+        issue.put("key", key);
+        issue.put("fields", fields);
+        return issue;
+    }
+
+    /**
+     * Валидная конфигурация задачи, указывающая на этот сервер
+     */
+    Config config() {
+        Config c = new Config();
+        c.jira = new Config.Jira();
+        c.jira.baseUrl = baseUrl();
+        c.jira.auth = "bearer";
+        c.jira.token = "test-token";
+        c.operation = new Config.Operation();
+        c.operation.projectKey = "PRJ";
+        c.operation.sourceEpicKey = "PRJ-1";
+        c.operation.targetEpicKey = "PRJ-10";
+        c.operation.issueTypeName = "Task";
+        c.operation.summaryPrefix = "000.TEST.";
+        c.operation.description = "Cloned by tests";
+        c.operation.remoteLink = new Config.RemoteLink();
+        c.operation.remoteLink.url = "https://wiki.company.com/x/1";
+        c.operation.remoteLink.title = "000.TEST";
+        c.operation.reporter = new Config.Reporter();
+        c.operation.reporter.username = "manager";
+        c.operation.architect = new Config.Reporter();
+        c.operation.architect.username = "architect";
+        c.operation.architectComponent = "Architect Tribe";
+        c.operation.dryRun = true;
+        return c;
+    }
+
+    private void dispatch(HttpExchange ex) throws IOException {
+        try (ex) {
+            String body;
+            try (InputStream in = ex.getRequestBody()) {
+                body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            Call call = new Call(ex.getRequestMethod(), ex.getRequestURI().getPath(),
+                    ex.getRequestURI().getRawQuery(), body);
+            calls.add(call);
+
+            Route route = routes.get(call.method() + " " + call.path());
+            Reply reply;
+            try {
+                reply = route != null ? route.handle(call) : new Reply(404, Map.of("errorMessages", List.of("no route")));
+            } catch (Exception e) {
+                reply = new Reply(500, Map.of("errorMessages", List.of(String.valueOf(e.getMessage()))));
+            }
+            byte[] bytes = reply.body() == null ? new byte[0] : MAPPER.writeValueAsBytes(reply.body());
+            ex.getResponseHeaders().set("Content-Type", "application/json");
+            ex.sendResponseHeaders(reply.status(), bytes.length == 0 ? -1 : bytes.length);
+            if (bytes.length > 0) {
+                try (OutputStream os = ex.getResponseBody()) {
+                    os.write(bytes);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
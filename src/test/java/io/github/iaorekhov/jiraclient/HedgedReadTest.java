@@ -0,0 +1,82 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.metrics.RequestMetrics;
+
+class HedgedReadTest {
+
+    @Test
+    @DisplayName("HEDGE: duplicate of a slow read answers first")
+    void hedgeWinsOverSlowRead(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = slowSecondIssue()) {
+            JiraClient client = client(jira, 100.0);
+            warmUp(client);
+
+            long started = System.nanoTime();
+            Map<String, Object> issue = client.getIssue("PRJ-3", "summary");
+            long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+            RequestMetrics.Endpoint getIssue = client.getRequestMetrics().endpoint("getIssue");
+            System.out.println("  Answered in " + elapsedMs + "ms, hedges=" + getIssue.hedges() + ", wins=" + getIssue.hedgeWins());
+
+            assertEquals("PRJ-3", issue.get("key"));
+            assertEquals(2, jira.count("GET", "/rest/api/2/issue/PRJ-3"));
+            assertEquals(1, getIssue.hedges());
+            assertEquals(1, getIssue.hedgeWins());
+            assertTrue(elapsedMs < 2_000, "hedge should answer before the slow node");
+            System.out.println("  ✅ hedge answered first");
+        }
+    }
+
+    @Test
+    @DisplayName("HEDGE: no duplicates beyond the hedge budget")
+    void budgetLimitsHedges(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = slowSecondIssue()) {
+            JiraClient client = client(jira, 0.0);
+            warmUp(client);
+
+            Map<String, Object> issue = client.getIssue("PRJ-3", "summary");
+
+            assertEquals("PRJ-3", issue.get("key"));
+            assertEquals(1, jira.count("GET", "/rest/api/2/issue/PRJ-3"));
+            assertEquals(0, client.getRequestMetrics().endpoint("getIssue").hedges());
+            System.out.println("  ✅ slow read waited, no duplicate sent");
+        }
+    }
+
+    private static FakeJira slowSecondIssue() throws Exception {
+        FakeJira jira = new FakeJira();
+        AtomicInteger slowCalls = new AtomicInteger();
+        jira.on("GET", "/rest/api/2/issue/PRJ-2", c -> new FakeJira.Reply(200, FakeJira.issue("PRJ-2", "Fast")));
+        jira.on("GET", "/rest/api/2/issue/PRJ-3", c -> {
+            if (slowCalls.incrementAndGet() == 1) {
+                Thread.sleep(2_500); // узел занят сборкой мусора
+            }
+            return new FakeJira.Reply(200, FakeJira.issue("PRJ-3", "Slow node"));
+        });
+        return jira;
+    }
+
+    private static JiraClient client(FakeJira jira, double budgetPercent) {
+        Config.Http http = new Config.Http();
+        http.hedgeReads = true;
+        http.hedgeBudgetPercent = budgetPercent;
+        return new JiraClient(jira.baseUrl(), "token", JiraHttpClientFactory.shared(http));
+    }
+
+    private static void warmUp(JiraClient client) throws Exception {
+        for (int i = 0; i < HedgePolicy.MIN_SAMPLES; i++) {
+            client.getIssue("PRJ-2", "summary");
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.metrics.RequestMetrics;
+
+class IssueCacheTest {
+
+    private static final String PATH = "/rest/api/2/issue/PRJ-1";
+
+    @Test
+    @DisplayName("ISSUE CACHE: concurrent lookups share one GET, writes invalidate")
+    void coalescesAndCaches(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = new FakeJira()) {
+            jira.on("GET", PATH, c -> {
+                Thread.sleep(300);
+                return new FakeJira.Reply(200, FakeJira.issue("PRJ-1", "Epic"));
+            });
+            jira.on("PUT", PATH, c -> new FakeJira.Reply(204, null));
+
+            Config.Http http = new Config.Http();
+            http.issueCacheSize = 10;
+            http.issueCacheTtlSeconds = 60;
+            JiraClient client = new JiraClient(jira.baseUrl(), "token", JiraHttpClientFactory.shared(http));
+
+            int callers = 8;
+            ExecutorService pool = Executors.newFixedThreadPool(callers);
+            CountDownLatch go = new CountDownLatch(1);
+            List<Future<Map<String, Object>>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> {
+                    go.await();
+                    return client.getIssue("PRJ-1", "summary");
+                }));
+            }
+            go.countDown();
+            for (Future<Map<String, Object>> f : results) {
+                assertEquals("PRJ-1", f.get().get("key"));
+            }
+            pool.shutdown();
+            assertEquals(1, jira.count("GET", PATH));
+
+            // Попадание в кэш; свой экземпляр Map у каждого вызывающего
+            Map<String, Object> cached = client.getIssue("PRJ-1", "summary");
+            cached.put("key", "changed");
+            assertEquals("PRJ-1", client.getIssue("PRJ-1", "summary").get("key"));
+            assertEquals(1, jira.count("GET", PATH));
+
+            // Другой набор полей — отдельная запись; запись в задачу сбрасывает обе
+            client.getIssue("PRJ-1", "summary,priority");
+            client.updateIssue("PRJ-1", Map.of("summary", "Renamed"));
+            client.getIssue("PRJ-1", "summary");
+            assertEquals(3, jira.count("GET", PATH));
+
+            RequestMetrics m = client.getRequestMetrics();
+            System.out.println("  Cache: " + m.snapshot().get("issueCache"));
+            assertEquals(3, m.issueCacheMisses());
+            assertEquals(callers - 1 + 2, m.issueCacheHits() + m.issueCacheCoalesced());
+            assertTrue(m.issueCacheHitRate() > 0.7);
+            System.out.println("  ✅ " + jira.count("GET", PATH) + " GETs for " + (callers + 4) + " lookups");
+        }
+    }
+
+    @Test
+    @DisplayName("ISSUE CACHE: response of a GET started before a write is not cached")
+    void writeDuringLoadIsNotCached(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = new FakeJira()) {
+            CountDownLatch loading = new CountDownLatch(1);
+            jira.on("GET", PATH, c -> {
+                loading.countDown();
+                Thread.sleep(300);
+                return new FakeJira.Reply(200, FakeJira.issue("PRJ-1", "Epic"));
+            });
+            jira.on("PUT", PATH, c -> new FakeJira.Reply(204, null));
+
+            Config.Http http = new Config.Http();
+            http.issueCacheSize = 10;
+            http.issueCacheTtlSeconds = 60;
+            JiraClient client = new JiraClient(jira.baseUrl(), "token", JiraHttpClientFactory.shared(http));
+
+            ExecutorService pool = Executors.newSingleThreadExecutor();
+            Future<Map<String, Object>> stale = pool.submit(() -> client.getIssue("PRJ-1", "summary"));
+            loading.await();
+            client.updateIssue("PRJ-1", Map.of("summary", "Renamed"));
+            stale.get();
+            pool.shutdown();
+
+            client.getIssue("PRJ-1", "summary");
+            assertEquals(2, jira.count("GET", PATH));
+            client.getIssue("PRJ-1", "summary");
+            assertEquals(2, jira.count("GET", PATH));
+            System.out.println("  ✅ stale response dropped, fresh one cached");
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.config.ConfigValidator;
+import io.github.iaorekhov.jiraclient.dto.ReportEntry;
+import io.github.iaorekhov.jiraclient.service.JiraCloningService;
+
+class IssueKeyFetchTest {
+
+    private static final Pattern KEY_IN = Pattern.compile("key in \\(([^)]*)\\)");
+
+    @Test
+    @DisplayName("ISSUE KEYS: 250 keys resolved with three key-in searches, moved keys followed, missing keys reported")
+    void fetchesKeysInChunks(TestInfo testInfo, @TempDir Path dir) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = new FakeJira()) {
+            jira.on("POST", "/rest/api/2/search", c -> {
+                Matcher m = KEY_IN.matcher(FakeJira.MAPPER.readTree(c.body()).get("jql").asText());
+                assertTrue(m.find());
+                List<Map<String, Object>> issues = new ArrayList<>();
+                for (String key : m.group(1).split(",")) {
+                    if (key.equals("PRJ-120")) { // перенесённая задача — под новым ключом
+                        issues.add(FakeJira.issue("NEW-5", "Issue " + key));
+                    } else if (!key.equals("PRJ-107")) { // удалённая задача
+                        issues.add(FakeJira.issue(key, "Issue " + key));
+                    }
+                }
+                return new FakeJira.Reply(200, Map.of("startAt", 0, "total", issues.size(), "issues", issues));
+            });
+
+            jira.on("GET", "/rest/api/2/issue/PRJ-120", c -> new FakeJira.Reply(200, FakeJira.issue("NEW-5", "Issue PRJ-120")));
+            jira.on("GET", "/rest/api/2/issue/PRJ-107", c -> new FakeJira.Reply(404, Map.of("errorMessages", List.of("Issue does not exist"))));
+
+            List<String> lines = new ArrayList<>(List.of("# выборка для переноса"));
+            for (int i = 100; i < 350; i++) {
+                lines.add("PRJ-" + i);
+            }
+            Path file = dir.resolve("keys.txt");
+            Files.write(file, lines);
+
+            Config config = jira.config();
+            config.operation.issueKeys = List.of("prj-349", "PRJ-100"); // повторы ключей из файла
+            config.operation.issueKeysFile = file.toString();
+            new ConfigValidator().validateAndNormalize(config);
+            JiraClient client = new JiraClient(config.jira.baseUrl, config.jira.token);
+            List<ReportEntry> results = new JiraCloningService(config, client).cloneIssues();
+
+            assertEquals(3, jira.count("POST", "/rest/api/2/search"));
+            // Отдельно проверяются только ключи, не совпавшие с ответом поиска
+            assertEquals(2, jira.calls().stream().filter(c -> c.method().equals("GET") && c.path().startsWith("/rest/api/2/issue/")).count());
+            assertEquals(250, results.size());
+            assertEquals("PRJ-349", results.get(0).getSourceKey());
+            assertEquals("PRJ-100", results.get(1).getSourceKey());
+            ReportEntry missing = results.get(results.size() - 1);
+            assertEquals("PRJ-107", missing.getSourceKey());
+            assertEquals("failed", missing.getStatus());
+            assertEquals(1, results.stream().filter(r -> "failed".equals(r.getStatus())).count());
+            assertEquals("NEW-5", results.get(20).getSourceKey()); // на месте PRJ-120 (PRJ-107 — в конце)
+            assertEquals(249, results.stream().filter(r -> "planned".equals(r.getStatus())).count());
+            System.out.println("  ✅ 249 planned, 1 missing, " + jira.count("POST", "/rest/api/2/search") + " searches");
+        }
+    }
+}
@@ -3,6 +3,7 @@ package io.github.iaorekhov.jiraclient;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -58,6 +59,19 @@ class JiraCloningServiceDryRunTest {
             return EPIC_LINK_FIELD_ID;
         }
 
+        @Override
+        public Map<String, Object> getUser(String username, String accountId) {
+            String name = username != null ? username : accountId;
+            return Map.of("name", name, "accountId", name, "active", true);
+        }
+
+        @Override
+        public Map<String, Object> getMyPermissions(String projectKey, Collection<String> permissions) {
+            Map<String, Object> granted = new HashMap<>();
+            permissions.forEach(p -> granted.put(p, Map.of("havePermission", true)));
+            return granted;
+        }
+
         @Override
         public Map<String, Object> getIssue(String issueKey, String fields) {
             System.out.println("      [TestJiraClient] getIssue(" + issueKey + ") called");
@@ -77,6 +91,12 @@ class JiraCloningServiceDryRunTest {
             return mockSearchResults;
         }
 
+        @Override
+        public Map<String, Object> searchJqlPage(String jql, List<String> fields, int startAt, int maxResults) {
+            List<Map<String, Object>> page = startAt == 0 ? searchJql(jql, fields, maxResults) : List.of();
+            return Map.of("startAt", startAt, "total", mockSearchResults.size(), "issues", page);
+        }
+
         @Override
         public String createIssue(Map<String, Object> fields) {
             this.createdIssueFields = fields;
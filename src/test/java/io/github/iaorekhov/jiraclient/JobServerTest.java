@@ -0,0 +1,215 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.config.ConfigValidator;
+import io.github.iaorekhov.jiraclient.metrics.MetricsExporter;
+import io.github.iaorekhov.jiraclient.server.CloneJob;
+import io.github.iaorekhov.jiraclient.server.JobManager;
+import io.github.iaorekhov.jiraclient.server.JobServer;
+
+class JobServerTest {
+
+    private static final HttpClient HTTP = HttpClient.newHttpClient();
+
+    @Test
+    @DisplayName("SERVER: dry-run job is accepted, runs and exposes its report")
+    void submitPollAndFetchReport(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = new FakeJira()) {
+            jira.on("POST", "/rest/api/2/search", c -> new FakeJira.Reply(200, Map.of("issues", List.of(
+                    FakeJira.issue("PRJ-2", "First"), FakeJira.issue("PRJ-3", "Second")))));
+
+            Config process = new Config();
+            process.server = new Config.Server();
+            process.server.port = 0;
+            new ConfigValidator().validateAndNormalizeServer(process);
+
+            try (MetricsExporter exporter = MetricsExporter.start(null);
+                    JobManager jobs = new JobManager(process, exporter);
+                    JobServer server = new JobServer(process.server, jobs)) {
+                server.start();
+                String base = "http://127.0.0.1:" + server.port();
+
+                byte[] job = FakeJira.MAPPER.writeValueAsBytes(jira.config());
+                HttpResponse<String> submitted = HTTP.send(HttpRequest.newBuilder(URI.create(base + "/jobs"))
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(job)).build(),
+                        HttpResponse.BodyHandlers.ofString());
+                assertEquals(202, submitted.statusCode(), submitted.body());
+                Map<String, Object> summary = read(submitted.body());
+                String id = (String) summary.get("id");
+                System.out.println("  Submitted: " + summary);
+
+                Map<String, Object> status = Map.of();
+                for (int i = 0; i < 100; i++) {
+                    status = read(get(base + "/jobs/" + id).body());
+                    if (!"queued".equals(status.get("status")) && !"running".equals(status.get("status"))) {
+                        break;
+                    }
+                    Thread.sleep(50);
+                }
+                assertEquals("succeeded", status.get("status"), "Job status: " + status);
+
+                HttpResponse<String> report = get(base + "/jobs/" + id + "/report");
+                assertEquals(200, report.statusCode());
+                Map<String, Object> body = read(report.body());
+                assertEquals(2, body.get("count"));
+                System.out.println("  ✅ Report: " + body.get("statistics"));
+
+                assertEquals(404, get(base + "/jobs/job-999").statusCode());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("SERVER: invalid job config is rejected with validation errors")
+    void invalidJobIsRejected(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        Config process = new Config();
+        process.server = new Config.Server();
+        process.server.port = 0;
+        new ConfigValidator().validateAndNormalizeServer(process);
+
+        try (MetricsExporter exporter = MetricsExporter.start(null);
+                JobManager jobs = new JobManager(process, exporter);
+                JobServer server = new JobServer(process.server, jobs)) {
+            server.start();
+            HttpResponse<String> resp = HTTP.send(HttpRequest.newBuilder(
+                    URI.create("http://127.0.0.1:" + server.port() + "/jobs"))
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"operation\":{}}")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(400, resp.statusCode());
+            assertTrue(resp.body().contains("jira is missing"), resp.body());
+        }
+    }
+
+    @Test
+    @DisplayName("SERVER: unexpected handler failure is answered with 500")
+    void unexpectedFailureIsInternalError(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        Config process = new Config();
+        process.server = new Config.Server();
+        process.server.port = 0;
+        new ConfigValidator().validateAndNormalizeServer(process);
+
+        try (MetricsExporter exporter = MetricsExporter.start(null);
+                JobManager jobs = new JobManager(process, exporter) {
+                    @Override
+                    public CloneJob submit(Config jobConfig) {
+                        throw new IllegalStateException("job store unavailable");
+                    }
+                };
+                JobServer server = new JobServer(process.server, jobs)) {
+            server.start();
+            HttpResponse<String> resp = HTTP.send(HttpRequest.newBuilder(
+                    URI.create("http://127.0.0.1:" + server.port() + "/jobs"))
+                    .POST(HttpRequest.BodyPublishers.ofString("{}")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(500, resp.statusCode());
+            assertTrue(resp.body().contains("job store unavailable"), resp.body());
+            System.out.println("  ✅ " + resp.statusCode() + " " + resp.body());
+        }
+    }
+
+    @Test
+    @DisplayName("SERVER: job cancelled while its client connects is never run")
+    void cancelDuringStartup(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = new FakeJira()) {
+            CountDownLatch connecting = new CountDownLatch(1);
+            jira.on("GET", "/rest/api/2/myself", c -> {
+                connecting.countDown();
+                Thread.sleep(500);
+                return new FakeJira.Reply(200, Map.of("name", "tester"));
+            });
+            jira.on("POST", "/rest/api/2/search", c -> new FakeJira.Reply(200, Map.of("issues", List.of(
+                    FakeJira.issue("PRJ-2", "First")))));
+            Config process = new Config();
+            process.server = new Config.Server();
+            process.server.port = 0;
+            new ConfigValidator().validateAndNormalizeServer(process);
+
+            try (MetricsExporter exporter = MetricsExporter.start(null);
+                    JobManager jobs = new JobManager(process, exporter)) {
+                Config config = jira.config();
+                config.operation.dryRun = false;
+                CloneJob job = jobs.submit(config);
+                assertTrue(connecting.await(5, TimeUnit.SECONDS));
+
+                assertTrue(jobs.cancel(job.getId()));
+                for (int i = 0; i < 100 && !job.getStatus().isFinished(); i++) {
+                    Thread.sleep(50);
+                }
+                Thread.sleep(1000); // поток задачи дождался /myself: статус не должен смениться
+
+                assertEquals(CloneJob.Status.CANCELLED, job.getStatus());
+                assertEquals(0, jira.count("POST", "/rest/api/2/issue"));
+                assertTrue(job.snapshotEntries().stream().noneMatch(e -> "created".equals(e.getStatus())));
+                System.out.println("  ✅ " + job.summary().get("status") + ", nothing created");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("SERVER: clients with different tokens for one Jira get separate metrics")
+    void clientMetricsPerToken(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = new FakeJira()) {
+            jira.on("POST", "/rest/api/2/search", c -> new FakeJira.Reply(200, Map.of("issues", List.of(
+                    FakeJira.issue("PRJ-2", "First")))));
+            Config process = new Config();
+            process.server = new Config.Server();
+            process.server.port = 0;
+            new ConfigValidator().validateAndNormalizeServer(process);
+
+            try (MetricsExporter exporter = MetricsExporter.start(null);
+                    JobManager jobs = new JobManager(process, exporter)) {
+                List<CloneJob> submitted = new ArrayList<>();
+                for (String token : List.of("token-a", "token-b")) {
+                    Config config = jira.config();
+                    config.jira.token = token;
+                    submitted.add(jobs.submit(config));
+                }
+                for (CloneJob job : submitted) {
+                    for (int i = 0; i < 100 && !job.getStatus().isFinished(); i++) {
+                        Thread.sleep(50);
+                    }
+                    assertEquals(CloneJob.Status.SUCCEEDED, job.getStatus(), String.valueOf(job.summary()));
+                }
+
+                String scrape = exporter.scrape();
+                assertTrue(scrape.contains("client=\"" + jira.baseUrl() + "\""), scrape);
+                assertTrue(scrape.contains("client=\"" + jira.baseUrl() + "#2\""), scrape);
+                assertFalse(scrape.contains("token-"), "tokens must not leak into metrics");
+                System.out.println("  ✅ two clients registered for " + jira.baseUrl());
+            }
+        }
+    }
+
+    private static HttpResponse<String> get(String url) throws Exception {
+        return HTTP.send(HttpRequest.newBuilder(URI.create(url)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static Map<String, Object> read(String json) throws Exception {
+        return FakeJira.MAPPER.readValue(json, new TypeReference<Map<String, Object>>() {
+        });
+    }
+}
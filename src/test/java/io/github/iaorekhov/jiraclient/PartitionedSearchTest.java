@@ -0,0 +1,108 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.config.ConfigValidator;
+import io.github.iaorekhov.jiraclient.dto.ReportEntry;
+import io.github.iaorekhov.jiraclient.service.JiraCloningService;
+
+class PartitionedSearchTest {
+
+    private static final Pattern FROM = Pattern.compile("created >= \"([^\"]+)\"");
+    private static final Pattern TO = Pattern.compile("created < \"([^\"]+)\"");
+    private static final DateTimeFormatter JQL_DATE = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm");
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    @DisplayName("PARTITIONS: 450 issues read in created slices, no duplicates, order kept")
+    void readsEpicInSlices(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = new FakeJira()) {
+            // Задача PRJ-(1000+i) создана через i часов после START (UTC)
+            Set<String> sliceQueries = new HashSet<>(); // разные JQL срезов
+            jira.on("POST", "/rest/api/2/search", c -> {
+                JsonNode body = FakeJira.MAPPER.readTree(c.body());
+                String jql = body.get("jql").asText();
+                LocalDateTime from = bound(FROM, jql);
+                LocalDateTime to = bound(TO, jql);
+                if (from != null || to != null) {
+                    synchronized (sliceQueries) {
+                        sliceQueries.add(jql);
+                    }
+                }
+                List<Integer> matching = new ArrayList<>();
+                for (int i = 0; i < 450; i++) {
+                    LocalDateTime created = START.plusHours(i);
+                    if ((from == null || !created.isBefore(from)) && (to == null || created.isBefore(to))) {
+                        matching.add(i);
+                    }
+                }
+                if (jql.endsWith("DESC")) {
+                    matching = matching.reversed();
+                }
+                int startAt = body.get("startAt").asInt();
+                int max = body.get("maxResults").asInt();
+                List<Map<String, Object>> issues = new ArrayList<>();
+                for (int i : matching.subList(Math.min(startAt, matching.size()), Math.min(startAt + max, matching.size()))) {
+                    Map<String, Object> issue = FakeJira.issue("PRJ-" + (1000 + i), "Issue " + i);
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> fields = (Map<String, Object>) issue.get("fields");
+                    fields.put("created", START.plusHours(i).atOffset(ZoneOffset.UTC).format(TIMESTAMP));
+                    issues.add(issue);
+                }
+                return new FakeJira.Reply(200, Map.of("startAt", startAt, "total", matching.size(), "issues", issues));
+            });
+
+            Config config = jira.config();
+            config.pipeline = new Config.Pipeline();
+            config.pipeline.pageSize = 50;
+            config.pipeline.partitionSize = 100;
+            config.watch = new Config.Watch();
+            config.watch.timeZone = "UTC";
+            new ConfigValidator().validateAndNormalize(config);
+            JiraClient client = new JiraClient(config.jira.baseUrl, config.jira.token);
+            List<ReportEntry> results = new JiraCloningService(config, client).cloneIssues();
+
+            assertEquals(4, sliceQueries.size());
+            for (FakeJira.Call call : jira.calls()) {
+                if (!call.path().equals("/rest/api/2/search")) {
+                    continue;
+                }
+                String jql = FakeJira.MAPPER.readTree(call.body()).get("jql").asText();
+                assertTrue(jql.endsWith("key ASC") || jql.endsWith("created DESC, key DESC"),
+                        "created alone does not order issues created in the same millisecond: " + jql);
+            }
+            assertEquals(450, results.size());
+            assertEquals(450, new HashSet<>(results.stream().map(ReportEntry::getSourceKey).toList()).size());
+            for (int i = 0; i < 450; i++) {
+                assertEquals("PRJ-" + (1000 + i), results.get(i).getSourceKey());
+            }
+            assertTrue(results.stream().allMatch(r -> "planned".equals(r.getStatus())));
+            System.out.println("  ✅ 450 issues in " + sliceQueries.size() + " slices, "
+                    + jira.count("POST", "/rest/api/2/search") + " searches");
+        }
+    }
+
+    private static LocalDateTime bound(Pattern p, String jql) {
+        Matcher m = p.matcher(jql);
+        return m.find() ? LocalDateTime.parse(m.group(1), JQL_DATE) : null;
+    }
+}
@@ -0,0 +1,73 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.config.ConfigValidator;
+import io.github.iaorekhov.jiraclient.dto.ReportEntry;
+import io.github.iaorekhov.jiraclient.service.JiraCloningService;
+import io.github.iaorekhov.jiraclient.service.PreflightException;
+
+class PermissionCheckTest {
+
+    @Test
+    @DisplayName("PERMISSIONS: missing permissions named in one error, nothing searched or created")
+    void rejectsMissingPermissions(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = fakeJira()) {
+            Config config = jira.config();
+            config.operation.dryRun = false;
+            new ConfigValidator().validateAndNormalize(config);
+            JiraClient client = new JiraClient(config.jira.baseUrl, config.jira.token);
+
+            PreflightException e = assertThrows(PreflightException.class,
+                    () -> new JiraCloningService(config, client).cloneIssues());
+
+            assertEquals(List.of("permission LINK_ISSUES missing in project PRJ",
+                    "permission MODIFY_REPORTER missing in project PRJ"), e.getErrors());
+            assertEquals(1, jira.count("GET", "/rest/api/2/mypermissions"));
+            assertEquals(0, jira.count("POST", "/rest/api/2/search"));
+            assertEquals(0, jira.count("POST", "/rest/api/2/issue"));
+            System.out.println("  ✅ " + e.getMessage().replace(System.lineSeparator(), " "));
+        }
+    }
+
+    @Test
+    @DisplayName("PERMISSIONS: dry-run only warns about missing permissions")
+    void dryRunWarns(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = fakeJira()) {
+            jira.on("POST", "/rest/api/2/search", c -> new FakeJira.Reply(200, Map.of("startAt", 0, "total", 1,
+                    "issues", List.of(FakeJira.issue("PRJ-100", "Issue")))));
+            Config config = jira.config();
+            new ConfigValidator().validateAndNormalize(config);
+            JiraClient client = new JiraClient(config.jira.baseUrl, config.jira.token);
+
+            List<ReportEntry> results = new JiraCloningService(config, client).cloneIssues();
+
+            assertEquals(1, results.size());
+            assertTrue(results.stream().allMatch(r -> "planned".equals(r.getStatus())));
+            System.out.println("  ✅ dry-run planned despite missing permissions");
+        }
+    }
+
+    private static FakeJira fakeJira() throws Exception {
+        FakeJira jira = new FakeJira();
+        jira.on("GET", "/rest/api/2/mypermissions", c -> {
+            assertTrue(c.query().startsWith("projectKey=PRJ&permissions="), c.query());
+            return new FakeJira.Reply(200, Map.of("permissions", Map.of(
+                    "CREATE_ISSUES", Map.of("key", "CREATE_ISSUES", "havePermission", true),
+                    "LINK_ISSUES", Map.of("key", "LINK_ISSUES", "havePermission", false),
+                    "ASSIGN_ISSUES", Map.of("key", "ASSIGN_ISSUES", "havePermission", true))));
+        });
+        return jira;
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.config.ConfigValidator;
+import io.github.iaorekhov.jiraclient.dto.ReportEntry;
+import io.github.iaorekhov.jiraclient.service.JiraCloningService;
+import io.github.iaorekhov.jiraclient.service.PreflightException;
+
+class PreflightTest {
+
+    @Test
+    @DisplayName("PREFLIGHT: invalid payloads reported together, nothing created")
+    void rejectsBeforeAnyWrite(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = fakeJira(true)) {
+            Config config = jira.config();
+            config.operation.dryRun = false;
+            config.operation.preflight = true;
+            new ConfigValidator().validateAndNormalize(config);
+            JiraClient client = new JiraClient(config.jira.baseUrl, config.jira.token);
+
+            PreflightException e = assertThrows(PreflightException.class,
+                    () -> new JiraCloningService(config, client).cloneIssues());
+
+            assertEquals(3, e.getErrors().size()); // PRJ-105, PRJ-115, PRJ-125 с чужим компонентом
+            assertTrue(e.getErrors().get(0).startsWith("PRJ-105: Component/s: '10500'"), e.getErrors().get(0));
+            assertEquals(1, jira.count("GET", "/rest/api/2/issue/createmeta"));
+            assertEquals(0, jira.count("POST", "/rest/api/2/issue"));
+            System.out.println("  ✅ " + e.getMessage().replace(System.lineSeparator(), " "));
+        }
+    }
+
+    @Test
+    @DisplayName("PREFLIGHT: valid payloads pass with one createmeta request, then cloning proceeds")
+    void passesValidPayloads(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = fakeJira(false)) {
+            Config config = jira.config();
+            config.operation.preflight = true;
+            new ConfigValidator().validateAndNormalize(config);
+            JiraClient client = new JiraClient(config.jira.baseUrl, config.jira.token);
+
+            List<ReportEntry> results = new JiraCloningService(config, client).cloneIssues();
+
+            assertEquals(30, results.size());
+            assertTrue(results.stream().allMatch(r -> "planned".equals(r.getStatus())));
+            assertEquals(1, jira.count("GET", "/rest/api/2/issue/createmeta"));
+            System.out.println("  ✅ 30 payloads valid, 30 planned");
+        }
+    }
+
+    private static FakeJira fakeJira(boolean foreignComponents) throws Exception {
+        FakeJira jira = new FakeJira();
+        jira.on("POST", "/rest/api/2/search", c -> {
+            List<Map<String, Object>> issues = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                Map<String, Object> issue = FakeJira.issue("PRJ-" + (100 + i), "Issue " + i);
+                if (foreignComponents && i % 10 == 5) {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> fields = (Map<String, Object>) issue.get("fields");
+                    fields.put("components", List.of(Map.of("id", "10500", "name", "Legacy")));
+                }
+                issues.add(issue);
+            }
+            return new FakeJira.Reply(200, Map.of("startAt", 0, "total", issues.size(), "issues", issues));
+        });
+        jira.on("GET", "/rest/api/2/issue/createmeta", c -> {
+            assertTrue(c.query().contains("projectKeys=PRJ"));
+            Map<String, Object> fields = Map.of(
+                    "project", Map.of("name", "Project", "required", true,
+                            "allowedValues", List.of(Map.of("id", "1", "key", "PRJ"))),
+                    "issuetype", Map.of("name", "Issue Type", "required", true,
+                            "allowedValues", List.of(Map.of("id", "3", "name", "Task"))),
+                    "summary", Map.of("name", "Summary", "required", true),
+                    "description", Map.of("name", "Description", "required", false),
+                    "customfield_10001", Map.of("name", "Epic Link", "required", false),
+                    "components", Map.of("name", "Component/s", "required", false,
+                            "allowedValues", List.of(Map.of("id", "10000", "name", "Backend"))),
+                    "priority", Map.of("name", "Priority", "required", false, "hasDefaultValue", true,
+                            "allowedValues", List.of(Map.of("id", "3", "name", "Medium"))),
+                    "reporter", Map.of("name", "Reporter", "required", true),
+                    "assignee", Map.of("name", "Assignee", "required", false));
+            return new FakeJira.Reply(200, Map.of("projects", List.of(Map.of("key", "PRJ",
+                    "issuetypes", List.of(Map.of("name", "Task", "fields", fields))))));
+        });
+        jira.on("POST", "/rest/api/2/issue", c -> new FakeJira.Reply(201, Map.of("key", "PRJ-999")));
+        return jira;
+    }
+}
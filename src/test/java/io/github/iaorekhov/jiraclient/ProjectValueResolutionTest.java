@@ -0,0 +1,112 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.config.ConfigValidator;
+import io.github.iaorekhov.jiraclient.dto.ReportEntry;
+import io.github.iaorekhov.jiraclient.service.CloneMappingStore;
+import io.github.iaorekhov.jiraclient.service.CloneSynchronizer;
+import io.github.iaorekhov.jiraclient.service.JiraCloningService;
+
+class ProjectValueResolutionTest {
+
+    @Test
+    @DisplayName("RESOLVE: components and priority of another project mapped by name, lookups loaded once")
+    void mapsValuesByName(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = new FakeJira()) {
+            jira.on("POST", "/rest/api/2/search", c -> {
+                List<Map<String, Object>> issues = new ArrayList<>();
+                for (int i = 0; i < 20; i++) {
+                    Map<String, Object> issue = FakeJira.issue("OLD-" + (100 + i), "Issue " + i);
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> fields = (Map<String, Object>) issue.get("fields");
+                    fields.put("project", Map.of("key", "OLD"));
+                    fields.put("components", List.of(
+                            Map.of("id", "555", "name", "backend"),
+                            Map.of("id", "556", "name", "Legacy")));
+                    fields.put("priority", Map.of("id", "9", "name", "Medium"));
+                    issues.add(issue);
+                }
+                return new FakeJira.Reply(200, Map.of("startAt", 0, "total", issues.size(), "issues", issues));
+            });
+            List<JsonNode> creates = new ArrayList<>();
+            jira.on("POST", "/rest/api/2/issue", c -> {
+                synchronized (creates) {
+                    creates.add(FakeJira.MAPPER.readTree(c.body()).get("fields"));
+                }
+                return new FakeJira.Reply(201, Map.of("key", "PRJ-500"));
+            });
+            jira.on("POST", "/rest/api/2/issueLink", c -> new FakeJira.Reply(201, null));
+
+            Config config = jira.config();
+            config.operation.dryRun = false;
+            new ConfigValidator().validateAndNormalize(config);
+            config.operation.remoteLink = null; // без remote link: проверяются только создания
+            JiraClient client = new JiraClient(config.jira.baseUrl, config.jira.token);
+            JiraCloningService service = new JiraCloningService(config, client);
+            List<ReportEntry> results = service.cloneIssues();
+
+            assertEquals(20, creates.size());
+            for (JsonNode fields : creates) {
+                assertEquals(1, fields.get("components").size());
+                assertEquals("10000", fields.get("components").get(0).get("id").asText());
+                assertEquals("3", fields.get("priority").get("id").asText());
+            }
+            assertEquals(1, jira.count("GET", "/rest/api/2/project/PRJ/components"));
+            assertEquals(1, jira.count("GET", "/rest/api/2/priority"));
+            assertTrue(results.get(0).getWarnings().get(0).contains("'Legacy'"));
+            assertEquals(Map.of("components", List.of("Legacy")), service.getStatistics(results).get("unmapped"));
+            System.out.println("  ✅ 20 creates mapped with 2 lookups, unmapped: "
+                    + service.getStatistics(results).get("unmapped"));
+        }
+    }
+
+    @Test
+    @DisplayName("RESOLVE: sync updates clones of another project with mapped component and priority ids")
+    void syncMapsValuesByName(TestInfo testInfo, @TempDir Path dir) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = new FakeJira()) {
+            Map<String, Object> source = FakeJira.issue("OLD-7", "Renamed");
+            @SuppressWarnings("unchecked")
+            Map<String, Object> fields = (Map<String, Object>) source.get("fields");
+            fields.put("project", Map.of("key", "OLD"));
+            fields.put("components", List.of(Map.of("id", "555", "name", "Backend")));
+            fields.put("priority", Map.of("id", "8", "name", "High"));
+            jira.on("POST", "/rest/api/2/search", c -> new FakeJira.Reply(200,
+                    Map.of("startAt", 0, "total", 1, "issues", List.of(source))));
+            List<JsonNode> updates = new ArrayList<>();
+            jira.on("PUT", "/rest/api/2/issue/PRJ-107", c -> {
+                updates.add(FakeJira.MAPPER.readTree(c.body()).get("fields"));
+                return new FakeJira.Reply(204, null);
+            });
+
+            Config config = jira.config();
+            config.operation.dryRun = false;
+            new ConfigValidator().validateAndNormalize(config);
+            JiraClient client = new JiraClient(config.jira.baseUrl, config.jira.token);
+            JiraCloningService service = new JiraCloningService(config, client);
+            CloneMappingStore store = CloneMappingStore.load(dir.resolve("mapping.json"));
+            store.put("OLD-7", "PRJ-107", "outdated");
+
+            List<ReportEntry> results = new CloneSynchronizer(config, client, service, store).sync();
+
+            assertEquals("updated", results.get(0).getStatus());
+            assertEquals("10000", updates.get(0).get("components").get(0).get("id").asText());
+            assertEquals("2", updates.get(0).get("priority").get("id").asText());
+            System.out.println("  ✅ PRJ-107 updated with " + updates.get(0));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import io.github.iaorekhov.jiraclient.metrics.CloneCounters;
+import io.github.iaorekhov.jiraclient.metrics.LatencyHistogram;
+import io.github.iaorekhov.jiraclient.metrics.MetricsExporter;
+import io.github.iaorekhov.jiraclient.metrics.RequestMetrics;
+
+class RequestMetricsTest {
+
+    @Test
+    @DisplayName("Histogram percentiles stay within ~3% of exact values")
+    void histogramPercentilesAreAccurate(TestInfo testInfo) {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        LatencyHistogram h = new LatencyHistogram();
+        for (int ms = 1; ms <= 1000; ms++) {
+            h.recordMicros(ms * 1_000L);
+        }
+
+        assertEquals(1000, h.count());
+        assertEquals(500.5, h.meanMillis(), 0.01);
+        assertEquals(1000.0, h.maxMillis(), 0.01);
+        assertEquals(500.0, h.percentileMillis(50), 500.0 * 0.035);
+        assertEquals(990.0, h.percentileMillis(99), 990.0 * 0.035);
+        System.out.println("  ✅ p50=" + h.percentileMillis(50) + " p99=" + h.percentileMillis(99));
+    }
+
+    @Test
+    @DisplayName("Empty histogram reports zeros")
+    void emptyHistogram(TestInfo testInfo) {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        LatencyHistogram h = new LatencyHistogram();
+        assertEquals(0, h.count());
+        assertEquals(0.0, h.percentileMillis(99));
+        assertEquals(0.0, h.meanMillis());
+    }
+
+    @Test
+    @DisplayName("Request metrics split by endpoint and status class")
+    @SuppressWarnings("unchecked")
+    void requestMetricsSnapshot(TestInfo testInfo) {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        RequestMetrics m = new RequestMetrics();
+
+        m.requestStarted();
+        m.requestStarted();
+        assertEquals(2, m.inFlight());
+        m.requestFinished("createIssue", 201, 5_000_000L, 300, 80);
+        m.requestFinished("createIssue", 400, 2_000_000L, 300, 120);
+        m.retry("createIssue");
+        m.requestStarted();
+        m.requestFinished("search", -1, 30_000_000L, 100, 0);
+
+        assertEquals(0, m.inFlight());
+        assertEquals(2, m.peakInFlight());
+        assertEquals(700, m.totalBytesSent());
+        assertEquals(200, m.totalBytesReceived());
+        assertEquals(1, m.totalRetries());
+        assertEquals(1, m.endpoint("createIssue").errors());
+
+        Map<String, Object> snapshot = m.snapshot();
+        Map<String, Object> endpoints = (Map<String, Object>) snapshot.get("endpoints");
+        Map<String, Object> create = (Map<String, Object>) endpoints.get("createIssue");
+        Map<String, Object> byStatus = (Map<String, Object>) create.get("byStatus");
+        assertTrue(byStatus.containsKey("2xx"));
+        assertTrue(byStatus.containsKey("4xx"));
+        Map<String, Object> search = (Map<String, Object>) endpoints.get("search");
+        assertTrue(((Map<String, Object>) search.get("byStatus")).containsKey(RequestMetrics.IO_ERROR));
+        System.out.println("  ✅ snapshot: " + snapshot);
+    }
+
+    @Test
+    @DisplayName("Prometheus scrape contains clone and request series")
+    void prometheusScrape(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        CloneCounters counters = new CloneCounters();
+        counters.record("created");
+        counters.record("failed");
+        RequestMetrics m = new RequestMetrics();
+        m.requestStarted();
+        m.requestFinished("createIssue", 201, 5_000_000L, 300, 80);
+
+        try (MetricsExporter exporter = MetricsExporter.start(null)) {
+            exporter.registerJob("PRJ-10", counters);
+            exporter.registerClient("https://jira", m);
+            String text = exporter.scrape();
+            System.out.println(text);
+
+            assertTrue(text.contains("jiraclient_clone_issues_total{clone_job=\"PRJ-10\",status=\"created\"} 1"));
+            assertTrue(text.contains("jiraclient_http_requests_total{client=\"https://jira\",endpoint=\"createIssue\",status_class=\"2xx\"} 1"));
+            assertTrue(text.contains("jiraclient_http_request_duration_seconds_count{client=\"https://jira\",endpoint=\"createIssue\"} 1"));
+            assertTrue(text.contains("# TYPE jiraclient_http_in_flight_requests gauge"));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.config.ConfigValidator;
+import io.github.iaorekhov.jiraclient.dto.JiraIssue;
+import io.github.iaorekhov.jiraclient.service.IssueSnapshot;
+import io.github.iaorekhov.jiraclient.service.JiraCloningService;
+import io.github.iaorekhov.jiraclient.service.SnapshotExporter;
+
+class SnapshotExportTest {
+
+    @Test
+    @DisplayName("EXPORT: 230 issues streamed page by page into a gzip NDJSON snapshot")
+    void exportsEpicToSnapshot(TestInfo testInfo, @TempDir Path dir) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = new FakeJira()) {
+            jira.on("POST", "/rest/api/2/search", c -> {
+                JsonNode body = FakeJira.MAPPER.readTree(c.body());
+                int startAt = body.get("startAt").asInt();
+                int end = Math.min(230, startAt + body.get("maxResults").asInt());
+                List<Map<String, Object>> issues = new ArrayList<>();
+                for (int i = startAt; i < end; i++) {
+                    issues.add(FakeJira.issue("PRJ-" + (100 + i), "Задача " + i));
+                }
+                return new FakeJira.Reply(200, Map.of("startAt", startAt, "total", 230, "issues", issues));
+            });
+
+            // Компоненты целевого проекта недоступны — экспорт источника всё равно выполняется
+            jira.on("GET", "/rest/api/2/project/PRJ/components", c -> new FakeJira.Reply(403, Map.of()));
+
+            Config config = jira.config();
+            config.snapshot = new Config.Snapshot();
+            config.snapshot.file = dir.resolve("epic.ndjson.gz").toString();
+            new ConfigValidator().validateAndNormalize(config);
+            JiraClient client = new JiraClient(config.jira.baseUrl, config.jira.token);
+            Map<String, Object> stats = new SnapshotExporter(config, new JiraCloningService(config, client)).export();
+
+            Path file = Path.of(config.snapshot.file);
+            assertEquals(230, stats.get("issues"));
+            assertEquals(3, jira.count("POST", "/rest/api/2/search"));
+            assertFalse(Files.exists(dir.resolve("epic.ndjson.gz.tmp")));
+            try (InputStream in = Files.newInputStream(file)) {
+                assertEquals(0x1f, in.read());
+                assertEquals(0x8b, in.read());
+            }
+            assertEquals("PRJ-1", IssueSnapshot.header(file).get("source"));
+            assertFalse(IssueSnapshot.header(file).containsKey("target"));
+
+            List<JiraIssue> read = new ArrayList<>();
+            assertEquals(230, IssueSnapshot.read(file, 100, page -> {
+                assertTrue(page.size() <= 100);
+                read.addAll(page);
+                return true;
+            }));
+            assertEquals("PRJ-100", read.get(0).getKey());
+            assertEquals("Задача 229", read.get(229).getSummary());
+            assertEquals("Medium", read.get(5).getPriority().getName());
+            System.out.println("  ✅ " + stats.get("issues") + " issues, " + stats.get("bytes") + " bytes");
+        }
+    }
+
+    @Test
+    @DisplayName("EXPORT: snapshot without end record is rejected as truncated")
+    void rejectsTruncatedSnapshot(TestInfo testInfo, @TempDir Path dir) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        Path file = dir.resolve("cut.ndjson");
+        Files.writeString(file, "{\"snapshot\":{\"format\":1,\"source\":\"PRJ-1\"}}\n"
+                + "{\"key\":\"PRJ-2\",\"fields\":{\"summary\":\"a\"}}\n");
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> IssueSnapshot.read(file, 10, page -> true));
+        assertTrue(e.getMessage().contains("truncated"));
+        System.out.println("  ✅ " + e.getMessage());
+    }
+}
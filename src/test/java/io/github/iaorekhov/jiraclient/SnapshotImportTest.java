@@ -0,0 +1,127 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.config.ConfigValidator;
+import io.github.iaorekhov.jiraclient.dto.JiraIssue;
+import io.github.iaorekhov.jiraclient.dto.ReportEntry;
+import io.github.iaorekhov.jiraclient.service.IssueSnapshot;
+import io.github.iaorekhov.jiraclient.service.JiraCloningService;
+
+class SnapshotImportTest {
+
+    @Test
+    @DisplayName("IMPORT: 120 issues from a snapshot of another instance created in bulk, rejected element reported")
+    void importsSnapshotInBulk(TestInfo testInfo, @TempDir Path dir) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        Path file = dir.resolve("epic.ndjson.gz");
+        try (IssueSnapshot.Writer writer = IssueSnapshot.create(file,
+                Map.of("source", "OLD-1", "baseUrl", "https://old-jira.example"), true)) {
+            for (int i = 0; i < 120; i++) {
+                writer.write(JiraIssue.fromMap(FakeJira.issue("OLD-" + (100 + i), i == 7 ? "broken" : "Issue " + i)));
+            }
+            writer.finish();
+        }
+
+        try (FakeJira jira = new FakeJira()) {
+            AtomicInteger nextKey = new AtomicInteger(1000);
+            List<Integer> bulkSizes = new ArrayList<>();
+            jira.on("POST", "/rest/api/2/issue/bulk", c -> {
+                JsonNode updates = FakeJira.MAPPER.readTree(c.body()).get("issueUpdates");
+                synchronized (bulkSizes) {
+                    bulkSizes.add(updates.size());
+                }
+                List<Map<String, Object>> issues = new ArrayList<>();
+                List<Map<String, Object>> errors = new ArrayList<>();
+                for (int i = 0; i < updates.size(); i++) {
+                    JsonNode fields = updates.get(i).get("fields");
+                    assertEquals("PRJ-10", fields.get("customfield_10001").asText());
+                    if (fields.get("summary").asText().endsWith("broken")) {
+                        errors.add(Map.of("status", 400, "failedElementNumber", i,
+                                "elementErrors", Map.of("errors", Map.of("summary", "rejected"))));
+                    } else {
+                        issues.add(Map.of("key", "PRJ-" + nextKey.incrementAndGet()));
+                    }
+                }
+                return new FakeJira.Reply(201, Map.of("issues", issues, "errors", errors));
+            });
+            jira.on("POST", "/rest/api/2/issue", c ->
+                    new FakeJira.Reply(201, Map.of("key", "PRJ-" + nextKey.incrementAndGet())));
+
+            Config config = jira.config();
+            config.operation.dryRun = false;
+            config.pipeline = new Config.Pipeline();
+            config.pipeline.createWorkers = 1;
+            config.pipeline.queueCapacity = 200;
+            config.pipeline.bulkSize = 50;
+            config.snapshot = new Config.Snapshot();
+            config.snapshot.file = file.toString();
+            config.sync = new Config.Sync();
+            config.sync.mappingFile = dir.resolve("mapping.json").toString();
+            new ConfigValidator().validateAndNormalize(config);
+            config.operation.remoteLink = null; // без remote link: проверяются только создания
+            JiraClient client = new JiraClient(config.jira.baseUrl, config.jira.token);
+            List<ReportEntry> results = new JiraCloningService(config, client).importIssues(file);
+
+            assertEquals(120, results.size());
+            assertEquals(119, results.stream().filter(r -> "created".equals(r.getStatus())).count());
+            ReportEntry rejected = results.get(7);
+            assertEquals("OLD-107", rejected.getSourceKey());
+            assertEquals("failed", rejected.getStatus());
+            assertTrue(rejected.getError().contains("rejected"));
+            assertEquals(0, jira.count("POST", "/rest/api/2/issueLink")); // источник в другой Jira
+            long requests = bulkSizes.size() + jira.count("POST", "/rest/api/2/issue");
+            assertTrue(requests < 20, "creates should be batched, requests: " + requests);
+            System.out.println("  ✅ 119 created, 1 rejected in " + requests + " create request(s), bulk sizes " + bulkSizes);
+        }
+    }
+
+    @Test
+    @DisplayName("IMPORT: snapshot of the same Jira links to its sources despite a trailing slash and case")
+    void linksSourcesOfSameInstance(TestInfo testInfo, @TempDir Path dir) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = new FakeJira()) {
+            Path file = dir.resolve("epic.ndjson.gz");
+            String snapshotUrl = jira.baseUrl().replace("http://", "HTTP://") + "/";
+            try (IssueSnapshot.Writer writer = IssueSnapshot.create(file,
+                    Map.of("source", "PRJ-1", "baseUrl", snapshotUrl), true)) {
+                for (int i = 0; i < 3; i++) {
+                    writer.write(JiraIssue.fromMap(FakeJira.issue("PRJ-" + (100 + i), "Issue " + i)));
+                }
+                writer.finish();
+            }
+            AtomicInteger nextKey = new AtomicInteger(1000);
+            jira.on("POST", "/rest/api/2/issue", c ->
+                    new FakeJira.Reply(201, Map.of("key", "PRJ-" + nextKey.incrementAndGet())));
+            jira.on("POST", "/rest/api/2/issueLink", c -> new FakeJira.Reply(201, null));
+
+            Config config = jira.config();
+            config.operation.dryRun = false;
+            config.pipeline = new Config.Pipeline();
+            config.pipeline.bulkSize = 1;
+            config.snapshot = new Config.Snapshot();
+            config.snapshot.file = file.toString();
+            new ConfigValidator().validateAndNormalize(config);
+            config.operation.remoteLink = null;
+            JiraClient client = new JiraClient(config.jira.baseUrl, config.jira.token);
+            List<ReportEntry> results = new JiraCloningService(config, client).importIssues(file);
+
+            assertEquals(3, results.stream().filter(r -> "created".equals(r.getStatus())).count());
+            assertEquals(3, jira.count("POST", "/rest/api/2/issueLink"));
+            System.out.println("  ✅ snapshot of " + snapshotUrl + " linked to its 3 sources");
+        }
+    }
+}
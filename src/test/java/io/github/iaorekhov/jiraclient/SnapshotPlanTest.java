@@ -0,0 +1,63 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.config.ConfigValidator;
+import io.github.iaorekhov.jiraclient.dto.JiraIssue;
+import io.github.iaorekhov.jiraclient.dto.ReportEntry;
+import io.github.iaorekhov.jiraclient.service.IssueSnapshot;
+import io.github.iaorekhov.jiraclient.service.JiraCloningService;
+import io.github.iaorekhov.jiraclient.service.SnapshotPlanner;
+
+class SnapshotPlanTest {
+
+    @Test
+    @DisplayName("PLAN: 20000 issues planned from a snapshot in order, with payloads, without Jira requests")
+    void plansOffline(TestInfo testInfo, @TempDir Path dir) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        Path file = dir.resolve("epic.ndjson.gz");
+        try (IssueSnapshot.Writer writer = IssueSnapshot.create(file,
+                Map.of("source", "PRJ-1", "epicLinkField", "customfield_10001"), true)) {
+            for (int i = 0; i < 20000; i++) {
+                Map<String, Object> issue = FakeJira.issue("PRJ-" + (100 + i), "Issue " + i);
+                if (i % 10 == 0) {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> fields = (Map<String, Object>) issue.get("fields");
+                    fields.put("components", List.of(Map.of("id", "10500", "name", "Architect Tribe")));
+                }
+                writer.write(JiraIssue.fromMap(issue));
+            }
+            writer.finish();
+        }
+
+        try (FakeJira jira = new FakeJira()) {
+            Config config = jira.config();
+            new ConfigValidator().validateAndNormalize(config);
+            JiraClient client = new JiraClient(config.jira.baseUrl, config.jira.token);
+            long started = System.nanoTime();
+            List<ReportEntry> results = new SnapshotPlanner(config, new JiraCloningService(config, client)).plan(file);
+            long millis = (System.nanoTime() - started) / 1_000_000;
+
+            assertTrue(jira.calls().isEmpty());
+            assertEquals(20000, results.size());
+            assertTrue(results.stream().allMatch(r -> "planned".equals(r.getStatus())));
+            ReportEntry architect = results.get(10);
+            assertEquals("PRJ-110", architect.getSourceKey());
+            assertEquals("000.TEST.Issue 10", architect.getCloneSummary());
+            assertEquals(Map.of("name", "architect"), architect.getCreateFields().get("assignee"));
+            assertEquals("PRJ-10", architect.getCreateFields().get("customfield_10001"));
+            assertEquals(Map.of("name", "manager"), results.get(11).getCreateFields().get("assignee"));
+            System.out.println("  ✅ 20000 issues planned in " + millis + " ms, 0 requests");
+        }
+    }
+}
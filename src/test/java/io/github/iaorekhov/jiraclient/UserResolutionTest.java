@@ -0,0 +1,75 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.config.ConfigValidator;
+import io.github.iaorekhov.jiraclient.dto.ReportEntry;
+import io.github.iaorekhov.jiraclient.service.JiraCloningService;
+import io.github.iaorekhov.jiraclient.service.PreflightException;
+
+class UserResolutionTest {
+
+    @Test
+    @DisplayName("USERS: unknown reporter and inactive architect reported together, nothing searched or created")
+    void rejectsBadUsers(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = new FakeJira()) {
+            jira.on("GET", "/rest/api/2/user", c -> c.query().equals("username=manager")
+                    ? new FakeJira.Reply(404, Map.of("errorMessages", List.of("User does not exist")))
+                    : new FakeJira.Reply(200, Map.of("name", "architect", "active", false)));
+            Config config = jira.config();
+            config.operation.dryRun = false;
+            new ConfigValidator().validateAndNormalize(config);
+            JiraClient client = new JiraClient(config.jira.baseUrl, config.jira.token);
+
+            PreflightException e = assertThrows(PreflightException.class,
+                    () -> new JiraCloningService(config, client).cloneIssues());
+
+            assertEquals(List.of("operation.reporter: user name:manager not found",
+                    "operation.architect: user name:architect is inactive"), e.getErrors());
+            assertEquals(0, jira.count("POST", "/rest/api/2/search"));
+            assertEquals(0, jira.count("POST", "/rest/api/2/issue"));
+            System.out.println("  ✅ " + e.getMessage().replace(System.lineSeparator(), " "));
+        }
+    }
+
+    @Test
+    @DisplayName("USERS: users resolved once per process, canonical name used in create payloads")
+    void cachesResolvedUsers(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = new FakeJira()) {
+            jira.on("GET", "/rest/api/2/user", c -> new FakeJira.Reply(200,
+                    Map.of("name", c.query().replace("username=", "").toUpperCase(), "active", true)));
+            jira.on("POST", "/rest/api/2/search", c -> new FakeJira.Reply(200, Map.of("startAt", 0, "total", 1,
+                    "issues", List.of(FakeJira.issue("PRJ-100", "Issue")))));
+            List<String> reporters = new ArrayList<>();
+            jira.on("POST", "/rest/api/2/issue", c -> {
+                reporters.add(FakeJira.MAPPER.readTree(c.body()).at("/fields/reporter/name").asText());
+                return new FakeJira.Reply(201, Map.of("key", "PRJ-500"));
+            });
+            jira.on("POST", "/rest/api/2/issueLink", c -> new FakeJira.Reply(201, null));
+            Config config = jira.config();
+            config.operation.dryRun = false;
+            new ConfigValidator().validateAndNormalize(config);
+            config.operation.remoteLink = null;
+            JiraClient client = new JiraClient(config.jira.baseUrl, config.jira.token);
+
+            new JiraCloningService(config, client).cloneIssues();
+            List<ReportEntry> results = new JiraCloningService(config, client).cloneIssues();
+
+            assertEquals(2, jira.count("GET", "/rest/api/2/user")); // reporter и architect — по разу на процесс
+            assertEquals("created", results.get(0).getStatus());
+            assertEquals(List.of("MANAGER", "MANAGER"), reporters);
+            System.out.println("  ✅ 2 user lookups for 2 runs");
+        }
+    }
+}
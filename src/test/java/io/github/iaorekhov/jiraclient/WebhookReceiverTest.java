@@ -0,0 +1,97 @@
+package io.github.iaorekhov.jiraclient;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import io.github.iaorekhov.jiraclient.config.Config;
+import io.github.iaorekhov.jiraclient.config.ConfigValidator;
+import io.github.iaorekhov.jiraclient.dto.ReportEntry;
+import io.github.iaorekhov.jiraclient.server.WebhookReceiver;
+import io.github.iaorekhov.jiraclient.service.JiraCloningService;
+
+class WebhookReceiverTest {
+
+    private static final HttpClient HTTP = HttpClient.newHttpClient();
+
+    @Test
+    @DisplayName("WEBHOOK: matching issue is cloned once, retries and other epics are ignored")
+    void clonesMatchingIssueOnce(TestInfo testInfo) throws Exception {
+        System.out.println("\n=== Test: " + testInfo.getDisplayName() + " ===");
+        try (FakeJira jira = new FakeJira()) {
+            jira.on("POST", "/rest/api/2/issue", c -> new FakeJira.Reply(201, Map.of("key", "PRJ-100")));
+            jira.on("POST", "/rest/api/2/issueLink", c -> new FakeJira.Reply(201, null));
+            jira.on("POST", "/rest/api/2/issue/PRJ-100/remotelink", c -> new FakeJira.Reply(201, Map.of("id", 1)));
+
+            Config config = jira.config();
+            config.operation.dryRun = false;
+            config.webhook = new Config.Webhook();
+            config.webhook.port = 0;
+            config.webhook.secret = "s3cret";
+            new ConfigValidator().validateAndNormalize(config);
+
+            JiraClient client = new JiraClient(config.jira.baseUrl, config.jira.token);
+            WebhookReceiver receiver = new WebhookReceiver(config, new JiraCloningService(config, client));
+            try (receiver) {
+                receiver.start();
+                String url = "http://127.0.0.1:" + receiver.port() + "/webhook?secret=s3cret";
+
+                assertEquals(202, post(url, payload("PRJ-3", "PRJ-1")).statusCode());
+                assertEquals(200, post(url, payload("PRJ-3", "PRJ-1")).statusCode()); // повтор доставки
+                assertEquals(200, post(url, payload("PRJ-4", "PRJ-77")).statusCode()); // другой эпик
+                // Изменение уже клонированной задачи (клон найден по связи в событии) — без повторного клона
+                assertEquals(200, post(url, clonedPayload("PRJ-6", "PRJ-50")).statusCode());
+                assertEquals(403, post(url.replace("s3cret", "wrong"), payload("PRJ-5", "PRJ-1")).statusCode());
+
+                for (int i = 0; i < 100 && receiver.snapshotEntries().isEmpty(); i++) {
+                    Thread.sleep(20);
+                }
+            }
+
+            List<ReportEntry> entries = receiver.snapshotEntries();
+            assertEquals(1, entries.size());
+            assertEquals("PRJ-3", entries.get(0).getSourceKey());
+            assertEquals("created", entries.get(0).getStatus());
+            assertEquals(1, jira.count("POST", "/rest/api/2/issue"));
+            System.out.println("  ✅ " + entries.get(0).getSourceKey() + " -> " + entries.get(0).getCloneKey());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static byte[] payload(String key, String epicKey) throws Exception {
+        Map<String, Object> issue = FakeJira.issue(key, "From webhook");
+        Map<String, Object> fields = (Map<String, Object>) issue.get("fields");
+        fields.put("customfield_10001", epicKey);
+        fields.put("issuetype", Map.of("name", "Task"));
+        return FakeJira.MAPPER.writeValueAsBytes(Map.of("webhookEvent", "jira:issue_created", "issue", issue));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static byte[] clonedPayload(String key, String cloneKey) throws Exception {
+        Map<String, Object> payload = FakeJira.MAPPER.readValue(payload(key, "PRJ-1"), Map.class);
+        Map<String, Object> fields = (Map<String, Object>) ((Map<String, Object>) payload.get("issue")).get("fields");
+        fields.put("issuelinks", List.of(
+                // Задача, с которой клонирован сам источник, — не его клон
+                Map.of("type", Map.of("name", "Cloners"),
+                        "inwardIssue", Map.of("key", "PRJ-2", "fields", Map.of("summary", "000.TEST.Origin"))),
+                Map.of("type", Map.of("name", "Cloners"),
+                        "outwardIssue", Map.of("key", cloneKey, "fields", Map.of("summary", "000.TEST.From webhook")))));
+        payload.put("webhookEvent", "jira:issue_updated");
+        return FakeJira.MAPPER.writeValueAsBytes(payload);
+    }
+
+    private static HttpResponse<String> post(String url, byte[] body) throws Exception {
+        return HTTP.send(HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}